@@ -0,0 +1,140 @@
+package com.recordstore.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.recordstore.RecordStoreApplication;
+import com.recordstore.model.Product;
+import com.recordstore.repository.HeadphoneRepository;
+import com.recordstore.repository.TurntableRepository;
+import com.recordstore.repository.VinylRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Measures {@code saveAll} of new products across the three tables of the {@code JOINED} hierarchy (e.g.
+ * {@code products}, {@code album} and {@code vinyl} for a vinyl), with and without JDBC batching.
+ * <p>
+ * The application is started once per trial on an in-memory H2 database, with {@code hibernate.jdbc.batch_size} set
+ * to {@link #batchSize}: {@code 1} sends one {@code INSERT} per row and table, as identity IDs forced before,
+ * {@code 50} sends them in batches, which the pooled sequence IDs allow. Every operation saves and flushes
+ * {@link #rows} products and rolls back, so the tables do not grow and no change events are published.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -jar target/benchmarks.jar BulkInsertBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class BulkInsertBenchmark {
+
+    /**
+     * Product subtype saved, each stored in three tables.
+     */
+    public enum Type {
+        VINYL, TURNTABLE, HEADPHONE
+    }
+
+    @Param({ "1", "50" })
+    public int batchSize;
+
+    @Param({ "VINYL", "TURNTABLE", "HEADPHONE" })
+    public Type type;
+
+    @Param({ "1000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private JpaRepository<? extends Product, Integer> repository;
+
+    /**
+     * Starts the application with the batch size of the trial.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(RecordStoreApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bulk-insert-" + batchSize + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        repository = switch (type) {
+            case VINYL -> context.getBean(VinylRepository.class);
+            case TURNTABLE -> context.getBean(TurntableRepository.class);
+            case HEADPHONE -> context.getBean(HeadphoneRepository.class);
+        };
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Saves and flushes new products, then rolls back.
+     *
+     * @return The number of products saved.
+     */
+    @Benchmark
+    public int saveAll() {
+        List<? extends Product> products = newProducts();
+        return transactionTemplate.execute(status -> {
+            saveAll(repository, products);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return products.size();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Product> void saveAll(JpaRepository<T, Integer> repository, List<?> products) {
+        repository.saveAll((List<T>) products);
+    }
+
+    /**
+     * Builds new products of the trial type, without IDs.
+     */
+    private List<? extends Product> newProducts() {
+        List<? extends Product> products = switch (type) {
+            case VINYL -> CatalogFixtures.list(rows, CatalogFixtures::vinyl);
+            case TURNTABLE -> CatalogFixtures.list(rows, CatalogFixtures::turntable);
+            case HEADPHONE -> CatalogFixtures.list(rows, CatalogFixtures::headphone);
+        };
+        products.forEach(product -> product.setId(null));
+        return products;
+    }
+}
@@ -0,0 +1,200 @@
+package com.recordstore.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.HEADPHONES_TYPE;
+import com.recordstore.enums.MECHANISM;
+import com.recordstore.enums.NOISE_CANCELING;
+import com.recordstore.enums.ORDER_STATUS;
+import com.recordstore.enums.PORTABLE_TYPE;
+import com.recordstore.enums.POWER_TYPE;
+import com.recordstore.enums.RESISTANCE;
+import com.recordstore.enums.TRACTION;
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+import com.recordstore.model.Album;
+import com.recordstore.model.Headphone;
+import com.recordstore.model.Order;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Player;
+import com.recordstore.model.Portable;
+import com.recordstore.model.Product;
+import com.recordstore.model.Speaker;
+import com.recordstore.model.Turntable;
+import com.recordstore.model.User;
+import com.recordstore.model.Vinyl;
+
+/**
+ * Builds detached entities with the same shape as the seeded catalog, without a database.
+ * <p>
+ * Every entity gets a distinct ID and name, so that {@code JsonIdentityInfo} serializes each one in full instead of
+ * as a reference to a previous one.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * List&lt;Vinyl&gt; vinyls = CatalogFixtures.list(10_000, CatalogFixtures::vinyl);
+ * </pre>
+ */
+public class CatalogFixtures {
+
+    /**
+     * Number of products in every order.
+     */
+    private static final int LINES_PER_ORDER = 3;
+
+    /**
+     * Number of orders placed by every user.
+     */
+    private static final int ORDERS_PER_USER = 5;
+
+    private CatalogFixtures() {
+    }
+
+    /**
+     * Builds a list of entities.
+     *
+     * @param size    The number of entities.
+     * @param factory Builds the entity of every index.
+     * @param <T>     The type of the entities.
+     * @return The list of entities.
+     */
+    public static <T> List<T> list(int size, IntFunction<T> factory) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+
+    /**
+     * Builds an album.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Album album(int i) {
+        return withId(new Album("Album " + i, 20.0 + i % 10, 10 + i % 50, "Artist " + i % 100, 1960 + i % 60,
+                ALBUM_FORMAT.CD, ALBUM_GENRE.ROCK, "43:00"), i);
+    }
+
+    /**
+     * Builds a vinyl.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Vinyl vinyl(int i) {
+        return withId(new Vinyl("Vinyl " + i, 29.99, 50 + i % 50, "Artist " + i % 100, 1970 + i % 50,
+                ALBUM_FORMAT.LP, ALBUM_GENRE.METAL, "78:00", VINYL_SIZE.S_12, VINYL_RPM.RPM_33, "Black"), i);
+    }
+
+    /**
+     * Builds a player.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Player player(int i) {
+        return withId(new Player("Player " + i, 199.99, 50, "Sony", "Black", 12, false, true, false, true, true,
+                false), i);
+    }
+
+    /**
+     * Builds a turntable.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Turntable turntable(int i) {
+        return withId(new Turntable("Turntable " + i, 349.00, 8, "Audio-Technica", "Black", 2, true, true, false,
+                true, true, false, true, VINYL_RPM.RPM_33_45, TRACTION.DIRECT_DRIVE, MECHANISM.MANUAL), i);
+    }
+
+    /**
+     * Builds a portable player.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Portable portable(int i) {
+        return withId(new Portable("Portable " + i, 699.99, 30, "Sony", "Black",
+                "High-fidelity digital Walkman with Hi-Res Audio support", 12, true, true, false, true, false,
+                false, PORTABLE_TYPE.DIGITAL, POWER_TYPE.DC, 20, RESISTANCE.WATER), i);
+    }
+
+    /**
+     * Builds a pair of headphones.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Headphone headphone(int i) {
+        return withId(new Headphone("Headphone " + i, 349.99, 200, "Sony", "Black", 30, 24, true, true, true,
+                false, true, HEADPHONES_TYPE.OVER_EAR, NOISE_CANCELING.ACTIVE), i);
+    }
+
+    /**
+     * Builds a speaker.
+     *
+     * @param i The index, used as ID and in the name.
+     * @return The entity.
+     */
+    public static Speaker speaker(int i) {
+        return withId(new Speaker("Speaker " + i, 199.99, 150, "Sony", "Black", 24, 12, false, true, true, true,
+                true, false, 30, 6, 20, 20000, 3000, POWER_TYPE.DC, RESISTANCE.WS), i);
+    }
+
+    /**
+     * Builds a list of orders of {@value #LINES_PER_ORDER} vinyls each. Every {@value #ORDERS_PER_USER} consecutive
+     * orders share a user, whose order list holds them, as when the user is loaded from the database.
+     *
+     * @param size The number of orders.
+     * @return The list of orders.
+     */
+    public static List<Order> orders(int size) {
+        List<Order> orders = new ArrayList<>(size);
+        User user = null;
+        for (int i = 0; i < size; i++) {
+            if (i % ORDERS_PER_USER == 0) {
+                user = user(i / ORDERS_PER_USER);
+            }
+            orders.add(order(i, user));
+        }
+        return orders;
+    }
+
+    private static Order order(int i, User user) {
+        Order order = new Order();
+        order.setOrderId(i);
+        order.setTrackingNumber("TRK-" + i);
+        order.setStatus(ORDER_STATUS.PENDING);
+        order.setUser(user);
+        long total = 0;
+        for (int line = 0; line < LINES_PER_ORDER; line++) {
+            OrderProduct orderProduct = new OrderProduct(order, vinyl(i * LINES_PER_ORDER + line), 1 + line);
+            orderProduct.setId(i * LINES_PER_ORDER + line);
+            order.getListOrderProducts().add(orderProduct);
+            total += orderProduct.getUnitPriceCents() * orderProduct.getQuantity();
+        }
+        order.setTotalAmountCents(total);
+        user.getListOrder().add(order);
+        return order;
+    }
+
+    private static User user(int id) {
+        User user = new User("User " + id, "555000" + id, "user" + id + "@mail.com", "password" + id,
+                "Street " + id);
+        user.setId(id);
+        return user;
+    }
+
+    private static <T extends Product> T withId(T product, int id) {
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,168 @@
+package com.recordstore.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.recordstore.RecordStoreApplication;
+import com.recordstore.model.Order;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Product;
+import com.recordstore.model.User;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+
+/**
+ * Compares the two checkout paths of {@link OrderService} under 200 concurrent checkouts.
+ * <p>
+ * {@code saveOrder} is the original path: it saves the order, reloads its lines to add up the total and saves it
+ * again. {@code placeOrder} reads the user, reserves the stock of each product with
+ * one conditional update, reads all the products of the order (one {@code IN} query) and inserts the order and its
+ * lines in one flush. The stock of every product is raised at startup so that no checkout runs out of it. The application runs on an in-memory H2
+ * database seeded by {@code DBSeeders}; with far more threads than pooled connections, the time each checkout holds
+ * a connection is what limits the throughput.
+ * </p>
+ * <p>
+ * Every thread places its orders for a user of its own. Each order has {@link Store#linesPerOrder} lines of random
+ * products.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -jar target/benchmarks.jar CheckoutBenchmark
+ * </pre>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(200)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CheckoutBenchmark {
+
+    /**
+     * The application and the catalog, shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        private static final int UNLIMITED_STOCK = 1_000_000_000;
+
+        @Param({ "3" })
+        public int linesPerOrder;
+
+        private ConfigurableApplicationContext context;
+        private OrderService orderService;
+        private UserRepository userRepository;
+        private List<Product> products;
+        private final AtomicInteger customers = new AtomicInteger();
+
+        /**
+         * Starts the application and reads the seeded catalog.
+         */
+        @Setup(Level.Trial)
+        public void startApplication() {
+            context = new SpringApplicationBuilder(RecordStoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:checkout;DB_CLOSE_DELAY=-1",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run();
+            context.getBean(JdbcTemplate.class).update("UPDATE products SET stock = ?", UNLIMITED_STOCK);
+            orderService = context.getBean(OrderService.class);
+            userRepository = context.getBean(UserRepository.class);
+            products = context.getBean(ProductRepository.class).findAll();
+        }
+
+        /**
+         * Stops the application.
+         */
+        @TearDown(Level.Trial)
+        public void stopApplication() {
+            context.close();
+        }
+    }
+
+    /**
+     * The user of one thread and the random source of its orders.
+     */
+    @State(Scope.Thread)
+    public static class Customer {
+
+        private User user;
+        private SplittableRandom random;
+
+        /**
+         * Creates the user of the thread.
+         *
+         * @param store The shared application.
+         */
+        @Setup(Level.Trial)
+        public void createUser(Store store) {
+            int n = store.customers.incrementAndGet();
+            user = store.userRepository.save(new User("Checkout " + n, "600000000", "checkout" + n + "@example.com",
+                    "password", "Calle Falsa " + n));
+            random = new SplittableRandom(n);
+        }
+
+        /**
+         * Builds the lines of a new order, with detached products as the controller receives them.
+         */
+        List<OrderProduct> lines(Store store) {
+            List<OrderProduct> lines = new ArrayList<>(store.linesPerOrder);
+            for (int i = 0; i < store.linesPerOrder; i++) {
+                OrderProduct line = new OrderProduct();
+                line.setProduct(store.products.get(random.nextInt(store.products.size())));
+                line.setQuantity(random.nextInt(1, 6));
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Places an order through the original path.
+     *
+     * @param store    The shared application.
+     * @param customer The user of the thread.
+     * @return The placed order.
+     */
+    @Benchmark
+    public Order saveOrder(Store store, Customer customer) {
+        return store.orderService.saveOrder(customer.user, customer.lines(store));
+    }
+
+    /**
+     * Places an order through the single-round-trip path.
+     *
+     * @param store    The shared application.
+     * @param customer The user of the thread.
+     * @return The placed order.
+     */
+    @Benchmark
+    public Order placeOrder(Store store, Customer customer) {
+        return store.orderService.placeOrder(customer.user, customer.lines(store));
+    }
+}
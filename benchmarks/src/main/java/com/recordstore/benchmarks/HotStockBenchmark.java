@@ -0,0 +1,142 @@
+package com.recordstore.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.recordstore.RecordStoreApplication;
+import com.recordstore.model.Order;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Product;
+import com.recordstore.model.User;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+import com.recordstore.stock.HotStock;
+
+/**
+ * Measures a flash sale: 200 concurrent checkouts of one unit of the same product, with its stock reserved in the
+ * database or held in memory by {@link HotStock}.
+ * <p>
+ * With {@code DATABASE}, every checkout reserves the unit with the conditional {@code UPDATE} of
+ * {@code products}, so the checkouts queue on the row lock of that one product. With {@code HOT}, the unit is
+ * taken from the in-memory stock and journaled with group commit just before the order commits, and the stock
+ * is written to the database in batches. The stock is large enough for the whole run.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -jar target/benchmarks.jar HotStockBenchmark
+ * </pre>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(200)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class HotStockBenchmark {
+
+    /**
+     * The application and the product on sale, shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Sale {
+
+        private static final int UNLIMITED_STOCK = 1_000_000_000;
+
+        @Param({ "DATABASE", "HOT" })
+        public String stock;
+
+        private ConfigurableApplicationContext context;
+        private OrderService orderService;
+        private UserRepository userRepository;
+        private Product product;
+        private final AtomicInteger customers = new AtomicInteger();
+
+        /**
+         * Starts the application and puts one product on sale.
+         */
+        @Setup(Level.Trial)
+        public void startApplication() {
+            context = new SpringApplicationBuilder(RecordStoreApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:hot-stock;DB_CLOSE_DELAY=-1",
+                            "recordstore.hot-stock.journal=target/hot-stock-benchmark.journal",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run();
+            product = context.getBean(ProductRepository.class).findAll().get(0);
+            context.getBean(JdbcTemplate.class).update("UPDATE products SET stock = ? WHERE id = ?", UNLIMITED_STOCK,
+                    product.getId());
+            if ("HOT".equals(stock)) {
+                context.getBean(HotStock.class).enable(product.getId());
+            }
+            orderService = context.getBean(OrderService.class);
+            userRepository = context.getBean(UserRepository.class);
+        }
+
+        /**
+         * Stops the application.
+         */
+        @TearDown(Level.Trial)
+        public void stopApplication() {
+            context.close();
+        }
+    }
+
+    /**
+     * The user of one thread.
+     */
+    @State(Scope.Thread)
+    public static class Customer {
+
+        private User user;
+
+        /**
+         * Creates the user of the thread.
+         *
+         * @param sale The shared application.
+         */
+        @Setup(Level.Trial)
+        public void createUser(Sale sale) {
+            int n = sale.customers.incrementAndGet();
+            user = sale.userRepository.save(new User("Flash " + n, "600000000", "flash" + n + "@example.com",
+                    "password", "Calle Falsa " + n));
+        }
+    }
+
+    /**
+     * Places an order of one unit of the product on sale.
+     *
+     * @param sale     The shared application.
+     * @param customer The user of the thread.
+     * @return The placed order.
+     */
+    @Benchmark
+    public Order checkout(Sale sale, Customer customer) {
+        OrderProduct line = new OrderProduct();
+        line.setProduct(sale.product);
+        line.setQuantity(1);
+        return sale.orderService.placeOrder(customer.user, List.of(line));
+    }
+}
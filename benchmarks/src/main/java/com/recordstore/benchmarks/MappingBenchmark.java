@@ -0,0 +1,176 @@
+package com.recordstore.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recordstore.mapper.AlbumMapper;
+import com.recordstore.mapper.HeadphoneMapper;
+import com.recordstore.mapper.OrderMapper;
+import com.recordstore.mapper.PlayerMapper;
+import com.recordstore.mapper.PortableMapper;
+import com.recordstore.mapper.SpeakerMapper;
+import com.recordstore.mapper.TurntableMapper;
+import com.recordstore.mapper.UserMapper;
+import com.recordstore.mapper.VinylMapper;
+import com.recordstore.model.Album;
+import com.recordstore.model.Headphone;
+import com.recordstore.model.Order;
+import com.recordstore.model.Player;
+import com.recordstore.model.Portable;
+import com.recordstore.model.Speaker;
+import com.recordstore.model.Turntable;
+import com.recordstore.model.Vinyl;
+
+/**
+ * Measures the path of every API response: entity to DTO with the hand-written mappers, and DTO to JSON with Jackson.
+ * <p>
+ * Each benchmark runs for every {@link #type} and for a single object ({@code size = 1}) and a listing of
+ * {@code 10000} objects. Throughput is reported in operations per second; the allocation rate is reported by the
+ * GC profiler ({@code -prof gc}, as {@code gc.alloc.rate.norm} bytes per operation).
+ * </p>
+ * <p>
+ * The benchmarks split the path so mapping strategies can be compared against each other:
+ * </p>
+ * <ul>
+ *   <li><b>map</b>: entity to DTO only.</li>
+ *   <li><b>mapAndSerialize</b>: entity to DTO to JSON, with the mapper configured as in
+ *       {@code application.properties} (indented, without {@code null} fields). This is what the endpoints do.</li>
+ *   <li><b>mapAndSerializeCompact</b>: the same without indentation, to measure its cost.</li>
+ *   <li><b>serializeEntity</b>: entity straight to JSON, without a DTO.</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -jar target/benchmarks.jar MappingBenchmark -p type=VINYL -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MappingBenchmark {
+
+    /**
+     * Type of the entities, with the mapper that converts them.
+     */
+    public enum Type {
+        ALBUM(CatalogFixtures::album, new AlbumMapper()::toDTO),
+        VINYL(CatalogFixtures::vinyl, new VinylMapper()::toDTO),
+        PLAYER(CatalogFixtures::player, new PlayerMapper()::toDTO),
+        TURNTABLE(CatalogFixtures::turntable, new TurntableMapper()::toDTO),
+        PORTABLE(CatalogFixtures::portable, new PortableMapper()::toDTO),
+        HEADPHONE(CatalogFixtures::headphone, new HeadphoneMapper()::toDTO),
+        SPEAKER(CatalogFixtures::speaker, new SpeakerMapper()::toDTO),
+        ORDER(null, new OrderMapper(new UserMapper())::toDTO);
+
+        private final IntFunction<?> factory;
+        private final Function<Object, Object> mapper;
+
+        @SuppressWarnings("unchecked")
+        <E> Type(IntFunction<E> factory, Function<E, ?> mapper) {
+            this.factory = factory;
+            this.mapper = (Function<Object, Object>) mapper;
+        }
+
+        List<?> entities(int size) {
+            return this == ORDER ? CatalogFixtures.orders(size) : CatalogFixtures.list(size, factory);
+        }
+    }
+
+    @Param({ "ALBUM", "VINYL", "PLAYER", "TURNTABLE", "PORTABLE", "HEADPHONE", "SPEAKER", "ORDER" })
+    public Type type;
+
+    @Param({ "1", "10000" })
+    public int size;
+
+    private List<?> entities;
+    private Function<Object, Object> mapper;
+    private ObjectWriter indentedWriter;
+    private ObjectWriter compactWriter;
+
+    /**
+     * Builds the entities and the JSON writers once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = type.entities(size);
+        mapper = type.mapper;
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .failOnEmptyBeans(false)
+                .failOnUnknownProperties(false)
+                .build();
+        indentedWriter = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT);
+        compactWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Entity to DTO.
+     */
+    @Benchmark
+    public Object map() {
+        return toDTOs();
+    }
+
+    /**
+     * Entity to DTO to indented JSON, as the endpoints answer.
+     */
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return indentedWriter.writeValueAsBytes(toDTOs());
+    }
+
+    /**
+     * Entity to DTO to JSON without indentation.
+     */
+    @Benchmark
+    public byte[] mapAndSerializeCompact() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(toDTOs());
+    }
+
+    /**
+     * Entity straight to indented JSON, without a DTO.
+     */
+    @Benchmark
+    public byte[] serializeEntity() throws JsonProcessingException {
+        return indentedWriter.writeValueAsBytes(size == 1 ? entities.get(0) : entities);
+    }
+
+    /**
+     * Maps the entities as the endpoints do: a single object on its own, a listing into a new list.
+     */
+    private Object toDTOs() {
+        if (size == 1) {
+            return mapper.apply(entities.get(0));
+        }
+        List<Object> dtos = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            dtos.add(mapper.apply(entity));
+        }
+        return dtos;
+    }
+}
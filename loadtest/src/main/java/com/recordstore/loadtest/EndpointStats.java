@@ -0,0 +1,94 @@
+package com.recordstore.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and errors recorded for one endpoint.
+ * <p>
+ * Every latency is kept (in microseconds), so the percentiles are exact. A run at 1000 requests per second for
+ * ten minutes keeps 600000 values, under 5 MB.
+ * </p>
+ */
+public class EndpointStats {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final String endpoint;
+    private long[] latencies = new long[INITIAL_CAPACITY];
+    private int count;
+    private int errors;
+    private final Map<String, Integer> statuses = new TreeMap<>();
+
+    /**
+     * Creates the statistics of an endpoint.
+     *
+     * @param endpoint The endpoint, e.g. {@code "GET /album/{{id}}"}.
+     */
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records one request.
+     *
+     * @param latencyMicros The time from the scheduled start of the request to its complete response.
+     * @param status        The HTTP status, or the simple name of the exception if there was no response.
+     * @param error         Whether the request failed (no response, or a status of 400 or above).
+     */
+    public synchronized void record(long latencyMicros, String status, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyMicros;
+        if (error) {
+            errors++;
+        }
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    /**
+     * Returns a summary of the recorded requests.
+     *
+     * @return The summary.
+     */
+    public synchronized Summary summary() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double mean = count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1000.0;
+        return new Summary(endpoint, count, errors, count == 0 ? 0 : (double) errors / count, mean,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1000.0, new TreeMap<>(statuses));
+    }
+
+    /**
+     * Returns a percentile in milliseconds, by the nearest-rank method.
+     */
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    /**
+     * Summary of an endpoint; latencies are in milliseconds.
+     *
+     * @param endpoint  The endpoint.
+     * @param requests  The number of requests.
+     * @param errors    The number of failed requests.
+     * @param errorRate The fraction of failed requests.
+     * @param meanMs    The mean latency.
+     * @param p50Ms     The median latency.
+     * @param p90Ms     The 90th percentile.
+     * @param p99Ms     The 99th percentile.
+     * @param p999Ms    The 99.9th percentile.
+     * @param maxMs     The maximum latency.
+     * @param statuses  The number of responses by status.
+     */
+    public record Summary(String endpoint, int requests, int errors, double errorRate, double meanMs, double p50Ms,
+            double p90Ms, double p99Ms, double p999Ms, double maxMs, Map<String, Integer> statuses) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.recordstore.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays request templates at a fixed arrival rate, one virtual thread per request.
+ * <p>
+ * The load is open: request {@code i} is scheduled at {@code start + i / rate} whatever the state of the previous
+ * ones, so a slow server sees requests pile up, as it would in production, instead of a client that waits for it.
+ * Latency is measured from the scheduled start, not from the moment the request was actually sent, so that delays
+ * of the generator itself are not hidden (coordinated omission). The templates are replayed in round robin, so
+ * every endpoint receives the same share of the load.
+ * </p>
+ * <p>
+ * Requests scheduled during the warm-up are sent but not recorded.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * LoadGenerator generator = new LoadGenerator(client, dataset, templates, Duration.ofSeconds(10));
+ * List&lt;EndpointStats.Summary&gt; summaries = generator.run(200, Duration.ofSeconds(10), Duration.ofMinutes(2));
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int FIRST_ERROR_STATUS = 400;
+
+    private final HttpClient client;
+    private final SeededDataset dataset;
+    private final List<RequestTemplate> templates;
+    private final Duration timeout;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    /**
+     * Creates a generator.
+     *
+     * @param client    The HTTP client, shared by every request.
+     * @param dataset   Provides the values of the variables of every request.
+     * @param templates The requests to replay.
+     * @param timeout   The time after which a request counts as failed.
+     * @throws IllegalArgumentException If there are no requests to replay.
+     */
+    public LoadGenerator(HttpClient client, SeededDataset dataset, List<RequestTemplate> templates,
+            Duration timeout) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("There are no requests to replay");
+        }
+        this.client = client;
+        this.dataset = dataset;
+        this.templates = List.copyOf(templates);
+        this.timeout = timeout;
+        for (RequestTemplate template : templates) {
+            stats.computeIfAbsent(template.endpoint(), EndpointStats::new);
+        }
+    }
+
+    /**
+     * Runs the load and waits for every request to complete.
+     *
+     * @param rate     The number of requests started per second.
+     * @param warmup   The time at the start whose requests are not recorded.
+     * @param duration The time during which requests are recorded, after the warm-up.
+     * @return The summary of every endpoint, in the order of the collection.
+     * @throws InterruptedException If interrupted while waiting for the requests.
+     * @throws IllegalArgumentException If the rate is not positive.
+     */
+    public List<EndpointStats.Summary> run(double rate, Duration warmup, Duration duration)
+            throws InterruptedException {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive: " + rate);
+        }
+        double intervalNanos = NANOS_PER_SECOND / rate;
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * intervalNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                RequestTemplate template = templates.get((int) (i % templates.size()));
+                boolean recorded = scheduled >= recordFrom;
+                executor.submit(() -> send(template, scheduled, recorded));
+            }
+        }
+        List<EndpointStats.Summary> summaries = new ArrayList<>(stats.size());
+        for (EndpointStats endpointStats : stats.values()) {
+            summaries.add(endpointStats.summary());
+        }
+        return summaries;
+    }
+
+    /**
+     * Sends one request with fresh variable values and records its latency.
+     */
+    private void send(RequestTemplate template, long scheduled, boolean recorded) {
+        String status;
+        boolean error;
+        try {
+            HttpRequest.Builder builder = HttpRequest
+                    .newBuilder(URI.create(RequestTemplate.resolve(template.url(), dataset.resolver(template, true))))
+                    .timeout(timeout);
+            template.headers().forEach(builder::header);
+            String body = RequestTemplate.resolve(template.body(), dataset.resolver(template, false));
+            builder.method(template.method(), body == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(body));
+            HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            status = Integer.toString(response.statusCode());
+            error = response.statusCode() >= FIRST_ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = e.getClass().getSimpleName();
+            error = true;
+        }
+        if (recorded) {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+            stats.get(template.endpoint()).record(latencyMicros, status, error);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.recordstore.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Report of a load test, written as JSON (for comparing runs) and as HTML (for reading).
+ *
+ * @param startedAt       The time the test started, in ISO-8601.
+ * @param baseUrl         The application under test.
+ * @param rate            The arrival rate, in requests per second.
+ * @param warmupSeconds   The warm-up, whose requests are not recorded.
+ * @param durationSeconds The recorded duration.
+ * @param endpoints       The summary of every endpoint.
+ */
+public record LoadReport(String startedAt, String baseUrl, double rate, long warmupSeconds, long durationSeconds,
+        List<EndpointStats.Summary> endpoints) {
+
+    /**
+     * Writes {@code report.json} and {@code report.html} to a directory, creating it if needed.
+     *
+     * @param directory The directory of the report.
+     * @throws IOException If the files cannot be written.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve("report.json").toFile(), this);
+        Files.writeString(directory.resolve("report.html"), html());
+    }
+
+    /**
+     * Returns the number of requests of every endpoint together.
+     *
+     * @return The total number of requests.
+     */
+    public long totalRequests() {
+        return endpoints.stream().mapToLong(EndpointStats.Summary::requests).sum();
+    }
+
+    /**
+     * Returns the number of failed requests of every endpoint together.
+     *
+     * @return The total number of errors.
+     */
+    public long totalErrors() {
+        return endpoints.stream().mapToLong(EndpointStats.Summary::errors).sum();
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>RecordStore load test</title>\n<style>\n")
+                .append("body { font-family: sans-serif; margin: 2em; }\n")
+                .append("table { border-collapse: collapse; }\n")
+                .append("th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }\n")
+                .append("th:first-child, td:first-child { text-align: left; }\n")
+                .append("tr.errors td { background: #fdd; }\n</style>\n</head>\n<body>\n")
+                .append("<h1>RecordStore load test</h1>\n<p>")
+                .append(escape(baseUrl)).append(" &middot; started ").append(startedAt)
+                .append(" &middot; ").append(format(rate)).append(" req/s for ").append(durationSeconds)
+                .append(" s after ").append(warmupSeconds).append(" s of warm-up &middot; ")
+                .append(totalRequests()).append(" requests, ").append(totalErrors()).append(" errors</p>\n")
+                .append("<table>\n<tr><th>Endpoint</th><th>Requests</th><th>Error rate</th><th>Mean (ms)</th>")
+                .append("<th>p50 (ms)</th><th>p90 (ms)</th><th>p99 (ms)</th><th>p99.9 (ms)</th><th>Max (ms)</th>")
+                .append("<th>Statuses</th></tr>\n");
+        for (EndpointStats.Summary endpoint : endpoints) {
+            html.append(endpoint.errors() > 0 ? "<tr class=\"errors\">" : "<tr>")
+                    .append("<td>").append(escape(endpoint.endpoint())).append("</td>")
+                    .append("<td>").append(endpoint.requests()).append("</td>")
+                    .append("<td>").append(format(endpoint.errorRate() * 100)).append("%</td>")
+                    .append("<td>").append(format(endpoint.meanMs())).append("</td>")
+                    .append("<td>").append(format(endpoint.p50Ms())).append("</td>")
+                    .append("<td>").append(format(endpoint.p90Ms())).append("</td>")
+                    .append("<td>").append(format(endpoint.p99Ms())).append("</td>")
+                    .append("<td>").append(format(endpoint.p999Ms())).append("</td>")
+                    .append("<td>").append(format(endpoint.maxMs())).append("</td>")
+                    .append("<td>").append(escape(endpoint.statuses().toString())).append("</td></tr>\n");
+        }
+        return html.append("</table>\n</body>\n</html>\n").toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
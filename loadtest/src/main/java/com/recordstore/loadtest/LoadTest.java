@@ -0,0 +1,115 @@
+package com.recordstore.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Command-line entry point of the load test.
+ * <p>
+ * Parses the Postman collection, reads the seeded dataset of a running application, replays the requests at a
+ * fixed arrival rate and writes the report. Only {@code GET} requests are replayed unless {@code --include-writes}
+ * is given, since the writes of the collection create, update and delete the seeded data.
+ * </p>
+ *
+ * <p><strong>Options</strong> (all optional):</p>
+ * <ul>
+ *   <li><b>--collection</b>: the collection file (default {@code "RecordStore API.postman_collection.json"}).</li>
+ *   <li><b>--base-url</b>: the application (default {@code http://localhost:8080}).</li>
+ *   <li><b>--rate</b>: requests started per second (default {@code 50}).</li>
+ *   <li><b>--warmup</b>: seconds of unrecorded warm-up (default {@code 10}).</li>
+ *   <li><b>--duration</b>: seconds recorded after the warm-up (default {@code 60}).</li>
+ *   <li><b>--timeout</b>: seconds after which a request fails (default {@code 10}).</li>
+ *   <li><b>--folders</b>: comma-separated folders of the collection to replay (default all).</li>
+ *   <li><b>--include-writes</b>: also replay {@code POST}, {@code PUT} and {@code DELETE} requests.</li>
+ *   <li><b>--report</b>: directory of the report (default {@code loadtest-report}).</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -jar loadtest/target/loadtest.jar --rate 200 --duration 120 --folders Album,Vinyl
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final Set<String> FLAGS = Set.of("--include-writes");
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args The options.
+     * @throws Exception If the collection or the application cannot be read, or the report cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path collectionFile = Path.of(options.getOrDefault("--collection", "RecordStore API.postman_collection.json"));
+        String baseUrl = options.getOrDefault("--base-url", "http://localhost:8080").replaceAll("/+$", "");
+        double rate = Double.parseDouble(options.getOrDefault("--rate", "50"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("--warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("--duration", "60")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("--timeout", "10")));
+        boolean includeWrites = options.containsKey("--include-writes");
+        Set<String> folders = options.containsKey("--folders")
+                ? Arrays.stream(options.get("--folders").split(",")).map(String::trim).collect(Collectors.toSet())
+                : Set.of();
+
+        PostmanCollection collection = PostmanCollection.read(collectionFile);
+        List<RequestTemplate> templates = collection.requests().stream()
+                .filter(template -> includeWrites || "GET".equalsIgnoreCase(template.method()))
+                .filter(template -> folders.isEmpty() || folders.contains(template.folder()))
+                .toList();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        SeededDataset dataset = SeededDataset.load(client, baseUrl, collection.variables());
+
+        System.out.printf("Replaying %d requests of %s against %s at %.1f req/s for %d s (+%d s warm-up)%n",
+                templates.size(), collectionFile, baseUrl, rate, duration.toSeconds(), warmup.toSeconds());
+        Instant startedAt = Instant.now();
+        List<EndpointStats.Summary> summaries = new LoadGenerator(client, dataset, templates, timeout)
+                .run(rate, warmup, duration);
+
+        LoadReport report = new LoadReport(startedAt.toString(), baseUrl, rate, warmup.toSeconds(),
+                duration.toSeconds(), summaries);
+        Path directory = Path.of(options.getOrDefault("--report", "loadtest-report"));
+        report.write(directory);
+        System.out.printf("%d requests, %d errors; report written to %s%n", report.totalRequests(),
+                report.totalErrors(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Parses {@code --name value} options and {@code --flag} switches.
+     *
+     * @throws IllegalArgumentException If an option is unknown or has no value.
+     */
+    private static Map<String, String> parse(String[] args) {
+        Set<String> valued = Set.of("--collection", "--base-url", "--rate", "--warmup", "--duration", "--timeout",
+                "--folders", "--report");
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (FLAGS.contains(name)) {
+                options.put(name, "true");
+            } else if (valued.contains(name) && i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unknown option or missing value: " + name);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,110 @@
+package com.recordstore.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Postman collection (schema v2.1) parsed into request templates.
+ * <p>
+ * Folders are walked recursively and every request keeps the name of its top-level folder. The collection
+ * variables (e.g. {@code email}, {@code headphonetype}) are kept as defaults for the variables the seeded dataset
+ * does not provide.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * PostmanCollection collection = PostmanCollection.read(Path.of("RecordStore API.postman_collection.json"));
+ * List&lt;RequestTemplate&gt; requests = collection.requests();
+ * </pre>
+ */
+public class PostmanCollection {
+
+    private final List<RequestTemplate> requests;
+    private final Map<String, String> variables;
+
+    private PostmanCollection(List<RequestTemplate> requests, Map<String, String> variables) {
+        this.requests = Collections.unmodifiableList(requests);
+        this.variables = Collections.unmodifiableMap(variables);
+    }
+
+    /**
+     * Reads a collection file.
+     *
+     * @param file The exported collection.
+     * @return The parsed collection.
+     * @throws IOException If the file cannot be read or is not JSON.
+     * @throws IllegalArgumentException If the file is not a Postman collection.
+     */
+    public static PostmanCollection read(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        if (!root.path("item").isArray()) {
+            throw new IllegalArgumentException("Not a Postman collection (no \"item\" array): " + file);
+        }
+        List<RequestTemplate> requests = new ArrayList<>();
+        for (JsonNode item : root.path("item")) {
+            collect(item, item.path("name").asText(""), requests);
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            String value = variable.path("value").asText("");
+            if (!value.isEmpty()) {
+                variables.put(variable.path("key").asText(), value);
+            }
+        }
+        return new PostmanCollection(requests, variables);
+    }
+
+    /**
+     * Adds the requests of an item, and of its children if it is a folder.
+     */
+    private static void collect(JsonNode item, String folder, List<RequestTemplate> requests) {
+        if (item.has("item")) {
+            for (JsonNode child : item.path("item")) {
+                collect(child, folder, requests);
+            }
+            return;
+        }
+        JsonNode request = item.path("request");
+        JsonNode url = request.path("url");
+        String rawUrl = url.isTextual() ? url.asText() : url.path("raw").asText();
+        JsonNode body = request.path("body");
+        String rawBody = "raw".equals(body.path("mode").asText()) ? body.path("raw").asText() : null;
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (JsonNode header : request.path("header")) {
+            if (!header.path("disabled").asBoolean(false)) {
+                headers.put(header.path("key").asText(), header.path("value").asText());
+            }
+        }
+        if (rawBody != null && "json".equals(body.path("options").path("raw").path("language").asText())) {
+            headers.putIfAbsent("Content-Type", "application/json");
+        }
+        requests.add(new RequestTemplate(folder, item.path("name").asText(), request.path("method").asText("GET"),
+                rawUrl, rawBody, headers));
+    }
+
+    /**
+     * Returns every request of the collection, in order.
+     *
+     * @return The request templates.
+     */
+    public List<RequestTemplate> requests() {
+        return requests;
+    }
+
+    /**
+     * Returns the collection variables that have a default value.
+     *
+     * @return The variables by name.
+     */
+    public Map<String, String> variables() {
+        return variables;
+    }
+}
@@ -0,0 +1,67 @@
+package com.recordstore.loadtest;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One request of the Postman collection, with its {@code {{variable}}} placeholders still unresolved.
+ *
+ * @param folder  The folder of the collection the request belongs to (e.g. {@code "Album"}).
+ * @param name    The name of the request in the collection.
+ * @param method  The HTTP method.
+ * @param url     The raw URL, e.g. {@code "{{baseUrl}}/album/{{id}}"}.
+ * @param body    The raw body, or {@code null} if the request has none.
+ * @param headers The headers of the request.
+ */
+public record RequestTemplate(String folder, String name, String method, String url, String body,
+        Map<String, String> headers) {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+    private static final String BASE_URL = "{{baseUrl}}";
+
+    /**
+     * Returns the endpoint the request is reported under: the method and the URL template without the base URL,
+     * e.g. {@code "GET /album/{{id}}"}.
+     *
+     * @return The endpoint of the request.
+     */
+    public String endpoint() {
+        return method + " " + url.replace(BASE_URL, "");
+    }
+
+    /**
+     * Replaces the placeholders of a text with the values of a resolver.
+     *
+     * @param text     The text with {@code {{variable}}} placeholders, or {@code null}.
+     * @param resolver Returns the value of every variable.
+     * @return The text with every placeholder replaced, or {@code null} if the text is {@code null}.
+     */
+    public static String resolve(String text, VariableResolver resolver) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder resolved = new StringBuilder(text.length() + 16);
+        while (matcher.find()) {
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(resolver.value(matcher.group(1))));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    /**
+     * Returns the value of a collection variable for one request.
+     */
+    @FunctionalInterface
+    public interface VariableResolver {
+
+        /**
+         * Returns the value of a variable.
+         *
+         * @param variable The name of the variable, without braces.
+         * @return Its value; never {@code null}.
+         */
+        String value(String variable);
+    }
+}
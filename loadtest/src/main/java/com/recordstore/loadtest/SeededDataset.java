@@ -0,0 +1,222 @@
+package com.recordstore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Values of the collection variables, read from the seeded database of the running application.
+ * <p>
+ * The catalog ({@code GET /product/all}) and the users ({@code GET /user/all}) are read once before the test. Every
+ * request then gets random values that exist in the database: the {@code {{id}}} of a request in the
+ * {@code Vinyl} folder is the ID of a vinyl, its {@code {{artist}}} the artist of a vinyl, and so on. Variables that
+ * the catalog does not hold (booleans, enum constants, ranges) are drawn from their valid values, and anything else
+ * falls back to the default value of the collection variable.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * SeededDataset dataset = SeededDataset.load(client, "http://localhost:8080", collection.variables());
+ * String url = RequestTemplate.resolve(template.url(), dataset.resolver(template, true));
+ * </pre>
+ */
+public class SeededDataset {
+
+    private static final String ALL = "*";
+    private static final String USER_FOLDER = "User";
+
+    /**
+     * Product categories of the catalog behind every folder of the collection.
+     */
+    private static final Map<String, List<String>> FOLDER_CATEGORIES = Map.of(
+            "Album", List.of("ALBUM", "A_VINYL"),
+            "Vinyl", List.of("A_VINYL"),
+            "Headphone", List.of("AE_HEADPHONES"),
+            "Speaker", List.of("AE_SPEAKER"),
+            "Player", List.of("PLAYER", "P_PORTABLE", "P_TURNTABLE"),
+            "Turntable", List.of("P_TURNTABLE"),
+            "Portable", List.of("P_PORTABLE"));
+
+    /**
+     * Valid values of the variables that are not read from the catalog.
+     */
+    private static final Map<String, List<String>> CONSTANTS = Map.ofEntries(
+            Map.entry("anc", List.of("NONE", "PASSIVE", "ACTIVE", "ACTIVE_AND_PASSIVE")),
+            Map.entry("headphonetype", List.of("IN_EAR", "ON_EAR", "OVER_EAR")),
+            Map.entry("headphonesType", List.of("IN_EAR", "ON_EAR", "OVER_EAR")),
+            Map.entry("portabletype", List.of("DIGITAL", "CASSETTE", "CD")),
+            Map.entry("powerType", List.of("DC", "AC")),
+            Map.entry("resistance", List.of("WATER", "SHOCK", "DUST", "WS", "WD", "SD", "WSD")),
+            Map.entry("warranty", List.of("12", "24")),
+            Map.entry("batteryLife", List.of("10", "20", "30")),
+            Map.entry("minDuration", List.of("30:00", "40:00")),
+            Map.entry("maxDuration", List.of("50:00", "80:00")));
+
+    private static final List<String> BOOLEANS = List.of("true", "false");
+    private static final List<String> BOOLEAN_VARIABLES = List.of("bluetooth", "usb", "radio", "aux", "wireless",
+            "rca", "builtInSpeaker", "microphoneBuiltIn", "hasBuiltInPreAmp");
+
+    private final String baseUrl;
+    private final Map<String, String> defaults;
+
+    /**
+     * Values of every catalog attribute, by folder ({@value #ALL} holds the whole catalog).
+     */
+    private final Map<String, Map<String, List<String>>> values = new HashMap<>();
+    private final List<String> emails = new ArrayList<>();
+
+    private SeededDataset(String baseUrl, Map<String, String> defaults) {
+        this.baseUrl = baseUrl;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Reads the catalog and the users of the running application.
+     *
+     * @param client   The HTTP client.
+     * @param baseUrl  The base URL of the application, without a trailing slash.
+     * @param defaults The default values of the collection variables.
+     * @return The dataset.
+     * @throws IOException          If the application cannot be reached or answers with an error.
+     * @throws InterruptedException If interrupted while waiting for the application.
+     */
+    public static SeededDataset load(HttpClient client, String baseUrl, Map<String, String> defaults)
+            throws IOException, InterruptedException {
+        SeededDataset dataset = new SeededDataset(baseUrl, defaults);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (JsonNode product : objectMapper.readTree(get(client, baseUrl + "/product/all"))) {
+            dataset.addProduct(product);
+        }
+        for (JsonNode user : objectMapper.readTree(get(client, baseUrl + "/user/all"))) {
+            if (user.hasNonNull("email")) {
+                dataset.emails.add(user.get("email").asText());
+            }
+        }
+        if (dataset.values.isEmpty()) {
+            throw new IllegalStateException("The catalog of " + baseUrl + " is empty; start the application seeded");
+        }
+        return dataset;
+    }
+
+    private static String get(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + url + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Adds the attributes of a catalog row to its folders and to the whole catalog.
+     */
+    private void addProduct(JsonNode product) {
+        String category = product.path("productCategory").asText();
+        List<String> folders = new ArrayList<>();
+        folders.add(ALL);
+        FOLDER_CATEGORIES.forEach((folder, categories) -> {
+            if (categories.contains(category)) {
+                folders.add(folder);
+            }
+        });
+        for (String folder : folders) {
+            Map<String, List<String>> folderValues = values.computeIfAbsent(folder, f -> new HashMap<>());
+            add(folderValues, "id", product.path("id"));
+            add(folderValues, "name", product.path("name"));
+            add(folderValues, "model", product.path("name"));
+            add(folderValues, "artist", product.path("artist"));
+            add(folderValues, "brand", product.path("brand"));
+            add(folderValues, "color", product.path("color"));
+            add(folderValues, "genre", product.path("genre"));
+            add(folderValues, "format", product.path("format"));
+            add(folderValues, "stock", product.path("stock"));
+            add(folderValues, "year", product.path("year"));
+            add(folderValues, "price", product.path("price"));
+        }
+    }
+
+    private static void add(Map<String, List<String>> folderValues, String variable, JsonNode value) {
+        if (!value.isMissingNode() && !value.isNull()) {
+            folderValues.computeIfAbsent(variable, v -> new ArrayList<>()).add(value.asText());
+        }
+    }
+
+    /**
+     * Returns a resolver that draws random values for the variables of one request.
+     *
+     * @param template  The request.
+     * @param urlEncode Whether the values are URL-encoded, for the URL of the request (artists such as
+     *                  {@code "AC/DC"} would otherwise change the path).
+     * @return The resolver.
+     */
+    public RequestTemplate.VariableResolver resolver(RequestTemplate template, boolean urlEncode) {
+        Map<String, List<String>> folderValues = values.getOrDefault(template.folder(), values.get(ALL));
+        return variable -> {
+            if ("baseUrl".equals(variable)) {
+                return baseUrl;
+            }
+            String value = value(template.folder(), folderValues, variable);
+            return urlEncode ? URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20") : value;
+        };
+    }
+
+    private String value(String folder, Map<String, List<String>> folderValues, String variable) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (variable) {
+            case "id":
+                if (USER_FOLDER.equals(folder)) {
+                    // The user listing carries no IDs; users are numbered from 1 by the identity column
+                    return Integer.toString(1 + random.nextInt(Math.max(1, emails.size())));
+                }
+                break;
+            case "email":
+                if (!emails.isEmpty()) {
+                    return emails.get(random.nextInt(emails.size()));
+                }
+                break;
+            case "minPrice":
+            case "maxPrice": {
+                double price = Double.parseDouble(pick(folderValues, "price", "20"));
+                double bound = "minPrice".equals(variable) ? price * 0.5 : price * 1.5;
+                return String.format(Locale.ROOT, "%.2f", bound);
+            }
+            case "startYear":
+            case "endYear": {
+                int year = Integer.parseInt(pick(folderValues, "year", "1990"));
+                return Integer.toString("startYear".equals(variable) ? year - 10 : year + 10);
+            }
+            default:
+                break;
+        }
+        if (BOOLEAN_VARIABLES.contains(variable)) {
+            return BOOLEANS.get(random.nextInt(2));
+        }
+        List<String> constants = CONSTANTS.get(variable);
+        if (constants != null) {
+            return constants.get(random.nextInt(constants.size()));
+        }
+        String fallback = pick(values.get(ALL), variable, defaults.getOrDefault(variable, ""));
+        return pick(folderValues, variable, fallback);
+    }
+
+    private static String pick(Map<String, List<String>> folderValues, String variable, String fallback) {
+        List<String> candidates = folderValues == null ? null : folderValues.get(variable);
+        if (candidates == null || candidates.isEmpty()) {
+            return fallback;
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.recordstore;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration class for the product lookups by ID.
+ * <p>
+ * Enables Spring's annotation-driven caching and defines the names of the caches used by the product services.
+ * The caches themselves are created by Spring Boot from {@code application.properties}: they are Caffeine caches
+ * bounded by size and by time since the last write, and they record hit, miss and eviction statistics that are
+ * published as {@code cache.*} metrics through the actuator.
+ * </p>
+ * <p>
+ * Every cache is keyed by product ID. Besides the {@code @CacheEvict} of each service's write methods, every
+ * committed product change evicts the ID from all the caches (see
+ * {@link com.recordstore.event.ProductCacheEvictor}), because the same product can be cached under several
+ * categories (a vinyl is also an album and a product).
+ * </p>
+ * <p>
+ * The caches hold DTOs, never JPA entities: a cached entity is shared by every caller and could be modified
+ * (or lazily initialized outside its session) by one of them, changing what the others read.
+ * </p>
+ *
+ * Example usage:
+ * <pre>
+ * &#64;Cacheable(cacheNames = CacheConfig.VINYLS, key = "#id", unless = "#result == null")
+ * public Optional&lt;VinylDTO&gt; getVinylById(Integer id) { ... }
+ * </pre>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Cache of {@link com.recordstore.dto.ProductDTO}s (of the concrete product type) by ID. */
+    public static final String PRODUCTS = "products";
+
+    /** Cache of {@link com.recordstore.dto.AlbumDTO}s by ID. */
+    public static final String ALBUMS = "albums";
+
+    /** Cache of {@link com.recordstore.dto.VinylDTO}s by ID. */
+    public static final String VINYLS = "vinyls";
+
+    /** Cache of {@link com.recordstore.dto.PlayerDTO}s by ID. */
+    public static final String PLAYERS = "players";
+
+    /** Cache of {@link com.recordstore.dto.PortableDTO}s by ID. */
+    public static final String PORTABLES = "portables";
+
+    /** Cache of {@link com.recordstore.dto.TurntableDTO}s by ID. */
+    public static final String TURNTABLES = "turntables";
+
+    /** Cache of {@link com.recordstore.dto.HeadphoneDTO}s by ID. */
+    public static final String HEADPHONES = "headphones";
+
+    /** Cache of {@link com.recordstore.dto.SpeakerDTO}s by ID. */
+    public static final String SPEAKERS = "speakers";
+
+    /** Names of every product cache. */
+    public static final String[] PRODUCT_CACHES = {
+            PRODUCTS, ALBUMS, VINYLS, PLAYERS, PORTABLES, TURNTABLES, HEADPHONES, SPEAKERS };
+}
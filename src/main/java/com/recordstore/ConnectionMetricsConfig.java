@@ -0,0 +1,76 @@
+package com.recordstore;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.recordstore.metrics.ConnectionAcquireMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration class for the connection acquisition metrics.
+ * <p>
+ * The application data source is wrapped in {@link ConnectionAcquireMetrics}, which times every
+ * {@code getConnection()} and tags it with the repository call running on the thread, so the wait for the pool is
+ * visible per repository method and not only for the pool as a whole.
+ * </p>
+ * <p>
+ * The wrapper is applied after the slow-query proxy of {@link SlowQueryConfig} (see {@link #ORDER}), so it is the
+ * outermost layer: {@code getConnection()} is timed around the proxy and the pool, and the statements timed by the
+ * proxy never include the wait for the pool.
+ * </p>
+ */
+@Configuration
+public class ConnectionMetricsConfig {
+
+    /**
+     * Order of the post-processor: after {@link SlowQueryConfig#ORDER}, so this wrapper ends up outside the proxy.
+     */
+    public static final int ORDER = SlowQueryConfig.ORDER + 1;
+
+    /**
+     * Wraps the data source in the timing wrapper.
+     * <p>
+     * The method is static so that the post-processor is registered before the data source is created.
+     * </p>
+     *
+     * @param meterRegistry The registry the waits are recorded in, resolved lazily.
+     * @return The post-processor that wraps the data source.
+     */
+    @Bean
+    public static BeanPostProcessor connectionAcquireDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionAcquirePostProcessor(meterRegistry);
+    }
+
+    /**
+     * Wraps every data source that is not wrapped yet, as the outermost layer.
+     */
+    private static final class ConnectionAcquirePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private ConnectionAcquirePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource
+                    && !SlowQueryConfig.isWrappedBy(dataSource, ConnectionAcquireMetrics.class)) {
+                return new ConnectionAcquireMetrics(dataSource, meterRegistry);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
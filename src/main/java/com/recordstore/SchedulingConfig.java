@@ -0,0 +1,17 @@
+package com.recordstore;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration class.
+ * <p>
+ * Enables Spring's {@code @Scheduled} methods, such as the periodic write-behind of the flash-sale stock
+ * ({@link com.recordstore.stock.HotStock#flush()}). They run on the single thread of the scheduler that Spring Boot
+ * configures.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
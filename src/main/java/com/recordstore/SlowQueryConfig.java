@@ -0,0 +1,105 @@
+package com.recordstore;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.recordstore.metrics.SlowQueryLogger;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Configuration class for the slow-query log.
+ * <p>
+ * The application data source is wrapped in a proxy that times every JDBC statement and hands it to
+ * {@link SlowQueryLogger}. This replaces the unconditional SQL logging of Hibernate ({@code show-sql} and the
+ * {@code org.hibernate.SQL} logger), which printed every statement synchronously to the console.
+ * </p>
+ *
+ * <p><strong>Properties:</strong></p>
+ * <ul>
+ *   <li><b>recordstore.slow-query.threshold-ms</b>: minimum duration of a logged statement (default {@code 200}).</li>
+ *   <li><b>recordstore.slow-query.sample-rate</b>: fraction of the slow statements logged (default {@code 1.0}).</li>
+ * </ul>
+ * <p>
+ * The proxy is applied first (see {@link #ORDER}), directly around the connection pool, and the connection wait
+ * metrics of {@link ConnectionMetricsConfig} wrap it afterwards.
+ * </p>
+ */
+@Configuration
+public class SlowQueryConfig {
+
+    /**
+     * Order of the post-processor: before {@link ConnectionMetricsConfig#ORDER}, so the proxy is the innermost layer.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    /**
+     * Wraps the data source in the timing proxy.
+     * <p>
+     * The method is static so that the post-processor is registered before the data source is created.
+     * </p>
+     *
+     * @param thresholdMs The minimum duration of a logged statement, in milliseconds.
+     * @param sampleRate  The fraction of the slow statements that are logged.
+     * @return The post-processor that wraps the data source.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${recordstore.slow-query.threshold-ms:200}") long thresholdMs,
+            @Value("${recordstore.slow-query.sample-rate:1.0}") double sampleRate) {
+        return new SlowQueryPostProcessor(new SlowQueryLogger(thresholdMs, sampleRate));
+    }
+
+    /**
+     * Checks whether a data source, or any {@link DelegatingDataSource} it wraps, is of the given type.
+     *
+     * @param dataSource The data source.
+     * @param type       The type of the wrapper.
+     * @return {@code true} if the type appears anywhere in the chain of wrappers.
+     */
+    static boolean isWrappedBy(DataSource dataSource, Class<? extends DataSource> type) {
+        DataSource current = dataSource;
+        while (current != null) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+            current = current instanceof DelegatingDataSource delegating ? delegating.getTargetDataSource() : null;
+        }
+        return false;
+    }
+
+    /**
+     * Wraps every data source that is not wrapped yet, as the innermost layer.
+     */
+    private static final class SlowQueryPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final SlowQueryLogger listener;
+
+        private SlowQueryPostProcessor(SlowQueryLogger listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !isWrappedBy(dataSource, ProxyDataSource.class)) {
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
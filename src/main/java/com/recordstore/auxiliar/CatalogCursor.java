@@ -0,0 +1,198 @@
+package com.recordstore.auxiliar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.enums.CATALOG_SORT;
+
+/**
+ * Utility class that implements keyset (cursor) pagination for the catalog endpoints.
+ * <p>
+ * A page is read with {@code WHERE (key, id) > (:lastKey, :lastId) ORDER BY key, id LIMIT :size + 1},
+ * so the database never has to skip over previous rows and no {@code COUNT} query is issued.
+ * The position of the last row of a page is encoded in an opaque, URL-safe cursor that the
+ * client sends back to obtain the next page.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * Window&lt;Vinyl&gt; window = CatalogCursor.scroll(vinylRepository, Vinyl.class, spec, sort, cursor, size);
+ * CatalogPageDTO&lt;VinylDTO&gt; page = CatalogCursor.toPage(window, sort, vinylMapper::toDTO);
+ * </pre>
+ */
+public class CatalogCursor {
+
+    /** Page size used when the client does not request one. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Largest page size a client can request. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ID_PROPERTY = "id";
+    private static final String SEPARATOR = ":";
+    private static final String ID_ORDER = "ID";
+
+    private CatalogCursor() {
+    }
+
+    /**
+     * Reads one page of entities from a repository using keyset pagination.
+     *
+     * @param repository The repository to read from.
+     * @param type       The entity type, used to validate the sort key.
+     * @param spec       The filter to apply to the listing.
+     * @param sort       The sort key of the listing.
+     * @param cursor     The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size       The requested page size, or {@code null} for the default size.
+     * @param <E>        The entity type.
+     * @return A {@link Window} with the entities of the page.
+     * @throws IllegalArgumentException If the sort key does not apply to the entity type or the cursor is invalid.
+     */
+    public static <E> Window<E> scroll(JpaSpecificationExecutor<E> repository, Class<E> type, Specification<E> spec,
+            CATALOG_SORT sort, String cursor, Integer size) {
+        if (!sort.isApplicableTo(type)) {
+            throw new IllegalArgumentException("Sort " + sort + " is not available for " + type.getSimpleName() + ".");
+        }
+        ScrollPosition position = decode(sort, cursor);
+        return repository.findBy(spec, query -> query
+                .sortBy(Sort.by(sort.getProperty(), ID_PROPERTY))
+                .limit(pageSize(size))
+                .scroll(position));
+    }
+
+    /**
+     * Maps a {@link Window} of entities to a {@link CatalogPageDTO}, encoding the cursor of the next page.
+     *
+     * @param window The window returned by {@link #scroll}.
+     * @param sort   The sort key used to read the window.
+     * @param mapper The function that converts each entity to its DTO.
+     * @param <E>    The entity type.
+     * @param <D>    The DTO type.
+     * @return The page, with {@code nextCursor} set when more results are available.
+     */
+    public static <E, D> CatalogPageDTO<D> toPage(Window<E> window, CATALOG_SORT sort, Function<? super E, D> mapper) {
+        List<D> content = window.getContent().stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(sort, last.getKeys());
+        }
+        return new CatalogPageDTO<>(content, content.size(), nextCursor != null, nextCursor);
+    }
+
+    /**
+     * Normalizes the requested page size into the range [1, {@value #MAX_PAGE_SIZE}].
+     *
+     * @param size The requested page size, may be {@code null}.
+     * @return The page size to use.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Decodes a cursor into the scroll position it represents.
+     *
+     * @param sort   The sort key the cursor must belong to.
+     * @param cursor The cursor, or {@code null}/blank for the first page.
+     * @return The keyset position to resume from.
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for another sort key.
+     */
+    public static ScrollPosition decode(CATALOG_SORT sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Format: SORT:id:value (the value goes last because names may contain the separator)
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3 || !sort.name().equals(parts[0])) {
+                throw new IllegalArgumentException("The cursor does not belong to a listing sorted by " + sort + ".");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sort.getProperty(), sort.parseKey(parts[2]));
+            keys.put(ID_PROPERTY, Integer.valueOf(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException ex) {
+            // Also covers NumberFormatException and invalid Base64 input
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    /**
+     * Encodes the ID of the last row of a page ordered by ID alone (e.g. the facet filter) into an opaque cursor,
+     * with the same scheme as the keyset cursors.
+     *
+     * @param lastId The ID of the last row of the page.
+     * @return The URL-safe cursor.
+     */
+    public static String encodeId(int lastId) {
+        String raw = ID_ORDER + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor built by {@link #encodeId(int)} into the first ID of the next page.
+     *
+     * @param cursor The cursor, or {@code null}/blank for the first page.
+     * @return The smallest ID the page may contain: 0 for the first page, the last ID plus one otherwise.
+     * @throws IllegalArgumentException If the cursor is malformed, belongs to another listing or holds an ID out of
+     *                                  range.
+     */
+    public static int decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 2);
+            if (parts.length != 2 || !ID_ORDER.equals(parts[0])) {
+                throw new IllegalArgumentException("The cursor does not belong to a listing sorted by ID.");
+            }
+            int lastId = Integer.parseInt(parts[1]);
+            if (lastId < 0 || lastId == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The cursor holds an ID out of range.");
+            }
+            return lastId + 1;
+        } catch (IllegalArgumentException ex) {
+            // Also covers NumberFormatException and invalid Base64 input
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    /**
+     * Encodes the keys of the last row of a page into an opaque cursor.
+     *
+     * @param sort The sort key of the listing.
+     * @param keys The keyset values of the last row.
+     * @return The URL-safe cursor.
+     * @throws IllegalStateException If the sort key of the row is {@code null}; the sort columns are
+     *                               {@code NOT NULL} (migration V6), so this means the schema is out of date.
+     */
+    private static String encode(CATALOG_SORT sort, Map<String, ?> keys) {
+        Object value = keys.get(sort.getProperty());
+        if (value == null) {
+            throw new IllegalStateException("Sort key " + sort.getProperty() + " is null; cannot build a cursor.");
+        }
+        String raw = sort.name() + SEPARATOR + keys.get(ID_PROPERTY) + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package com.recordstore.auxiliar;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class that answers conditional {@code GET} requests on the catalog listings.
+ * <p>
+ * When the {@code If-None-Match} header of the request matches the current {@code ETag} of the listing, the
+ * response is a {@code 304 Not Modified} and the body supplier is never called, so neither the repository query
+ * nor the JSON serialization runs. Otherwise the body is read and returned with the tag.
+ * </p>
+ * <p>
+ * Both responses carry {@code Cache-Control: no-cache}, so clients may keep the listing but must revalidate it on
+ * every use (this also replaces the {@code no-store} header that Spring Security adds by default).
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.A_VINYL),
+ *         vinylService::getAllVinyls);
+ * </pre>
+ */
+public class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Builds the response of a conditional {@code GET}.
+     *
+     * @param request The current request.
+     * @param etag    The current quoted entity tag of the resource.
+     * @param body    Reads the body of the resource; only called when the client copy is not current.
+     * @param <T>     The type of the body.
+     * @return A {@code 304} response without body, or a {@code 200} response with the body, both with the tag.
+     */
+    public static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body.get());
+    }
+}
@@ -268,9 +268,16 @@ public class DBSeeders {
  * This method is executed after the repositories have been injected, as a part of the seeding process.
  * It populates the database with sample data for various entities, including users, albums, turntables, 
  * vinyl records, headphones, speakers, players, portable devices, wishlists, and orders.
+ * <p>
+ * The schema is created by the migrations and the data survives restarts, so the sample data is only
+ * inserted when the database has no products yet.
+ * </p>
  */
 @PostConstruct // Executes after repositories are injected
 public void allSeeder() {
+    if (productRepository.count() > 0) {
+        return;
+    }
     userSeeder();
     albumSeeder();
     turntableSeeder();
@@ -499,7 +506,11 @@ private void orderSeeder() {
             }
 
             // Create an order with the complete product list
-            orderService.saveOrder(user, orderProducts);
+            try {
+                orderService.saveOrder(user, orderProducts);
+            } catch (IllegalStateException e) {
+                // Not enough stock left for this random order: skip it
+            }
         }
     }
 }
@@ -0,0 +1,336 @@
+package com.recordstore.auxiliar;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.HEADPHONES_TYPE;
+import com.recordstore.enums.MECHANISM;
+import com.recordstore.enums.NOISE_CANCELING;
+import com.recordstore.enums.ORDER_STATUS;
+import com.recordstore.enums.PORTABLE_TYPE;
+import com.recordstore.enums.POWER_TYPE;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.enums.RESISTANCE;
+import com.recordstore.enums.TRACTION;
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+import com.recordstore.model.Sequences;
+
+/**
+ * Generates a large synthetic dataset (products of every subtype, users and orders) for benchmarks and staging.
+ * <p>
+ * The generator only runs when the application is started with the {@value #OPTION} option, e.g.:
+ * </p>
+ * <pre>
+ * java -jar recordStore-exec.jar --generate-dataset --dataset.products=1000000 --dataset.users=500000 \
+ *      --dataset.order-lines=10000000 --dataset.seed=42
+ * </pre>
+ * <p>
+ * The same seed always produces the same rows. Rows are written straight through JDBC with multi-row inserts sent
+ * in batches ({@link MultiRowInserter}), bypassing JPA. Their IDs are taken from the ID sequences, which are then
+ * restarted after the last generated ID. The derived read models (catalog projection, facet
+ * and search indexes) rebuild themselves when the application is ready, which happens after this runner.
+ * </p>
+ * <p>
+ * The products are spread evenly over the seven concrete subtypes. Orders have from 1 to 7 distinct products and
+ * are generated until the requested number of order lines is reached.
+ * </p>
+ */
+@Component
+public class DatasetGenerator implements ApplicationRunner {
+
+    /**
+     * Command-line option that turns the generator on.
+     */
+    public static final String OPTION = "generate-dataset";
+
+    private static final long DEFAULT_PRODUCTS = 1_000_000;
+    private static final long DEFAULT_USERS = 500_000;
+    private static final long DEFAULT_ORDER_LINES = 10_000_000;
+    private static final long DEFAULT_SEED = 42;
+
+    /**
+     * Rows of every multi-row insert statement.
+     */
+    private static final int ROWS_PER_STATEMENT = 100;
+
+    /**
+     * Rows of the main table buffered before every flush.
+     */
+    private static final int CHUNK = 10_000;
+
+    private static final int MAX_LINES_PER_ORDER = 7;
+    private static final int MAX_QUANTITY = 5;
+    private static final int ARTISTS = 5_000;
+
+    private static final String[] BRANDS = { "Sony", "Audio-Technica", "Pro-Ject", "Technics", "Bose", "JBL",
+            "Marshall", "Sennheiser", "Yamaha", "Denon", "Pioneer", "Onkyo", "Rega", "Harman Kardon", "B&O" };
+    private static final String[] COLORS = { "Black", "White", "Silver", "Red", "Blue", "Green", "Gold", "Gray" };
+
+    /**
+     * Concrete product subtypes, generated in turn.
+     */
+    private static final PRODUCT_CATEGORY[] SUBTYPES = { PRODUCT_CATEGORY.ALBUM, PRODUCT_CATEGORY.A_VINYL,
+            PRODUCT_CATEGORY.PLAYER, PRODUCT_CATEGORY.P_PORTABLE, PRODUCT_CATEGORY.P_TURNTABLE,
+            PRODUCT_CATEGORY.AE_HEADPHONES, PRODUCT_CATEGORY.AE_SPEAKER };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Constructor for the generator that injects the JDBC template and the password encoder.
+     *
+     * @param jdbcTemplate    The template that runs the inserts.
+     * @param passwordEncoder The encoder of the password shared by the generated users.
+     */
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Generates the dataset if the application was started with the {@value #OPTION} option.
+     *
+     * @param args The command-line arguments.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        generate(option(args, "dataset.products", DEFAULT_PRODUCTS), option(args, "dataset.users", DEFAULT_USERS),
+                option(args, "dataset.order-lines", DEFAULT_ORDER_LINES), option(args, "dataset.seed", DEFAULT_SEED));
+    }
+
+    private static long option(ApplicationArguments args, String name, long defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null || values.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(values.get(0).replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be a number: " + values.get(0));
+        }
+    }
+
+    /**
+     * Generates the dataset.
+     *
+     * @param products   The number of products.
+     * @param users      The number of users.
+     * @param orderLines The number of order lines.
+     * @param seed       The seed of the random values.
+     * @throws IllegalArgumentException If a count is negative or too large, or there are order lines to generate
+     *                                  but no products or users to generate them from.
+     */
+    public void generate(long products, long users, long orderLines, long seed) {
+        if (products < 0 || users < 0 || orderLines < 0 || products > Integer.MAX_VALUE / 2
+                || users > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Invalid dataset size: " + products + " products, " + users
+                    + " users, " + orderLines + " order lines");
+        }
+        if (orderLines > 0 && (products == 0 || users == 0)) {
+            throw new IllegalArgumentException("Order lines need generated products and users");
+        }
+        PrintFlag.flag("Generating dataset: " + products + " products, " + users + " users, " + orderLines
+                + " order lines (seed " + seed + ")");
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int firstProductId = nextId(Sequences.PRODUCT);
+        long[] prices = generateProducts(random.split(), firstProductId, (int) products);
+        int firstUserId = nextId(Sequences.USER);
+        generateUsers(random.split(), firstUserId, (int) users);
+        generateOrders(random.split(), firstProductId, prices, firstUserId, (int) users, orderLines);
+
+        PrintFlag.flag("Dataset generated in " + (System.nanoTime() - start) / 1_000_000_000 + " s");
+    }
+
+    /**
+     * Generates the products, and returns their prices in cents by index, for the order lines.
+     */
+    private long[] generateProducts(SplittableRandom random, int firstId, int count) {
+        MultiRowInserter products = inserter("products", "id", "name", "price_cents", "stock", "product_category");
+        MultiRowInserter albums = inserter("album", "id", "artist", "release_year", "format", "genre", "duration",
+                "duration_seconds");
+        MultiRowInserter vinyls = inserter("vinyl", "id", "size", "speed", "color");
+        MultiRowInserter players = inserter("player", "id", "brand", "color", "warranty", "bluetooth", "usb",
+                "radio", "aux", "rca", "built_in_speaker");
+        MultiRowInserter portables = inserter("portable", "id", "portable_type", "power_type", "battery_life",
+                "resistance");
+        MultiRowInserter turntables = inserter("turntable", "id", "preamp", "allowed_rpm", "traction", "mechanism");
+        MultiRowInserter audioEquipment = inserter("audio_equipment", "id", "brand", "color", "battery_life",
+                "warranty", "microphone_built_in", "wireless", "bluetooth", "usb", "aux");
+        MultiRowInserter headphones = inserter("headphone", "id", "headphones_type", "anc");
+        MultiRowInserter speakers = inserter("speaker", "id", "radio", "power", "impedance", "min_freq", "max_freq",
+                "weight", "power_type", "resistance");
+        List<MultiRowInserter> inOrder = List.of(products, albums, vinyls, players, portables, turntables,
+                audioEquipment, headphones, speakers);
+
+        long[] prices = new long[count];
+        for (int i = 0; i < count; i++) {
+            int id = firstId + i;
+            PRODUCT_CATEGORY category = SUBTYPES[i % SUBTYPES.length];
+            prices[i] = 500 + random.nextInt(200_000); // 5.00 to 2004.99
+            products.add(id, category.name() + " " + id, prices[i], random.nextInt(500), category.name());
+            switch (category) {
+                case ALBUM, A_VINYL -> {
+                    int seconds = 600 + random.nextInt(4_800);
+                    albums.add(id, "Artist " + random.nextInt(ARTISTS), 1950 + random.nextInt(76),
+                            category == PRODUCT_CATEGORY.A_VINYL ? ALBUM_FORMAT.LP.name()
+                                    : pick(random, ALBUM_FORMAT.values()).name(),
+                            pick(random, ALBUM_GENRE.values()).name(),
+                            String.format("%d:%02d", seconds / 60, seconds % 60), seconds);
+                    if (category == PRODUCT_CATEGORY.A_VINYL) {
+                        vinyls.add(id, random.nextInt(VINYL_SIZE.values().length),
+                                random.nextInt(VINYL_RPM.values().length), pick(random, COLORS));
+                    }
+                }
+                case PLAYER, P_PORTABLE, P_TURNTABLE -> {
+                    players.add(id, pick(random, BRANDS), pick(random, COLORS), 12 * (1 + random.nextInt(3)),
+                            random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(),
+                            random.nextBoolean(), random.nextBoolean());
+                    if (category == PRODUCT_CATEGORY.P_PORTABLE) {
+                        portables.add(id, random.nextInt(PORTABLE_TYPE.values().length),
+                                random.nextInt(POWER_TYPE.values().length), 5 + random.nextInt(40),
+                                pick(random, RESISTANCE.values()).name());
+                    } else if (category == PRODUCT_CATEGORY.P_TURNTABLE) {
+                        turntables.add(id, random.nextBoolean(), random.nextInt(VINYL_RPM.values().length),
+                                random.nextInt(TRACTION.values().length), random.nextInt(MECHANISM.values().length));
+                    }
+                }
+                case AE_HEADPHONES, AE_SPEAKER -> {
+                    audioEquipment.add(id, pick(random, BRANDS), pick(random, COLORS), random.nextInt(50),
+                            12 * (1 + random.nextInt(3)), random.nextBoolean(), random.nextBoolean(),
+                            random.nextBoolean(), random.nextBoolean(), random.nextBoolean());
+                    if (category == PRODUCT_CATEGORY.AE_HEADPHONES) {
+                        headphones.add(id, pick(random, HEADPHONES_TYPE.values()).name(),
+                                pick(random, NOISE_CANCELING.values()).name());
+                    } else {
+                        int minFrequency = 20 + random.nextInt(60);
+                        speakers.add(id, random.nextBoolean(), 10 + random.nextInt(190), 4 + 2 * random.nextInt(3),
+                                minFrequency, 18_000 + random.nextInt(4_000), 500 + random.nextInt(9_500),
+                                pick(random, POWER_TYPE.values()).name(), pick(random, RESISTANCE.values()).name());
+                    }
+                }
+                default -> throw new IllegalStateException("Not a concrete subtype: " + category);
+            }
+            if ((i + 1) % CHUNK == 0) {
+                inOrder.forEach(MultiRowInserter::flush);
+            }
+        }
+        inOrder.forEach(MultiRowInserter::flush);
+        restartSequence(Sequences.PRODUCT, firstId + count);
+        return prices;
+    }
+
+    /**
+     * Generates the users. They all share one password, encoded once, since encoding is deliberately slow.
+     */
+    private void generateUsers(SplittableRandom random, int firstId, int count) {
+        MultiRowInserter users = inserter("users", "user_id", "name", "phone", "mail", "password", "address");
+        String password = passwordEncoder.encode("password");
+        for (int i = 0; i < count; i++) {
+            int id = firstId + i;
+            users.add(id, "User " + id, String.format("55%08d", random.nextInt(100_000_000)),
+                    "user" + id + "@recordstore.test", password, "Street " + random.nextInt(1_000) + " #" + id);
+            if ((i + 1) % CHUNK == 0) {
+                users.flush();
+            }
+        }
+        users.flush();
+        restartSequence(Sequences.USER, firstId + count);
+    }
+
+    /**
+     * Generates orders of random users with random distinct generated products, until the number of lines is
+     * reached.
+     */
+    private void generateOrders(SplittableRandom random, int firstProductId, long[] prices, int firstUserId,
+            int users, long lineCount) {
+        MultiRowInserter orders = inserter("orders", "order_id", "tracking_number", "user_id", "status",
+                "total_amount_cents");
+        MultiRowInserter lines = inserter("order_product", "id", "order_id", "product_id", "quantity",
+                "unit_price_cents");
+        int orderId = nextId(Sequences.ORDER);
+        int lineId = nextId(Sequences.ORDER_PRODUCT);
+        int[] chosen = new int[MAX_LINES_PER_ORDER];
+        long generated = 0;
+        while (generated < lineCount) {
+            int userId = firstUserId + random.nextInt(users);
+            int size = (int) Math.min(Math.min(1 + random.nextInt(MAX_LINES_PER_ORDER), lineCount - generated),
+                    prices.length);
+            long total = 0;
+            for (int j = 0; j < size; j++) {
+                chosen[j] = distinct(random, chosen, j, prices.length);
+                int quantity = 1 + random.nextInt(MAX_QUANTITY);
+                long unitPrice = prices[chosen[j]];
+                lines.add(lineId++, orderId, firstProductId + chosen[j], quantity, unitPrice);
+                total += unitPrice * quantity;
+            }
+            orders.add(orderId, String.format("RCD-%06d-GEN-%09d", userId, orderId), userId,
+                    pick(random, ORDER_STATUS.values()).name(), total);
+            orderId++;
+            generated += size;
+            if (lines.inserted() + CHUNK <= generated) {
+                orders.flush();
+                lines.flush();
+            }
+        }
+        orders.flush();
+        lines.flush();
+        restartSequence(Sequences.ORDER, orderId);
+        restartSequence(Sequences.ORDER_PRODUCT, lineId);
+    }
+
+    /**
+     * Picks a product index not among the first {@code count} chosen ones.
+     */
+    private static int distinct(SplittableRandom random, int[] chosen, int count, int bound) {
+        while (true) {
+            int candidate = random.nextInt(bound);
+            boolean repeated = false;
+            for (int k = 0; k < count && !repeated; k++) {
+                repeated = chosen[k] == candidate;
+            }
+            if (!repeated) {
+                return candidate;
+            }
+        }
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private MultiRowInserter inserter(String table, String... columns) {
+        return new MultiRowInserter(jdbcTemplate, table, ROWS_PER_STATEMENT, columns);
+    }
+
+    /**
+     * Returns the next value of an ID sequence. It lies after every ID already used or reserved by Hibernate, so
+     * generated rows never collide with the entities the application saves.
+     */
+    private int nextId(String sequence) {
+        Integer next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Integer.class);
+        return next == null ? 1 : next;
+    }
+
+    /**
+     * Makes an ID sequence continue after the generated IDs.
+     */
+    private void restartSequence(String sequence, int next) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+    }
+}
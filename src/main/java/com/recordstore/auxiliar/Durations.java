@@ -0,0 +1,80 @@
+package com.recordstore.auxiliar;
+
+/**
+ * Utility class that converts the display text of album durations into a number of seconds.
+ * <p>
+ * Durations are written as {@code "mm:ss"}, where the minutes may have any number of digits (e.g. {@code "47:23"}
+ * or {@code "102:05"}), or as {@code "h:mm:ss"}. The number of seconds is what the database compares, so ranges
+ * are numeric and can use an index, unlike the text, whose order is lexicographic ({@code "102:05" < "47:23"}).
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * int seconds = Durations.toSeconds("47:23"); // 2843
+ * </pre>
+ */
+public class Durations {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private Durations() {
+    }
+
+    /**
+     * Converts a duration text into a number of seconds.
+     *
+     * @param duration The duration as {@code "mm:ss"} or {@code "h:mm:ss"}, or {@code null}.
+     * @return The number of seconds, or {@code null} if the duration is {@code null} or blank.
+     * @throws IllegalArgumentException If the duration is not written in one of the accepted formats.
+     */
+    public static Integer toSeconds(String duration) {
+        if (duration == null || duration.isBlank()) {
+            return null;
+        }
+        String[] parts = duration.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("The duration must be written as mm:ss or h:mm:ss: " + duration);
+        }
+        int seconds = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int value = parse(parts[i], duration);
+            if (i > 0 && value >= SECONDS_PER_MINUTE) {
+                throw new IllegalArgumentException("Minutes and seconds after a colon must be below 60: " + duration);
+            }
+            seconds = seconds * SECONDS_PER_MINUTE + value;
+        }
+        return seconds;
+    }
+
+    /**
+     * Converts a duration text into a number of seconds, tolerating malformed texts.
+     * <p>
+     * Used where the text was not validated on input (rows written before the validation existed), so that an
+     * unreadable duration leaves the album without a number of seconds instead of failing the write.
+     * </p>
+     *
+     * @param duration The duration as {@code "mm:ss"} or {@code "h:mm:ss"}, or {@code null}.
+     * @return The number of seconds, or {@code null} if the duration is {@code null}, blank or malformed.
+     */
+    public static Integer toSecondsOrNull(String duration) {
+        try {
+            return toSeconds(duration);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses one non-negative component of a duration.
+     */
+    private static int parse(String part, String duration) {
+        if (part.isEmpty() || !part.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("The duration must be written as mm:ss or h:mm:ss: " + duration);
+        }
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The duration is too long: " + duration);
+        }
+    }
+}
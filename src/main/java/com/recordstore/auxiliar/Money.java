@@ -0,0 +1,43 @@
+package com.recordstore.auxiliar;
+
+/**
+ * Utility class that converts money amounts between decimal units (euros, as shown in the JSON of the API) and
+ * minor units (cents, as stored and added up by the application).
+ * <p>
+ * Prices and order totals are held as {@code long} cents, so that adding and multiplying them is exact and
+ * allocates nothing; the conversion to and from a decimal amount only happens at the boundary of the API.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * long cents = Money.toCents(19.99);   // 1999
+ * Double price = Money.fromCents(1999); // 19.99
+ * </pre>
+ */
+public class Money {
+
+    private static final double CENTS_PER_UNIT = 100.0;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount into cents, rounding half up to the nearest cent.
+     *
+     * @param amount The amount in decimal units, or {@code null}.
+     * @return The amount in cents, or {@code null} if the amount is {@code null}.
+     */
+    public static Long toCents(Double amount) {
+        return amount == null ? null : Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    /**
+     * Converts an amount in cents into decimal units.
+     *
+     * @param cents The amount in cents, or {@code null}.
+     * @return The amount in decimal units, or {@code null} if the amount is {@code null}.
+     */
+    public static Double fromCents(Long cents) {
+        return cents == null ? null : cents / CENTS_PER_UNIT;
+    }
+}
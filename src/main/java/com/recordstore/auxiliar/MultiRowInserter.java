@@ -0,0 +1,121 @@
+package com.recordstore.auxiliar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Buffers the rows of one table and inserts them with multi-row {@code INSERT} statements sent as JDBC batches.
+ * <p>
+ * Every statement inserts {@code rowsPerStatement} rows ({@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ...}),
+ * and the statements of one {@link #flush()} are sent together with {@link JdbcTemplate#batchUpdate(String, List)},
+ * so a million rows take a few thousand round trips instead of a million. The rows left over after the last full
+ * statement are inserted with one shorter statement.
+ * </p>
+ * <p>
+ * Rows are only written on {@link #flush()}, so the caller decides the order in which the inserters of related
+ * tables are flushed (a parent table before the tables that reference it).
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * MultiRowInserter users = new MultiRowInserter(jdbcTemplate, "users", 100, "user_id", "name", "mail");
+ * users.add(1, "Juan Perez", "juanperez@gmail.com");
+ * users.flush();
+ * </pre>
+ */
+public class MultiRowInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final String fullStatement;
+    private final List<Object[]> rows = new ArrayList<>();
+    private long inserted;
+
+    /**
+     * Creates an inserter for a table.
+     *
+     * @param jdbcTemplate     The template that runs the statements.
+     * @param table            The table to insert into.
+     * @param rowsPerStatement The number of rows of every statement.
+     * @param columns          The columns of every row, in order.
+     * @throws IllegalArgumentException If there are no columns or the number of rows per statement is not positive.
+     */
+    public MultiRowInserter(JdbcTemplate jdbcTemplate, String table, int rowsPerStatement, String... columns) {
+        if (columns.length == 0 || rowsPerStatement <= 0) {
+            throw new IllegalArgumentException("An insert into " + table + " needs columns and at least one row");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.fullStatement = statement(rowsPerStatement);
+    }
+
+    /**
+     * Buffers a row.
+     *
+     * @param values The values of the row, in the order of the columns.
+     * @throws IllegalArgumentException If the number of values does not match the number of columns.
+     */
+    public void add(Object... values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("A row of " + table + " has " + columns.length + " values, not "
+                    + values.length);
+        }
+        rows.add(values);
+    }
+
+    /**
+     * Inserts the buffered rows and empties the buffer.
+     */
+    public void flush() {
+        int full = rows.size() / rowsPerStatement;
+        if (full > 0) {
+            List<Object[]> batch = new ArrayList<>(full);
+            for (int i = 0; i < full; i++) {
+                batch.add(flatten(i * rowsPerStatement, rowsPerStatement));
+            }
+            jdbcTemplate.batchUpdate(fullStatement, batch);
+        }
+        int rest = rows.size() - full * rowsPerStatement;
+        if (rest > 0) {
+            jdbcTemplate.update(statement(rest), flatten(full * rowsPerStatement, rest));
+        }
+        inserted += rows.size();
+        rows.clear();
+    }
+
+    /**
+     * Returns the number of rows inserted so far.
+     *
+     * @return The number of flushed rows.
+     */
+    public long inserted() {
+        return inserted;
+    }
+
+    private Object[] flatten(int from, int count) {
+        Object[] values = new Object[count * columns.length];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(rows.get(from + i), 0, values, i * columns.length, columns.length);
+        }
+        return values;
+    }
+
+    private String statement(int rowCount) {
+        String[] marks = new String[columns.length];
+        Arrays.fill(marks, "?");
+        String row = "(" + String.join(", ", marks) + ")";
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < rowCount; i++) {
+            values.add(row);
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES " + values;
+    }
+}
@@ -1,5 +1,12 @@
 package com.recordstore.controller;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.AlbumSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.AlbumDTO;
 import com.recordstore.model.Album;
 import com.recordstore.service.AlbumService;
@@ -11,10 +18,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +43,9 @@ import java.util.Optional;
  * </p>
  * <ul>
  * <li><b>GET /album/all</b>: Retrieves all albums.</li>
+ * <li><b>GET /album/page</b>: Retrieves albums page by page using a keyset cursor.</li>
+ * <li><b>GET /album/search</b>: Searches albums by any combination of attributes.</li>
+ * <li><b>GET /album/facets</b>: Counts albums by every facet value.</li>
  * <li><b>GET /album/{id}</b>: Retrieves an album by its ID.</li>
  * <li><b>GET /album/artist/{artist}</b>: Retrieves albums by a specific
  * artist.</li>
@@ -56,30 +68,104 @@ public class AlbumController {
 
     private final AlbumService albumService;
     private final AlbumMapper albumMapper;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Constructor to initialize AlbumController with dependencies.
      *
      * @param albumService the service handling album operations
      * @param albumMapper  the mapper for converting between Album and AlbumDTO
+     * @param catalogVersions the catalog versions used to build the {@code ETag} of the listings
      */
     @Autowired
-    public AlbumController(AlbumService albumService, AlbumMapper albumMapper) {
+    public AlbumController(AlbumService albumService, AlbumMapper albumMapper, CatalogVersions catalogVersions) {
         this.albumService = albumService;
         this.albumMapper = albumMapper;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Retrieves a list of all albums.
      *
-     * @return a list of {@link AlbumDTO} objects
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return a list of {@link AlbumDTO} objects, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Retrieve all albums", description = "Returns a list of all albums.")
-    @ApiResponse(responseCode = "200", description = "List of albums retrieved successfully")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "List of albums retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
     @GetMapping ("/all")
-    public ResponseEntity<List<AlbumDTO>> getAllAlbums() {
-        List<AlbumDTO> albums = albumService.getAllAlbums();
-        return ResponseEntity.ok(albums);
+    public ResponseEntity<List<AlbumDTO>> getAllAlbums(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, albumsETag(), albumService::getAllAlbums);
+    }
+
+    /**
+     * Endpoint to get one page of albums using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE, YEAR or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of albums per page.
+     * @return A {@link CatalogPageDTO} with the albums and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of albums", description = "Retrieves albums page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of albums retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<AlbumDTO>> getAlbumPage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(albumService.getAlbumPage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search albums by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /album/search?genre=ROCK&minYear=1965&maxYear=1975&maxPrice=30}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of albums per page.
+     * @return A {@link CatalogPageDTO} with the matching albums and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search albums", description = "Filters albums by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching albums retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<AlbumDTO>> searchAlbums(@ParameterObject AlbumSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(albumService.searchAlbums(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the albums matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /album/facets?genre=ROCK&maxPrice=30} returns, for each enum and boolean attribute, how many of the
+     * matching albums have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count albums by facet", description = "Counts the matching albums for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countAlbumsFacets(@ParameterObject AlbumSearchDTO criteria) {
+        return ResponseEntity.ok(albumService.countAlbumsFacets(criteria));
     }
 
     /**
@@ -95,8 +181,8 @@ public class AlbumController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<AlbumDTO> getAlbumById(@PathVariable Integer id) {
-        Optional<Album> album = albumService.getAlbumById(id);
-        return album.map(value -> ResponseEntity.ok(albumMapper.toDTO(value)))
+        Optional<AlbumDTO> album = albumService.getAlbumById(id);
+        return album.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -121,7 +207,8 @@ public class AlbumController {
      * Retrieves albums by a specific genre.
      *
      * @param genre the genre of the albums
-     * @return a list of albums within the given genre
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return a list of albums within the given genre, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Retrieve albums by genre", description = "Returns albums filtered by genre.")
     @ApiResponses({
@@ -129,16 +216,16 @@ public class AlbumController {
             @ApiResponse(responseCode = "404", description = "Albums not found")
     })
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<AlbumDTO>> getAlbumsByGenre(@PathVariable ALBUM_GENRE genre) {
-        List<AlbumDTO> albums = albumService.getAlbumsByGenre(genre);
-        return ResponseEntity.ok(albums);
+    public ResponseEntity<List<AlbumDTO>> getAlbumsByGenre(@PathVariable ALBUM_GENRE genre, WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, albumsETag(), () -> albumService.getAlbumsByGenre(genre));
     }
 
     /**
      * Retrieves albums by a specific format.
      *
      * @param format the format of the albums (e.g., CD, Album)
-     * @return a list of albums within the given format
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return a list of albums within the given format, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Retrieve albums by format", description = "Returns albums filtered by format (CD, Album, etc.).")
     @ApiResponses({
@@ -146,9 +233,8 @@ public class AlbumController {
             @ApiResponse(responseCode = "404", description = "Albums not found")
     })
     @GetMapping("/format/{format}")
-    public ResponseEntity<List<AlbumDTO>> getAlbumsByFormat(@PathVariable ALBUM_FORMAT format) {
-        List<AlbumDTO> albums = albumService.getAlbumsByFormat(format);
-        return ResponseEntity.ok(albums);
+    public ResponseEntity<List<AlbumDTO>> getAlbumsByFormat(@PathVariable ALBUM_FORMAT format, WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, albumsETag(), () -> albumService.getAlbumsByFormat(format));
     }
 
     /**
@@ -191,19 +277,23 @@ public class AlbumController {
     /**
      * Endpoint to get albums within a specific duration range.
      *
-     * @param minDuration The minimum duration.
-     * @param maxDuration The maximum duration.
+     * @param minDuration The minimum duration ("mm:ss" or "h:mm:ss").
+     * @param maxDuration The maximum duration ("mm:ss" or "h:mm:ss").
      * @return List of albums within the specified duration range in {@link AlbumDTO} format.
      */
     @GetMapping("/duration-range")
-    @Operation(summary = "Get albums by duration range", description = "Returns albums within the specified duration range")
+    @Operation(summary = "Get albums by duration range", description = "Returns albums within the specified duration range (mm:ss or h:mm:ss)")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Albums found"),
+        @ApiResponse(responseCode = "400", description = "Invalid duration"),
         @ApiResponse(responseCode = "404", description = "Albums not found")
     })
     public ResponseEntity<List<AlbumDTO>> getAlbumsByDuration(@RequestParam String minDuration, @RequestParam String maxDuration) {
-        List<AlbumDTO> albums = albumService.getAlbumsByDuration(minDuration, maxDuration);
-        return ResponseEntity.ok(albums);
+        try {
+            return ResponseEntity.ok(albumService.getAlbumsByDuration(minDuration, maxDuration));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -267,4 +357,13 @@ public class AlbumController {
         }
 
     }
+
+    /**
+     * Builds the {@code ETag} of the album listings, which also contain the vinyls.
+     *
+     * @return the current entity tag of the album listings
+     */
+    private String albumsETag() {
+        return catalogVersions.etag(PRODUCT_CATEGORY.ALBUM, PRODUCT_CATEGORY.A_VINYL);
+    }
 }
@@ -1,5 +1,12 @@
 package com.recordstore.controller;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.HeadphoneSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.HeadphoneDTO;
 import com.recordstore.enums.HEADPHONES_TYPE;
 import com.recordstore.enums.NOISE_CANCELING;
@@ -7,11 +14,13 @@ import com.recordstore.service.HeadphoneService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 /**
@@ -20,6 +29,9 @@ import java.util.List;
  * <p>
  * Endpoints:
  *  GET /headphone/all: Retrieve a list of all headphones.
+ *  GET /headphone/page: Retrieve headphones page by page using a keyset cursor.
+ *  GET /headphone/search: Search headphones by any combination of attributes.
+ *  GET /headphone/facets: Count headphones by every facet value.
  *  GET /headphone/{id}: Retrieve details of a specific headphone by its id.
  *  POST /headphone/new: Create a new headphone.
  *  PUT /headphone/update/{id}: Update an existing headphone by its id.
@@ -38,30 +50,103 @@ public class HeadphoneController {
      * The service class for managing headphones.
      */
     private final HeadphoneService headphoneService;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Constructor to initialize the HeadphoneController with the HeadphoneService.
      * @param headphoneService The HeadphoneService instance to handle business logic operations
+     * @param catalogVersions The catalog versions used to build the {@code ETag} of the listings
      */
     @Autowired
-    public HeadphoneController(HeadphoneService headphoneService) {
+    public HeadphoneController(HeadphoneService headphoneService, CatalogVersions catalogVersions) {
         this.headphoneService = headphoneService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Retrieve a list of all headphones.
      *
-     * @return List of all headphones.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of all headphones, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Get all headphones", description = "Retrieve a list of all headphones available in the store.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of headphones retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping("/all")
-    public ResponseEntity<List<HeadphoneDTO>> getAllHeadphones() {
-        List<HeadphoneDTO> headphones = headphoneService.getAllHeadphones();
-        return new ResponseEntity<>(headphones, HttpStatus.OK);
+    public ResponseEntity<List<HeadphoneDTO>> getAllHeadphones(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.AE_HEADPHONES),
+                headphoneService::getAllHeadphones);
+    }
+
+    /**
+     * Endpoint to get one page of headphones using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of headphones per page.
+     * @return A {@link CatalogPageDTO} with the headphones and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of headphones", description = "Retrieves headphones page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of headphones retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<HeadphoneDTO>> getHeadphonePage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(headphoneService.getHeadphonePage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search headphones by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /headphone/search?wireless=true&anc=ACTIVE&headphoneType=OVER_EAR}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of headphones per page.
+     * @return A {@link CatalogPageDTO} with the matching headphones and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search headphones", description = "Filters headphones by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching headphones retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<HeadphoneDTO>> searchHeadphones(@ParameterObject HeadphoneSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(headphoneService.searchHeadphones(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the headphones matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /headphone/facets?wireless=true} returns, for each enum and boolean attribute, how many of the
+     * matching headphones have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count headphones by facet", description = "Counts the matching headphones for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countHeadphonesFacets(@ParameterObject HeadphoneSearchDTO criteria) {
+        return ResponseEntity.ok(headphoneService.countHeadphonesFacets(criteria));
     }
 
     /**
@@ -3,10 +3,13 @@ package com.recordstore.controller;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.recordstore.dto.OrderDTO;
+import com.recordstore.enums.ADMISSION_STATUS;
 
 import com.recordstore.mapper.OrderMapper;
 import com.recordstore.model.Order;
@@ -14,6 +17,9 @@ import com.recordstore.model.OrderProduct;
 import com.recordstore.model.User;
 import com.recordstore.service.OrderService;
 import com.recordstore.service.UserService;
+import com.recordstore.stock.StockSwitchingException;
+import com.recordstore.waitingroom.Admission;
+import com.recordstore.waitingroom.WaitingRoom;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -43,9 +49,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Orders", description = "Endpoints for managing orders")
 public class OrderController {
 
+    /** Seconds a checkout refused during a flash-sale mode switch is told to wait before retrying. */
+    private static final int SWITCHING_RETRY_AFTER_SECONDS = 1;
+
     private final OrderService orderService;
     private final OrderMapper orderMapper;
     private final UserService userService;
+    private final WaitingRoom waitingRoom;
 
     /**
      * Constructs an OrderController with the required services and mapper.
@@ -53,11 +63,14 @@ public class OrderController {
      * @param orderService the service handling order operations
      * @param orderMapper the mapper for converting between entity and DTO
      * @param userService the service handling user operations
+     * @param waitingRoom the waiting rooms admitting the checkouts of limited releases
      */
-    public OrderController(OrderService orderService, OrderMapper orderMapper, UserService userService) {
+    public OrderController(OrderService orderService, OrderMapper orderMapper, UserService userService,
+            WaitingRoom waitingRoom) {
         this.orderService = orderService;
         this.orderMapper = orderMapper;
         this.userService = userService;
+        this.waitingRoom = waitingRoom;
     }
 
     /**
@@ -88,34 +101,101 @@ public class OrderController {
 
     /**
      * Creates a new order.
+     * <p>
+     * The products are resolved by ID and priced from the catalog, so only the user ID and the product ID and
+     * quantity of each line are read from the request.
+     * </p>
+     *
+     * <p>
+     * If a product of the order has an open waiting room, the request must carry an admitted queue token of that
+     * room (see {@link com.recordstore.waitingroom.WaitingRoom}); the token is used up by the order, unless it fails
+     * for a transient reason (a 503 or an unexpected error, not a 400 or a 409).
+     * </p>
      *
      * @param orderDTO the order details in DTO format
-     * @return the created order in DTO format
+     * @param queueToken the queue token, required while a product of the order has an open waiting room
+     * @return the created order in DTO format, 400 if the user or a product does not exist or a line is invalid,
+     *         403 if the queue token is missing, invalid, already used or expired since its admission, 409 if a
+     *         product does not have enough units in stock, 429 with a {@code Retry-After} header if the queue
+     *         token is not admitted yet, or 503 with a {@code Retry-After} header if a product is entering or
+     *         leaving flash-sale mode (the queue token stays usable)
      */
     @Operation(summary = "Create a new order", description = "Creates and returns a new order.")
     @PostMapping("/new")
-    public ResponseEntity<OrderDTO> createOrder(@RequestBody OrderDTO orderDTO) {
+    public ResponseEntity<OrderDTO> createOrder(@RequestBody OrderDTO orderDTO,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
         Order order = orderMapper.toEntity(orderDTO);
-        Order createdOrder = orderService.saveOrder(order.getUser(), order.getListOrderProducts());
-        return ResponseEntity.ok(orderMapper.toDTO(createdOrder));
+        Admission admission = waitingRoom.enter(queueToken, productIds(order));
+        if (admission.status() == ADMISSION_STATUS.WAITING) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .build();
+        }
+        if (!admission.mayCheckOut()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            Order createdOrder = orderService.placeOrder(order.getUser(), order.getListOrderProducts());
+            return ResponseEntity.ok(orderMapper.toDTO(createdOrder));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (StockSwitchingException ex) {
+            waitingRoom.giveBack(admission); // Retryable: the buyer keeps the admission
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(SWITCHING_RETRY_AFTER_SECONDS))
+                    .build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException ex) {
+            waitingRoom.giveBack(admission); // Transient failure: the buyer may retry with the same token
+            throw ex;
+        }
+    }
+
+    /**
+     * Collects the IDs of the products of an order, skipping lines without a product.
+     */
+    private static List<Integer> productIds(Order order) {
+        if (order.getListOrderProducts() == null) {
+            return List.of();
+        }
+        return order.getListOrderProducts().stream()
+                .filter(line -> line != null && line.getProduct() != null && line.getProduct().getId() != null)
+                .map(line -> line.getProduct().getId())
+                .toList();
     }
 
     /**
      * Adds products to an existing order.
      *
+     * <p>
+     * The stock of the products is reserved as in {@code POST /orders/new}.
+     * </p>
+     *
      * @param orderId the ID of the order to update
      * @param orderProducts the list of products to add
-     * @return the updated order in DTO format, or 404 if the order is not found
+     * @return the updated order in DTO format, 404 if the order is not found, 400 if a product does not exist or a
+     *         line is invalid, 409 if a product does not have enough units in stock, or 503 with a {@code Retry-After}
+     *         header if a product is entering or leaving flash-sale mode
      */
     @Operation(summary = "Add products to an existing order", description = "Adds products to an existing order by ID.")
     @PostMapping("/{orderId}/products")
     public ResponseEntity<OrderDTO> addProductsToOrder(@PathVariable Integer orderId, @RequestBody List<OrderProduct> orderProducts) {
-        return orderService.getOrderById(orderId)
-                .map(order -> {
-                    orderService.addProducts(order, orderProducts);
-                    return ResponseEntity.ok(orderMapper.toDTO(order));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        Optional<Order> order = orderService.getOrderById(orderId);
+        if (order.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(orderMapper.toDTO(orderService.addProducts(order.get(), orderProducts)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (StockSwitchingException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(SWITCHING_RETRY_AFTER_SECONDS))
+                    .build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -5,10 +5,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.PlayerSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.PlayerDTO;
 
 import com.recordstore.service.PlayerService;
@@ -32,6 +41,9 @@ import java.util.List;
  * 8. POST /player/new - Saves a new player
  * 9. PUT /player/{id} - Updates an existing player
  * 10. DELETE /player/{id} - Deletes a player by its id
+ * 11. GET /player/page - Retrieves players page by page using a keyset cursor
+ * 12. GET /player/search - Searches players by any combination of attributes
+ * 13. GET /player/facets - Counts players by every facet value
  */
 @RestController
 @RequestMapping("/player")
@@ -39,27 +51,103 @@ import java.util.List;
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Constructor to initialize the PlayerController with the PlayerService.
      * 
      * @param playerService The PlayerService instance to handle business logic
      *                      operations
+     * @param catalogVersions The catalog versions used to build the {@code ETag} of the listings
      */
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, CatalogVersions catalogVersions) {
         this.playerService = playerService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Retrieves all players.
      *
-     * @return List of all players.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of all players, or {@code 304 Not Modified} if the client copy is current.
      */
     @GetMapping("/all")
     @Operation(summary = "Get all players", description = "Retrieves a list of all players")
-    @ApiResponse(responseCode = "200", description = "List of players retrieved successfully")
-    public List<PlayerDTO> getAllPlayers() {
-        return playerService.getAllPlayers();
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "List of players retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
+    public ResponseEntity<List<PlayerDTO>> getAllPlayers(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.PLAYER,
+                PRODUCT_CATEGORY.P_PORTABLE, PRODUCT_CATEGORY.P_TURNTABLE), playerService::getAllPlayers);
+    }
+
+    /**
+     * Endpoint to get one page of players using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of players per page.
+     * @return A {@link CatalogPageDTO} with the players and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of players", description = "Retrieves players page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of players retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<PlayerDTO>> getPlayerPage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(playerService.getPlayerPage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search players by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /player/search?bluetooth=true&usb=true&minWarranty=12}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of players per page.
+     * @return A {@link CatalogPageDTO} with the matching players and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search players", description = "Filters players by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching players retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<PlayerDTO>> searchPlayers(@ParameterObject PlayerSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(playerService.searchPlayers(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the players matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /player/facets?bluetooth=true} returns, for each enum and boolean attribute, how many of the
+     * matching players have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count players by facet", description = "Counts the matching players for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countPlayersFacets(@ParameterObject PlayerSearchDTO criteria) {
+        return ResponseEntity.ok(playerService.countPlayersFacets(criteria));
     }
 
     /**
@@ -3,6 +3,7 @@ package com.recordstore.controller;
 import java.util.List;
 import java.util.Optional;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,7 +16,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.PortableSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.PortableDTO;
 import com.recordstore.enums.PORTABLE_TYPE;
 import com.recordstore.enums.POWER_TYPE;
@@ -37,6 +46,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
  * DELETE /portable/{id} - Delete a Portable by its ID
  * GET /portable/{id} - Get a Portable by its ID
  * GET /portable/all - Get all Portables
+ * GET /portable/page - Get Portables page by page using a keyset cursor
+ * GET /portable/search - Search Portables by any combination of attributes
+ * GET /portable/facets - Count Portables by every facet value
  * GET /portable/aux/{aux} - Find Portables with AUX port
  * GET /portable/usb/{usb} - Find Portables with USB port
  * GET /portable/bluetooth/{bluetooth} - Find Portables with Bluetooth
@@ -60,6 +72,9 @@ public class PortableController {
     @Autowired
     private PortableService portableService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     /**
      * Saves a new Portable object in the database.
      *
@@ -145,15 +160,86 @@ public class PortableController {
     /**
      * Retrieves all Portables.
      *
-     * @return A list of all Portables.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return A list of all Portables, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Get all Portables")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Portables retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
     })
     @GetMapping ("/all")
-    public List<PortableDTO> getAllPortables() {
-        return portableService.getAllPortables();
+    public ResponseEntity<List<PortableDTO>> getAllPortables(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.P_PORTABLE),
+                portableService::getAllPortables);
+    }
+
+    /**
+     * Endpoint to get one page of portables using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of portables per page.
+     * @return A {@link CatalogPageDTO} with the portables and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of portables", description = "Retrieves portables page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of portables retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<PortableDTO>> getPortablePage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(portableService.getPortablePage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search portables by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /portable/search?bluetooth=true&radio=true&powerType=DC&minBatteryLife=10}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of portables per page.
+     * @return A {@link CatalogPageDTO} with the matching portables and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search portables", description = "Filters portables by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching portables retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<PortableDTO>> searchPortables(@ParameterObject PortableSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(portableService.searchPortables(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the portables matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /portable/facets?powerType=DC} returns, for each enum and boolean attribute, how many of the
+     * matching portables have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count portables by facet", description = "Counts the matching portables for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countPortablesFacets(@ParameterObject PortableSearchDTO criteria) {
+        return ResponseEntity.ok(portableService.countPortablesFacets(criteria));
     }
 
     /**
@@ -162,7 +248,7 @@ public class PortableController {
      * @param aux Boolean value indicating if the portable should have an AUX port.
      * @return A list of Portables that have an AUX port.
      */
-    @Operation(summary = "Find Portables with AUX port")
+    @Operation(summary = "Find Portables with AUX port", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -177,7 +263,7 @@ public class PortableController {
      * @param usb Boolean value indicating if the portable should have a USB port.
      * @return A list of Portables that have a USB port.
      */
-    @Operation(summary = "Find Portables with USB port")
+    @Operation(summary = "Find Portables with USB port", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -193,7 +279,7 @@ public class PortableController {
      *                  Bluetooth.
      * @return A list of Portables that have Bluetooth.
      */
-    @Operation(summary = "Find Portables with Bluetooth")
+    @Operation(summary = "Find Portables with Bluetooth", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -209,7 +295,7 @@ public class PortableController {
      * @return A list of Portables with a warranty greater than or equal to the
      *         provided value.
      */
-    @Operation(summary = "Find Portables by warranty")
+    @Operation(summary = "Find Portables by warranty", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -224,7 +310,7 @@ public class PortableController {
      * @param brand The brand to search for.
      * @return A list of Portables that match the brand.
      */
-    @Operation(summary = "Find Portables by brand")
+    @Operation(summary = "Find Portables by brand", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -239,7 +325,7 @@ public class PortableController {
      * @param color The color to search for.
      * @return A list of Portables that match the color.
      */
-    @Operation(summary = "Find Portables by color")
+    @Operation(summary = "Find Portables by color", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -254,7 +340,7 @@ public class PortableController {
      * @param stock The stock quantity to search for.
      * @return A list of Portables that match the stock quantity.
      */
-    @Operation(summary = "Find Portables by stock")
+    @Operation(summary = "Find Portables by stock", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -270,7 +356,7 @@ public class PortableController {
      * @param maxPrice The maximum price.
      * @return A list of Portables within the given price range.
      */
-    @Operation(summary = "Find Portables by price range")
+    @Operation(summary = "Find Portables by price range", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -285,7 +371,7 @@ public class PortableController {
      * @param name The name to search for.
      * @return A list of Portables that match the name.
      */
-    @Operation(summary = "Find Portables by name")
+    @Operation(summary = "Find Portables by name", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -301,7 +387,7 @@ public class PortableController {
      *              radio.
      * @return A list of Portables that have a radio.
      */
-    @Operation(summary = "Find Portables with built-in radio")
+    @Operation(summary = "Find Portables with built-in radio", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -316,7 +402,7 @@ public class PortableController {
      * @param portableType The type of Portable.
      * @return A list of Portables that match the given type.
      */
-    @Operation(summary = "Find Portables by type")
+    @Operation(summary = "Find Portables by type", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -331,7 +417,7 @@ public class PortableController {
      * @param powerType The power type to search for.
      * @return A list of Portables that match the power type.
      */
-    @Operation(summary = "Find Portables by power type")
+    @Operation(summary = "Find Portables by power type", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -347,7 +433,7 @@ public class PortableController {
      * @return A list of Portables with battery life greater than or equal to the
      *         given value.
      */
-    @Operation(summary = "Find Portables by battery life")
+    @Operation(summary = "Find Portables by battery life", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -362,7 +448,7 @@ public class PortableController {
      * @param resistance The resistance type to search for.
      * @return A list of Portables that match the resistance type.
      */
-    @Operation(summary = "Find Portables by resistance type")
+    @Operation(summary = "Find Portables by resistance type", description = "Superseded by GET /portable/search, which combines any of these filters in one request", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Portables retrieved successfully")
     })
@@ -1,18 +1,35 @@
 package com.recordstore.controller;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.recordstore.model.Product;
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.ProductDTO;
+import com.recordstore.dto.ProductSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
+import com.recordstore.model.CatalogProjection;
+import com.recordstore.service.CatalogExportService;
 import com.recordstore.service.ProductService;
+import com.recordstore.stock.HotStock;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for managing products in the record store.
@@ -21,14 +38,28 @@ import java.util.Optional;
  * 
  * Endpoints:
  *  GET /products/all - Get all products
+ *  GET /products/export - Stream the whole catalog as NDJSON, optionally gzip-compressed
+ *  GET /products/page - Get products page by page using a keyset cursor
+ *  GET /products/search - Search products by any combination of attributes
+ *  GET /products/facets - Count products by every facet value
+ *  GET /products/facet-filter - Filter products by facet values using the in-memory index
+ *  GET /products/text-search - Full-text search over product names and artists, ranked by relevance
  *  GET /products/{id} - Get product by ID
  *  DELETE /products/{id} - Delete a product
+ *  GET /products/{id}/hot-stock - Get the in-memory stock of a product in flash-sale mode
+ *  PUT /products/{id}/hot-stock - Put a product in flash-sale mode
+ *  DELETE /products/{id}/hot-stock - Take a product out of flash-sale mode
  */
 @RestController
 @RequestMapping("/product")
 public class ProductController {
 
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final ProductService productService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogExportService catalogExportService;
+    private final HotStock hotStock;
 
     /**
      * Constructs a new {@code ProductController} with the specified product
@@ -36,22 +67,177 @@ public class ProductController {
      *
      * @param productService the service responsible for handling product-related
      *                       business logic.
+     * @param catalogVersions the catalog versions used to build the {@code ETag} of the listings.
+     * @param catalogExportService the service writing the NDJSON catalog export.
+     * @param hotStock the in-memory stock of the products in flash-sale mode.
      */
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogVersions catalogVersions,
+            CatalogExportService catalogExportService, HotStock hotStock) {
         this.productService = productService;
+        this.catalogVersions = catalogVersions;
+        this.catalogExportService = catalogExportService;
+        this.hotStock = hotStock;
     }
 
     /**
      * Retrieves a list of all available products.
+     * <p>
+     * The response carries an {@code ETag} that changes with any product of the catalog.
+     * </p>
      *
-     * @return a list containing all products in the store.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return a list containing all products in the store, or {@code 304 Not Modified} if the client copy is current.
      */
     @GetMapping ("/all")
     @Operation(summary = "Get all products", description = "Retrieves a list of all products available in the store.")
-    @ApiResponse(responseCode = "200", description = "List of products retrieved successfully")
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "List of products retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
+    public ResponseEntity<List<CatalogProjection>> getAllProducts(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.values()),
+                productService::getAllProducts);
+    }
+
+    /**
+     * Exports the whole catalog as NDJSON, one product per line with all the fields of its subtype.
+     * <p>
+     * The response is streamed while the products are read from the database, so it starts at once and
+     * the server memory does not depend on the size of the catalog.
+     * </p>
+     *
+     * @param gzip whether to compress the response with gzip ({@code Content-Encoding: gzip}).
+     * @return the streamed catalog.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export the catalog", description = "Streams every product as one JSON object per line, optionally gzip-compressed.")
+    @ApiResponse(responseCode = "200", description = "Catalog streamed successfully")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (!gzip) {
+            return response.body(catalogExportService::exportProducts);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            catalogExportService.exportProducts(compressed);
+            compressed.finish();
+        });
+    }
+
+    /**
+     * Endpoint to get one page of products using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of products per page.
+     * @return A {@link CatalogPageDTO} with the products and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of products", description = "Retrieves products page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<CatalogProjection>> getProductPage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(productService.getProductPage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search products by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /product/search?name=love&productCategory=ALBUM&productCategory=A_VINYL&inStock=true}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of products per page.
+     * @return A {@link CatalogPageDTO} with the matching products and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Filters products by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<CatalogProjection>> searchProducts(@ParameterObject ProductSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(productService.searchProducts(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the products matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /product/facets?productCategory=ALBUM&inStock=true} returns, for each enum and boolean attribute, how many of the
+     * matching products have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count products by facet", description = "Counts the matching products for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countProductsFacets(@ParameterObject ProductSearchDTO criteria) {
+        return ResponseEntity.ok(productService.countProductsFacets(criteria));
+    }
+
+    /**
+     * Endpoint to filter products by facet values using the in-memory facet index.
+     * <p>
+     * Example: {@code GET /product/facet-filter?facet=productCategory:A_VINYL&facet=genre:ROCK&facet=genre:BLUES}
+     * returns rock or blues vinyls. Values of the same attribute are combined with OR and different attributes with AND.
+     * </p>
+     *
+     * @param facets The facet filters, written as {@code attribute:value}.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of products per page.
+     * @return A {@link CatalogPageDTO} with the matching products, ordered by ID.
+     */
+    @GetMapping("/facet-filter")
+    @Operation(summary = "Filter products by facets", description = "Filters products by enum and boolean attributes without querying the database")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching products retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid facet filter or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<CatalogProjection>> filterByFacets(
+            @RequestParam(name = "facet", required = false) List<String> facets,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(productService.filterByFacets(facets, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search products by name or artist using the in-memory text index.
+     * <p>
+     * Example: {@code GET /product/text-search?q=beatles abey road} returns the albums of The Beatles,
+     * with "Abbey Road" first, even though the query is misspelled.
+     * </p>
+     *
+     * @param query The text to search for.
+     * @param limit The maximum number of products to return.
+     * @return The matching products, best match first.
+     */
+    @GetMapping("/text-search")
+    @Operation(summary = "Full-text search of products", description = "Searches product names and album artists, tolerating typos, and ranks the results by relevance")
+    @ApiResponse(responseCode = "200", description = "Matching products retrieved successfully")
+    public ResponseEntity<List<CatalogProjection>> textSearch(@RequestParam(name = "q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.textSearch(query, limit));
     }
 
     /**
@@ -64,7 +250,7 @@ public class ProductController {
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Retrieves a product by its unique ID")
     @ApiResponse(responseCode = "200", description = "Product found")
-    public Optional<Product> getProductById(@PathVariable Integer id) {
+    public Optional<ProductDTO> getProductById(@PathVariable Integer id) {
         return productService.getProductById(id);
     }
 
@@ -87,4 +273,51 @@ public class ProductController {
                     .body("An error occurred while deleting the product.");
         }
     }
+
+    /**
+     * Retrieves the units left in memory of a product in flash-sale mode.
+     *
+     * @param id the ID of the product.
+     * @return the units left, or 404 if the product is not in flash-sale mode.
+     */
+    @GetMapping("/{id}/hot-stock")
+    @Operation(summary = "Get the flash-sale stock of a product", description = "Returns the units left in memory of a product in flash-sale mode")
+    @ApiResponse(responseCode = "200", description = "Units left")
+    public ResponseEntity<Long> getHotStock(@PathVariable Integer id) {
+        Long units = hotStock.available(id);
+        return units == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(units);
+    }
+
+    /**
+     * Puts a product in flash-sale mode: its stock is loaded into memory and orders take their units from there.
+     * It should be done before the sale opens.
+     *
+     * @param id the ID of the product.
+     * @return the units loaded, or 404 if the product does not exist.
+     */
+    @PutMapping("/{id}/hot-stock")
+    @Operation(summary = "Put a product in flash-sale mode", description = "Holds the stock of a product in memory until the mode is turned off")
+    @ApiResponse(responseCode = "200", description = "Stock loaded into memory")
+    public ResponseEntity<Long> enableHotStock(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(hotStock.enable(id));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Takes a product out of flash-sale mode: the pending stock changes are written to the database, which holds the
+     * stock again.
+     *
+     * @param id the ID of the product.
+     * @return a 204 No Content response.
+     */
+    @DeleteMapping("/{id}/hot-stock")
+    @Operation(summary = "Take a product out of flash-sale mode", description = "Writes the in-memory stock back to the database")
+    @ApiResponse(responseCode = "204", description = "Flash-sale mode turned off")
+    public ResponseEntity<Void> disableHotStock(@PathVariable Integer id) {
+        hotStock.disable(id);
+        return ResponseEntity.noContent().build();
+    }
 }
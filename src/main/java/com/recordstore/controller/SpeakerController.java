@@ -1,14 +1,23 @@
 package com.recordstore.controller;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.SpeakerSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.SpeakerDTO;
 import com.recordstore.service.SpeakerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +27,9 @@ import java.util.Optional;
  * Provides endpoints for adding, updating, deleting, and retrieving speakers.
  * Endpoints:
  *  GET /speaker/all: Retrieve a list of all speakers.
+ *  GET /speaker/page: Retrieve speakers page by page using a keyset cursor.
+ *  GET /speaker/search: Search speakers by any combination of attributes.
+ *  GET /speaker/facets: Count speakers by every facet value.
  *  GET /speaker/{id}: Retrieve a specific speaker by its id.
  *  POST /speaker/new: Add a new speaker.
  *  PUT /speaker/{id}: Update an existing speaker's information.
@@ -31,27 +43,102 @@ public class SpeakerController {
      * The SpeakerService instance to handle business logic operations related to speakers.
      */
     private final SpeakerService speakerService;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Constructor to initialize the SpeakerController with the SpeakerService.
      * @param speakerService The SpeakerService instance to handle business logic operations
+     * @param catalogVersions The catalog versions used to build the {@code ETag} of the listings
      */
     @Autowired
-    public SpeakerController(SpeakerService speakerService) {
+    public SpeakerController(SpeakerService speakerService, CatalogVersions catalogVersions) {
         this.speakerService = speakerService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Fetch all speakers available in the store.
      *
-     * @return a ResponseEntity containing a list of all speakers in DTO format.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return a ResponseEntity containing a list of all speakers in DTO format, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Get all speakers", description = "Retrieve a list of all speakers available in the store.")
-    @ApiResponse(responseCode = "200", description = "List of speakers retrieved successfully")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "List of speakers retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
     @GetMapping ("/all")
-    public ResponseEntity<List<SpeakerDTO>> getAllSpeakers() {
-        List<SpeakerDTO> speakers = speakerService.getAllSpeakers();
-        return new ResponseEntity<>(speakers, HttpStatus.OK);
+    public ResponseEntity<List<SpeakerDTO>> getAllSpeakers(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.AE_SPEAKER),
+                speakerService::getAllSpeakers);
+    }
+
+    /**
+     * Endpoint to get one page of speakers using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of speakers per page.
+     * @return A {@link CatalogPageDTO} with the speakers and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of speakers", description = "Retrieves speakers page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of speakers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<SpeakerDTO>> getSpeakerPage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(speakerService.getSpeakerPage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search speakers by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /speaker/search?bluetooth=true&minPower=20&resistance=WATER}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of speakers per page.
+     * @return A {@link CatalogPageDTO} with the matching speakers and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search speakers", description = "Filters speakers by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching speakers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<SpeakerDTO>> searchSpeakers(@ParameterObject SpeakerSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(speakerService.searchSpeakers(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the speakers matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /speaker/facets?bluetooth=true} returns, for each enum and boolean attribute, how many of the
+     * matching speakers have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count speakers by facet", description = "Counts the matching speakers for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countSpeakersFacets(@ParameterObject SpeakerSearchDTO criteria) {
+        return ResponseEntity.ok(speakerService.countSpeakersFacets(criteria));
     }
 
     /**
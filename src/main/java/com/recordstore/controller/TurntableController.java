@@ -1,16 +1,26 @@
 package com.recordstore.controller;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.TurntableSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.TurntableDTO;
 import com.recordstore.model.Turntable;
 import com.recordstore.service.TurntableService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.List;
@@ -21,6 +31,9 @@ import java.util.Optional;
  * 
  * Endpoints:
  *  GET /turntable/all: Retrieves all turntables.
+ *  GET /turntable/page: Retrieves turntables page by page using a keyset cursor.
+ *  GET /turntable/search: Searches turntables by any combination of attributes.
+ *  GET /turntable/facets: Counts turntables by every facet value.
  *  GET /turntable/{id}: Retrieves a turntable by its ID.
  *  POST /turntable/new: Saves a new turntable.
  *  DELETE /turntable/{id}: Deletes a turntable by its ID.
@@ -35,26 +48,102 @@ public class TurntableController {
      * The TurntableService instance to handle business logic operations related to turntables.
      */
     private final TurntableService turntableService;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Constructor to initialize the TurntableController with the TurntableService.
      * @param turntableService
+     * @param catalogVersions The catalog versions used to build the {@code ETag} of the listings
      */
     @Autowired
-    public TurntableController(TurntableService turntableService) {
+    public TurntableController(TurntableService turntableService, CatalogVersions catalogVersions) {
         this.turntableService = turntableService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Retrieves all turntables.
      * 
-     * @return List of all turntables as DTOs.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of all turntables as DTOs, or {@code 304 Not Modified} if the client copy is current.
      */
     @Operation(summary = "Get all turntables", description = "Retrieves all turntables from the database.")
-    @ApiResponse(responseCode = "200", description = "Successful retrieval of turntables")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successful retrieval of turntables"),
+        @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
     @GetMapping("/all")
-    public ResponseEntity<List<TurntableDTO>> getAllTurntables() {
-        return ResponseEntity.ok(turntableService.getAllTurntables());
+    public ResponseEntity<List<TurntableDTO>> getAllTurntables(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.P_TURNTABLE),
+                turntableService::getAllTurntables);
+    }
+
+    /**
+     * Endpoint to get one page of turntables using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of turntables per page.
+     * @return A {@link CatalogPageDTO} with the turntables and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of turntables", description = "Retrieves turntables page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of turntables retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<TurntableDTO>> getTurntablePage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(turntableService.getTurntablePage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search turntables by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /turntable/search?traction=BELT_DRIVE&hasBuiltInPreAmp=true&maxPrice=500}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of turntables per page.
+     * @return A {@link CatalogPageDTO} with the matching turntables and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search turntables", description = "Filters turntables by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching turntables retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<TurntableDTO>> searchTurntables(@ParameterObject TurntableSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(turntableService.searchTurntables(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the turntables matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /turntable/facets?maxPrice=500} returns, for each enum and boolean attribute, how many of the
+     * matching turntables have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count turntables by facet", description = "Counts the matching turntables for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countTurntablesFacets(@ParameterObject TurntableSearchDTO criteria) {
+        return ResponseEntity.ok(turntableService.countTurntablesFacets(criteria));
     }
 
     /**
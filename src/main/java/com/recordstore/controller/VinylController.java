@@ -1,5 +1,12 @@
 package com.recordstore.controller;
 
+import com.recordstore.auxiliar.ConditionalGet;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.CatalogVersions;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.VinylSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.VinylDTO;
 import com.recordstore.mapper.VinylMapper;
 import com.recordstore.model.Vinyl;
@@ -11,10 +18,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import com.recordstore.enums.ALBUM_GENRE;
 import com.recordstore.enums.ALBUM_FORMAT;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +43,9 @@ import java.util.Optional;
  * </p>
  * <ul>
  * <li><b>GET /vinyl/all</b>: Retrieves all vinyls.</li>
+ * <li><b>GET /vinyl/page</b>: Retrieves vinyls page by page using a keyset cursor.</li>
+ * <li><b>GET /vinyl/search</b>: Searches vinyls by any combination of attributes.</li>
+ * <li><b>GET /vinyl/facets</b>: Counts vinyls by every facet value.</li>
  * <li><b>GET /vinyl/{id}</b>: Retrieves a vinyl by its ID.</li>
  * <li><b>GET /vinyl/artist/{artist}</b>: Retrieves vinyls by a specific artist.</li>
  * <li><b>GET /vinyl/genre/{genre}</b>: Retrieves vinyls by a specific genre.</li>
@@ -52,24 +64,98 @@ public class VinylController {
 
     private final VinylService vinylService;
     private final VinylMapper vinylMapper;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public VinylController(VinylService vinylService, VinylMapper vinylMapper) {
+    public VinylController(VinylService vinylService, VinylMapper vinylMapper, CatalogVersions catalogVersions) {
         this.vinylService = vinylService;
         this.vinylMapper = vinylMapper;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
      * Endpoint to get all vinyls.
      *
-     * @return List of all vinyls in {@link VinylDTO} format.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of all vinyls in {@link VinylDTO} format, or {@code 304 Not Modified} if the client copy is current.
      */
     @GetMapping("/all")
     @Operation(summary = "Get all vinyls", description = "Retrieves a list of all vinyls")
-    @ApiResponse(responseCode = "200", description = "List of vinyls retrieved successfully")   
-    public ResponseEntity<List<VinylDTO>> getAllVinyls() {
-        List<VinylDTO> vinyls = vinylService.getAllVinyls();
-        return ResponseEntity.ok(vinyls);
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "List of vinyls retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "The list has not changed since the given ETag")
+    })
+    public ResponseEntity<List<VinylDTO>> getAllVinyls(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.A_VINYL),
+                vinylService::getAllVinyls);
+    }
+
+    /**
+     * Endpoint to get one page of vinyls using keyset pagination.
+     *
+     * @param sort   The sort key of the listing (PRICE, YEAR or NAME).
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size   The number of vinyls per page.
+     * @return A {@link CatalogPageDTO} with the vinyls and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of vinyls", description = "Retrieves vinyls page by page using an opaque cursor instead of an offset")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of vinyls retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<VinylDTO>> getVinylPage(@RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(vinylService.getVinylPage(sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to search vinyls by any combination of attributes in a single request.
+     * <p>
+     * Example: {@code GET /vinyl/search?genre=JAZZ&vinylSize=S_12&rpm=RPM_33&inStock=true}
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, omitted for the first page.
+     * @param size     The number of vinyls per page.
+     * @return A {@link CatalogPageDTO} with the matching vinyls and the cursor of the next page.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search vinyls", description = "Filters vinyls by any combination of attributes and ranges in one query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching vinyls retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria, sort key or cursor")
+    })
+    public ResponseEntity<CatalogPageDTO<VinylDTO>> searchVinyls(@ParameterObject VinylSearchDTO criteria,
+            @RequestParam(defaultValue = "PRICE") CATALOG_SORT sort,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(vinylService.searchVinyls(criteria, sort, cursor, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to count the vinyls matching a filter for every value of every facet attribute.
+     * <p>
+     * Example: {@code GET /vinyl/facets?genre=JAZZ&inStock=true} returns, for each enum and boolean attribute, how many of the
+     * matching vinyls have each value, so a category sidebar can be rendered with a single request.
+     * </p>
+     *
+     * @param criteria The search criteria, bound from the query string; criteria left empty are ignored.
+     * @return A {@link FacetCountsDTO} with the total and the count of every facet value.
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Count vinyls by facet", description = "Counts the matching vinyls for every value of every enum and boolean attribute in one query")
+    @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully")
+    public ResponseEntity<FacetCountsDTO> countVinylsFacets(@ParameterObject VinylSearchDTO criteria) {
+        return ResponseEntity.ok(vinylService.countVinylsFacets(criteria));
     }
 
     /**
@@ -128,7 +214,9 @@ public class VinylController {
      * Endpoint to get vinyls by genre.
      *
      * @param genre The genre of the vinyls.
-     * @return List of vinyls with the specified genre in {@link VinylDTO} format.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of vinyls with the specified genre in {@link VinylDTO} format, or {@code 304 Not Modified} if
+     *         the client copy is current.
      */
     @GetMapping("/genre/{genre}")
     @Operation(summary = "Get vinyls by genre", description = "Returns vinyls filtered by genre")
@@ -136,16 +224,18 @@ public class VinylController {
         @ApiResponse(responseCode = "200", description = "Vinyls found"),
         @ApiResponse(responseCode = "404", description = "Vinyls not found")
     })
-    public ResponseEntity<List<VinylDTO>> getVinylsByGenre(@PathVariable ALBUM_GENRE genre) {
-        List<VinylDTO> vinyls = vinylService.getVinylsByGenre(genre);
-        return ResponseEntity.ok(vinyls);
+    public ResponseEntity<List<VinylDTO>> getVinylsByGenre(@PathVariable ALBUM_GENRE genre, WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.A_VINYL),
+                () -> vinylService.getVinylsByGenre(genre));
     }
 
     /**
      * Endpoint to get vinyls by format.
      *
      * @param format The format of the vinyls.
-     * @return List of vinyls with the specified format in {@link VinylDTO} format.
+     * @param request The current request, used to read its {@code If-None-Match} header.
+     * @return List of vinyls with the specified format in {@link VinylDTO} format, or {@code 304 Not Modified} if
+     *         the client copy is current.
      */
     @GetMapping("/format/{format}")
     @Operation(summary = "Get vinyls by format", description = "Returns vinyls filtered by format")
@@ -153,9 +243,9 @@ public class VinylController {
         @ApiResponse(responseCode = "200", description = "Vinyls found"),
         @ApiResponse(responseCode = "404", description = "Vinyls not found")
     })
-    public ResponseEntity<List<VinylDTO>> getVinylsByFormat(@PathVariable ALBUM_FORMAT format) {
-        List<VinylDTO> vinyls = vinylService.getVinylsByFormat(format);
-        return ResponseEntity.ok(vinyls);
+    public ResponseEntity<List<VinylDTO>> getVinylsByFormat(@PathVariable ALBUM_FORMAT format, WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, catalogVersions.etag(PRODUCT_CATEGORY.A_VINYL),
+                () -> vinylService.getVinylsByFormat(format));
     }
 
     /**
@@ -179,19 +269,23 @@ public class VinylController {
     /**
      * Endpoint to get vinyls within a specific duration range.
      *
-     * @param minDuration The minimum duration.
-     * @param maxDuration The maximum duration.
+     * @param minDuration The minimum duration ("mm:ss" or "h:mm:ss").
+     * @param maxDuration The maximum duration ("mm:ss" or "h:mm:ss").
      * @return List of vinyls within the specified duration range in {@link VinylDTO} format.
      */
     @GetMapping("/duration-range")
-    @Operation(summary = "Get vinyls by duration range", description = "Returns vinyls within the specified duration range")
+    @Operation(summary = "Get vinyls by duration range", description = "Returns vinyls within the specified duration range (mm:ss or h:mm:ss)")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Vinyls found"),
+        @ApiResponse(responseCode = "400", description = "Invalid duration"),
         @ApiResponse(responseCode = "404", description = "Vinyls not found")
     })
     public ResponseEntity<List<VinylDTO>> getVinylsByDuration(@RequestParam String minDuration, @RequestParam String maxDuration) {
-        List<VinylDTO> vinyls = vinylService.getVinylsByDuration(minDuration, maxDuration);
-        return ResponseEntity.ok(vinyls);
+        try {
+            return ResponseEntity.ok(vinylService.getVinylsByDuration(minDuration, maxDuration));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.recordstore.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.recordstore.dto.WaitingRoomTicketDTO;
+import com.recordstore.waitingroom.WaitingRoom;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for the virtual waiting rooms of limited releases.
+ *
+ * <p>This controller interacts with {@link com.recordstore.waitingroom.WaitingRoom}; while the room of a product is
+ * open, {@code POST /orders/new} only accepts orders with it whose {@code X-Queue-Token} header holds an admitted
+ * token.</p>
+ *
+ * <p><b>Available endpoints:</b></p>
+ * <ul>
+ *   <li><b>POST /waiting-room/{productId}/join</b>: Joins the queue and returns a signed token.</li>
+ *   <li><b>GET /waiting-room/{productId}/status</b>: Returns the position of a token in the queue.</li>
+ *   <li><b>PUT /waiting-room/{productId}</b>: Opens the waiting room of a product, or changes its rate.</li>
+ *   <li><b>DELETE /waiting-room/{productId}</b>: Closes the waiting room of a product.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/waiting-room")
+@Tag(name = "Waiting room", description = "Endpoints for queueing buyers of limited releases")
+public class WaitingRoomController {
+
+    private final WaitingRoom waitingRoom;
+
+    /**
+     * Constructs a WaitingRoomController with the waiting rooms.
+     *
+     * @param waitingRoom the waiting rooms of the products
+     */
+    @Autowired
+    public WaitingRoomController(WaitingRoom waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
+    /**
+     * Joins the queue of a product.
+     *
+     * @param productId the ID of the product
+     * @return the signed token and its position, or 404 if the product has no open waiting room
+     */
+    @Operation(summary = "Join the waiting room of a product", description = "Returns a signed queue token and its position.")
+    @PostMapping("/{productId}/join")
+    public ResponseEntity<WaitingRoomTicketDTO> join(@PathVariable Integer productId) {
+        try {
+            return ResponseEntity.ok(waitingRoom.join(productId));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Returns the position of a token in the queue of a product.
+     *
+     * @param productId the ID of the product
+     * @param token the token returned when joining
+     * @return the token and its position, or 400 if the room is closed or the token is not valid for it
+     */
+    @Operation(summary = "Get the position of a queue token", description = "Returns the position of a token; 0 means admitted.")
+    @GetMapping("/{productId}/status")
+    public ResponseEntity<WaitingRoomTicketDTO> status(@PathVariable Integer productId, @RequestParam String token) {
+        try {
+            return ResponseEntity.ok(waitingRoom.status(productId, token));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Opens the waiting room of a product, or changes its admission rate.
+     *
+     * @param productId the ID of the product
+     * @param admissionsPerSecond the checkouts admitted per second; the configured default if omitted
+     * @return a 204 No Content response, or 400 if the rate is not positive
+     */
+    @Operation(summary = "Open a waiting room", description = "Opens the waiting room of a product or changes its admission rate.")
+    @ApiResponse(responseCode = "204", description = "Waiting room open")
+    @PutMapping("/{productId}")
+    public ResponseEntity<Void> open(@PathVariable Integer productId,
+            @RequestParam(required = false) Double admissionsPerSecond) {
+        try {
+            waitingRoom.open(productId, admissionsPerSecond);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Closes the waiting room of a product.
+     *
+     * @param productId the ID of the product
+     * @return a 204 No Content response
+     */
+    @Operation(summary = "Close a waiting room", description = "Closes the waiting room of a product; its tokens become invalid.")
+    @ApiResponse(responseCode = "204", description = "Waiting room closed")
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> close(@PathVariable Integer productId) {
+        waitingRoom.close(productId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for albums.
+ * <p>
+ * Extends {@link ProductSearchDTO} with the attributes of {@link com.recordstore.model.Album}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /album/search?genre=ROCK&amp;genre=BLUES&amp;minYear=1965&amp;maxYear=1975
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class AlbumSearchDTO extends ProductSearchDTO {
+
+    private String artist;
+    private List<ALBUM_GENRE> genre;
+    private List<ALBUM_FORMAT> format;
+    private Integer minYear;
+    private Integer maxYear;
+}
@@ -0,0 +1,30 @@
+package com.recordstore.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria shared by audio equipment.
+ * <p>
+ * Extends {@link ProductSearchDTO} with the attributes of {@link com.recordstore.model.AudioEquipment}.
+ * </p>
+ *
+ * @see HeadphoneSearchDTO
+ * @see SpeakerSearchDTO
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class AudioEquipmentSearchDTO extends ProductSearchDTO {
+
+    private String brand;
+    private String color;
+    private Integer minBatteryLife;
+    private Integer minWarranty;
+    private Boolean microphoneBuiltIn;
+    private Boolean wireless;
+    private Boolean bluetooth;
+    private Boolean usb;
+    private Boolean aux;
+}
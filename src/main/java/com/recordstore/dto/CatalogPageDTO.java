@@ -0,0 +1,34 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that represents one page of a catalog listing.
+ * <p>
+ * Pages are produced with keyset pagination: instead of a page number, each page carries an
+ * opaque {@code nextCursor} token that must be sent back to obtain the following page.
+ * No total count is computed, so every page costs the same regardless of its position.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /vinyl/page?sort=PRICE&amp;size=20
+ * GET /vinyl/page?sort=PRICE&amp;size=20&amp;cursor={nextCursor}
+ * </pre>
+ *
+ * @param <T> The type of the items contained in the page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
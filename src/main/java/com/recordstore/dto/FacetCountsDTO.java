@@ -0,0 +1,37 @@
+package com.recordstore.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) returned by the {@code /facets} endpoints.
+ * <p>
+ * Holds the number of products matching the current filter and, for every facet attribute of the category,
+ * the number of those products that have each value. Every enum constant (or {@code true}/{@code false}) is
+ * present, with a count of zero when no product has it, so a sidebar can be rendered from a single response.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /vinyl/facets?genre=ROCK
+ * {
+ *   "total": 12,
+ *   "facets": {
+ *     "format": { "LP": 9, "EP": 3, "CD": 0, ... },
+ *     "size":   { "S_7": 3, "S_10": 0, "S_12": 9 },
+ *     ...
+ *   }
+ * }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsDTO {
+
+    private long total;
+    private Map<String, Map<String, Long>> facets;
+}
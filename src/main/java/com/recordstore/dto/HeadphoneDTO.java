@@ -1,5 +1,6 @@
 package com.recordstore.dto;
 
+import com.recordstore.auxiliar.Money;
 import com.recordstore.enums.HEADPHONES_TYPE;
 import com.recordstore.enums.NOISE_CANCELING;
 
@@ -42,4 +43,43 @@ public class HeadphoneDTO extends AudioEquipmentDTO {
     private Boolean wireless;
     private HEADPHONES_TYPE headphonesType;
     private NOISE_CANCELING anc;
+
+    /**
+     * Constructor with every mapped field, used by the {@code SELECT new} queries of
+     * {@link com.recordstore.repository.HeadphoneRepository} to read headphones directly as DTOs.
+     * It produces the same DTO as {@link com.recordstore.mapper.HeadphoneMapper#toDTO}.
+     *
+     * @param id                The product ID.
+     * @param name              The name of the headphones.
+     * @param priceCents        The price of the headphones, in cents.
+     * @param stock             The available stock.
+     * @param brand             The brand.
+     * @param color             The color.
+     * @param batteryLife       The battery life in hours.
+     * @param warranty          The warranty in months.
+     * @param microphoneBuiltIn Whether they have a built-in microphone.
+     * @param wireless          Whether they are wireless.
+     * @param bluetooth         Whether they have Bluetooth.
+     * @param aux               Whether they have an aux input.
+     * @param headphonesType    The type of headphones.
+     * @param anc               The noise canceling type.
+     */
+    public HeadphoneDTO(Integer id, String name, Long priceCents, Integer stock, String brand, String color,
+            Integer batteryLife, Integer warranty, Boolean microphoneBuiltIn, Boolean wireless, Boolean bluetooth,
+            Boolean aux, HEADPHONES_TYPE headphonesType, NOISE_CANCELING anc) {
+        setId(id);
+        setName(name);
+        setPrice(Money.fromCents(priceCents));
+        setStock(stock);
+        setBrand(brand);
+        setColor(color);
+        setBatteryLife(batteryLife);
+        setWarranty(warranty);
+        setMicrophoneBuiltIn(microphoneBuiltIn);
+        setWireless(wireless);
+        setBluetooth(bluetooth);
+        setAux(aux);
+        this.headphonesType = headphonesType;
+        this.anc = anc;
+    }
 }
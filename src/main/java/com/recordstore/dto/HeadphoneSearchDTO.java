@@ -0,0 +1,30 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.HEADPHONES_TYPE;
+import com.recordstore.enums.NOISE_CANCELING;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for headphones.
+ * <p>
+ * Extends {@link AudioEquipmentSearchDTO} with the attributes of {@link com.recordstore.model.Headphone}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /headphone/search?wireless=true&amp;anc=ACTIVE&amp;anc=ACTIVE_AND_PASSIVE&amp;headphoneType=OVER_EAR
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class HeadphoneSearchDTO extends AudioEquipmentSearchDTO {
+
+    private List<HEADPHONES_TYPE> headphoneType;
+    private List<NOISE_CANCELING> anc;
+}
@@ -0,0 +1,33 @@
+package com.recordstore.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for players.
+ * <p>
+ * Extends {@link ProductSearchDTO} with the attributes of {@link com.recordstore.model.Player}.
+ * The connectivity flags only restrict the result when they are set.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /player/search?bluetooth=true&amp;usb=true&amp;minWarranty=12
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class PlayerSearchDTO extends ProductSearchDTO {
+
+    private String brand;
+    private String color;
+    private Integer minWarranty;
+    private Boolean bluetooth;
+    private Boolean usb;
+    private Boolean radio;
+    private Boolean aux;
+    private Boolean rca;
+    private Boolean builtInSpeaker;
+}
@@ -1,6 +1,8 @@
 package com.recordstore.dto;
 
+import com.recordstore.auxiliar.Money;
 import com.recordstore.enums.PORTABLE_TYPE;
+import com.recordstore.enums.PRODUCT_CATEGORY;
 import com.recordstore.enums.POWER_TYPE;
 import com.recordstore.enums.RESISTANCE;
 
@@ -44,4 +46,44 @@ public class PortableDTO extends PlayerDTO {
     private POWER_TYPE powerType;
     private int batteryLife; // In hours
     private RESISTANCE resistance;
+
+    /**
+     * Constructor with every field, used by the {@code SELECT new} queries of
+     * {@link com.recordstore.repository.PortableRepository} to read portables directly as DTOs.
+     * It produces the same DTO as {@link com.recordstore.mapper.PortableMapper#toDTO}.
+     *
+     * @param id              The product ID.
+     * @param name            The name of the portable.
+     * @param priceCents      The price of the portable, in cents.
+     * @param stock           The available stock.
+     * @param productCategory The product category.
+     * @param brand           The brand.
+     * @param color           The color.
+     * @param warranty        The warranty in months.
+     * @param bluetooth       Whether it has Bluetooth.
+     * @param usb             Whether it has a USB port.
+     * @param radio           Whether it has a radio.
+     * @param aux             Whether it has an aux port.
+     * @param rca             Whether it has RCA outputs.
+     * @param builtInSpeaker  Whether it has a built-in speaker.
+     * @param portableType    The type of portable player.
+     * @param powerType       The power type.
+     * @param batteryLife     The battery life in hours, or {@code null} if unknown.
+     * @param resistance      The resistance rating.
+     */
+    public PortableDTO(Integer id, String name, Long priceCents, Integer stock, PRODUCT_CATEGORY productCategory,
+            String brand, String color, Integer warranty, Boolean bluetooth, Boolean usb, Boolean radio, Boolean aux,
+            Boolean rca, Boolean builtInSpeaker, PORTABLE_TYPE portableType, POWER_TYPE powerType, Integer batteryLife,
+            RESISTANCE resistance) {
+        super(brand, color, warranty, bluetooth, usb, radio, aux, rca, builtInSpeaker);
+        setId(id);
+        setName(name);
+        setPrice(Money.fromCents(priceCents));
+        setStock(stock);
+        setProductCategory(productCategory);
+        this.portableType = portableType;
+        this.powerType = powerType;
+        this.batteryLife = batteryLife == null ? 0 : batteryLife;
+        this.resistance = resistance;
+    }
 }
@@ -0,0 +1,33 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.PORTABLE_TYPE;
+import com.recordstore.enums.POWER_TYPE;
+import com.recordstore.enums.RESISTANCE;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for portable players.
+ * <p>
+ * Extends {@link PlayerSearchDTO} with the attributes of {@link com.recordstore.model.Portable}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /portable/search?bluetooth=true&amp;portableType=CD&amp;minBatteryLife=10&amp;resistance=WATER
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class PortableSearchDTO extends PlayerSearchDTO {
+
+    private List<PORTABLE_TYPE> portableType;
+    private List<POWER_TYPE> powerType;
+    private Integer minBatteryLife;
+    private List<RESISTANCE> resistance;
+}
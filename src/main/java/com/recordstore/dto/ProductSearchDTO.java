@@ -0,0 +1,34 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.PRODUCT_CATEGORY;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria accepted by the {@code /search} endpoints.
+ * <p>
+ * Every field is optional: a {@code null} field does not restrict the result, and all the fields that are set
+ * are combined with {@code AND}. List fields are combined with {@code OR} (SQL {@code IN}), so
+ * {@code ?productCategory=ALBUM&productCategory=A_VINYL} matches both categories.
+ * </p>
+ *
+ * This class holds the criteria common to every product; the subclasses add the attributes of each category.
+ *
+ * Example of use:
+ * <pre>
+ * GET /product/search?name=abbey&amp;minPrice=10&amp;maxPrice=30&amp;inStock=true
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class ProductSearchDTO {
+
+    private String name;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean inStock;
+    private List<PRODUCT_CATEGORY> productCategory;
+}
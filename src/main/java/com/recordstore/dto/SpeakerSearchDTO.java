@@ -0,0 +1,33 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.POWER_TYPE;
+import com.recordstore.enums.RESISTANCE;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for speakers.
+ * <p>
+ * Extends {@link AudioEquipmentSearchDTO} with the attributes of {@link com.recordstore.model.Speaker}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /speaker/search?bluetooth=true&amp;minPower=20&amp;resistance=WATER
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class SpeakerSearchDTO extends AudioEquipmentSearchDTO {
+
+    private Boolean radio;
+    private Integer minPower;
+    private Integer maxPower;
+    private List<POWER_TYPE> powerType;
+    private List<RESISTANCE> resistance;
+}
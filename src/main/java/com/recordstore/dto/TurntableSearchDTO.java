@@ -0,0 +1,33 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.MECHANISM;
+import com.recordstore.enums.TRACTION;
+import com.recordstore.enums.VINYL_RPM;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for turntables.
+ * <p>
+ * Extends {@link PlayerSearchDTO} with the attributes of {@link com.recordstore.model.Turntable}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /turntable/search?hasBuiltInPreAmp=true&amp;traction=BELT_DRIVE&amp;mechanism=AUTOMATIC
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class TurntableSearchDTO extends PlayerSearchDTO {
+
+    private Boolean hasBuiltInPreAmp;
+    private List<VINYL_RPM> rpm;
+    private List<TRACTION> traction;
+    private List<MECHANISM> mechanism;
+}
@@ -1,5 +1,9 @@
 package com.recordstore.dto;
 
+import com.recordstore.auxiliar.Money;
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.PRODUCT_CATEGORY;
 import com.recordstore.enums.VINYL_RPM;
 import com.recordstore.enums.VINYL_SIZE;
 
@@ -37,4 +41,39 @@ public class VinylDTO extends AlbumDTO {
     private VINYL_SIZE size;
     private VINYL_RPM rpm;
     private String color;
+
+    /**
+     * Constructor with every field, used by the {@code SELECT new} queries of
+     * {@link com.recordstore.repository.VinylRepository} to read vinyls directly as DTOs.
+     * It produces the same DTO as {@link com.recordstore.mapper.VinylMapper#toDTO}.
+     *
+     * @param id       The product ID.
+     * @param name     The name of the vinyl.
+     * @param priceCents The price of the vinyl, in cents.
+     * @param stock    The available stock.
+     * @param artist   The artist of the album.
+     * @param year     The release year, or {@code null} if unknown.
+     * @param format   The album format.
+     * @param genre    The album genre.
+     * @param duration The duration in "mm:ss" format.
+     * @param size     The vinyl size.
+     * @param rpm      The vinyl speed.
+     * @param color    The vinyl color.
+     */
+    public VinylDTO(Integer id, String name, Long priceCents, Integer stock, String artist, Integer year,
+            ALBUM_FORMAT format, ALBUM_GENRE genre, String duration, VINYL_SIZE size, VINYL_RPM rpm, String color) {
+        setId(id);
+        setName(name);
+        setPrice(Money.fromCents(priceCents));
+        setStock(stock);
+        setProductCategory(PRODUCT_CATEGORY.A_VINYL);
+        setArtist(artist);
+        setYear(year == null ? 0 : year);
+        setFormat(format);
+        setGenre(genre);
+        setDuration(duration);
+        this.size = size;
+        this.rpm = rpm;
+        this.color = color;
+    }
 }
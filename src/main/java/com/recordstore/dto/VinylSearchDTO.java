@@ -0,0 +1,32 @@
+package com.recordstore.dto;
+
+import java.util.List;
+
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) that holds the filter criteria for vinyls.
+ * <p>
+ * Extends {@link AlbumSearchDTO} with the attributes of {@link com.recordstore.model.Vinyl}. The size filter is
+ * bound as {@code vinylSize}, since {@code size} is the page size of the listings.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * GET /vinyl/search?genre=JAZZ&amp;vinylSize=S_12&amp;rpm=RPM_33&amp;maxPrice=40
+ * </pre>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class VinylSearchDTO extends AlbumSearchDTO {
+
+    private List<VINYL_SIZE> vinylSize;
+    private List<VINYL_RPM> rpm;
+    private String color;
+}
@@ -0,0 +1,35 @@
+package com.recordstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) returned by the {@code /waiting-room} endpoints.
+ * <p>
+ * Holds the signed queue token of a buyer and its place in the queue. Once {@code admitted}, the token is sent in
+ * the {@code X-Queue-Token} header of {@code POST /orders/new}; until then, the client polls the status again after
+ * {@code retryAfterSeconds}.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * POST /waiting-room/42/join
+ * {
+ *   "token": "NDIuLTczNjEuMTIzLjE3NjA2MDAwMDA.q8Xv...",
+ *   "position": 123,
+ *   "admitted": false,
+ *   "retryAfterSeconds": 3
+ * }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomTicketDTO {
+
+    private String token;
+    private long position;
+    private boolean admitted;
+    private long retryAfterSeconds;
+}
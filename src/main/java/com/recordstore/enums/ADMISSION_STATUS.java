@@ -0,0 +1,33 @@
+package com.recordstore.enums;
+
+/**
+ * Enum that represents the outcome of checking a checkout against the waiting rooms of its products.
+ * This enum is used by {@link com.recordstore.waitingroom.WaitingRoom} to tell {@code POST /orders/new} whether
+ * the order may be placed.
+ *
+ * Available statuses include:
+ * <ul>
+ *   <li>NOT_REQUIRED - No product of the order has an open waiting room.</li>
+ *   <li>ADMITTED - The queue token has reached the front of the queue and was not used before.</li>
+ *   <li>WAITING - The queue token is valid but has not been admitted yet.</li>
+ *   <li>REJECTED - The token is missing, invalid, expired, already used or for another waiting room.</li>
+ * </ul>
+ *
+ * Example usage:
+ * <pre>
+ * if (admission.status() == ADMISSION_STATUS.WAITING) { ... }
+ * </pre>
+ */
+public enum ADMISSION_STATUS {
+    /** No product of the order has an open waiting room */
+    NOT_REQUIRED,
+
+    /** The queue token has been admitted and may place the order */
+    ADMITTED,
+
+    /** The queue token is still waiting for its turn */
+    WAITING,
+
+    /** The queue token is missing, invalid, expired or already used */
+    REJECTED
+}
@@ -0,0 +1,74 @@
+package com.recordstore.enums;
+
+import com.recordstore.model.Album;
+
+/**
+ * Enumeration of the sort keys supported by the paginated catalog endpoints.
+ * <p>
+ * Every catalog page is ordered by the selected key and then by the product ID, so that
+ * the pair (key, ID) is unique and can be used as a keyset cursor to resume the listing.
+ * </p>
+ * <ul>
+ *   <li><b>PRICE</b>: Sorted by price, cheapest first.</li>
+ *   <li><b>YEAR</b>: Sorted by release year, oldest first. Only available for {@link Album} and its subclasses.</li>
+ *   <li><b>NAME</b>: Sorted alphabetically by name.</li>
+ * </ul>
+ *
+ * Example usage:
+ * <pre>
+ * GET /vinyl/page?sort=YEAR&amp;size=20
+ * </pre>
+ */
+public enum CATALOG_SORT {
+    /** Sorted by price */
+    PRICE("priceCents"),
+
+    /** Sorted by release year (albums and vinyls only) */
+    YEAR("year"),
+
+    /** Sorted by name */
+    NAME("name");
+
+    private final String property;
+
+    CATALOG_SORT(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Returns the entity property used as the sort key.
+     *
+     * @return The name of the entity property.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Checks whether this sort key can be applied to the given entity type.
+     *
+     * @param type The entity type being paginated.
+     * @return {@code true} if the entity type has the sort property.
+     */
+    public boolean isApplicableTo(Class<?> type) {
+        return this != YEAR || Album.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Converts the textual value stored in a cursor back into the type of the sort property.
+     *
+     * @param value The textual value of the sort key.
+     * @return The value converted to the type of the sort property.
+     * @throws IllegalArgumentException If the value cannot be converted.
+     */
+    public Object parseKey(String value) {
+        switch (this) {
+            case PRICE:
+                return Long.valueOf(value);
+            case YEAR:
+                return Integer.valueOf(value);
+            default:
+                return value;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.recordstore.enums;
+
+/**
+ * Enum that represents the kinds of change that can happen to a {@link com.recordstore.model.Product}.
+ * It is carried by {@link com.recordstore.event.ProductChangedEvent} so that the in-memory read models
+ * (indexes, caches, catalog versions) can keep themselves in sync with the database.
+ *
+ * <ul>
+ *   <li>SAVED - The product was inserted or updated.</li>
+ *   <li>DELETED - The product was removed.</li>
+ *   <li>STOCK - Only the stock of the product changed (orders, flash-sale writes); read models that do not show
+ *       the stock can ignore it.</li>
+ * </ul>
+ */
+public enum PRODUCT_CHANGE {
+    /** The product was inserted or updated */
+    SAVED,
+
+    /** The product was removed */
+    DELETED,
+
+    /** Only the stock of the product changed */
+    STOCK
+}
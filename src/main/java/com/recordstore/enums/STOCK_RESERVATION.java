@@ -0,0 +1,29 @@
+package com.recordstore.enums;
+
+/**
+ * Enum that represents the outcome of reserving units of a product in its in-memory stock.
+ * This enum is used by {@link com.recordstore.stock.HotStock} to tell the checkout whether the units were taken, or
+ * whether they must be reserved in the database instead.
+ *
+ * Available outcomes include:
+ * <ul>
+ *   <li>RESERVED - The units were taken from the in-memory stock.</li>
+ *   <li>NOT_ENOUGH - The product is in flash-sale mode but has fewer units left.</li>
+ *   <li>NOT_HOT - The product is not in flash-sale mode; its stock is in the database.</li>
+ * </ul>
+ *
+ * Example usage:
+ * <pre>
+ * if (hotStock.reserve(productId, 2) == STOCK_RESERVATION.NOT_HOT) { ... }
+ * </pre>
+ */
+public enum STOCK_RESERVATION {
+    /** The units were taken from the in-memory stock */
+    RESERVED,
+
+    /** The product has fewer units left in memory */
+    NOT_ENOUGH,
+
+    /** The product is not in flash-sale mode */
+    NOT_HOT
+}
@@ -0,0 +1,52 @@
+package com.recordstore.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.recordstore.CacheConfig;
+
+/**
+ * Evicts a product from every product cache when a change to it is committed.
+ * <p>
+ * The {@code @CacheEvict} annotations of the services only evict the cache of their own category, while the same
+ * product may also be cached as a product, album or player, and stock is also changed by orders. Listening to
+ * {@link ProductChangedEvent} covers every write path.
+ * </p>
+ */
+@Component
+public class ProductCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor for the evictor that injects the cache manager.
+     *
+     * @param cacheManager The cache manager holding the product caches.
+     */
+    @Autowired
+    public ProductCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts the changed product from every product cache.
+     *
+     * @param event The product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Integer id = event.getProduct().getId();
+        if (id == null) {
+            return;
+        }
+        for (String name : CacheConfig.PRODUCT_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(id);
+            }
+        }
+    }
+}
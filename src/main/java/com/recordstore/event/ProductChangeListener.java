@@ -0,0 +1,56 @@
+package com.recordstore.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.model.Product;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns the lifecycle callbacks of {@link Product} into {@link ProductChangedEvent}s.
+ * <p>
+ * It is registered on {@link Product} with {@code @EntityListeners}, so it also applies to every subclass.
+ * Hibernate obtains it from the Spring context, which allows constructor injection.
+ * </p>
+ */
+@Component
+public class ProductChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * Constructor for the listener that injects the event publisher.
+     *
+     * @param publisher The publisher used to broadcast the changes.
+     */
+    @Autowired
+    public ProductChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Publishes a {@link PRODUCT_CHANGE#SAVED} event after a product is inserted or updated.
+     *
+     * @param product The product that was written.
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        publisher.publishEvent(new ProductChangedEvent(product, PRODUCT_CHANGE.SAVED));
+    }
+
+    /**
+     * Publishes a {@link PRODUCT_CHANGE#DELETED} event after a product is removed.
+     *
+     * @param product The product that was removed.
+     */
+    @PostRemove
+    public void onRemove(Product product) {
+        publisher.publishEvent(new ProductChangedEvent(product, PRODUCT_CHANGE.DELETED));
+    }
+}
@@ -0,0 +1,35 @@
+package com.recordstore.event;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.model.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Application event published every time a {@link Product} (of any subtype) is inserted, updated or deleted.
+ * <p>
+ * The event is raised by {@link ProductChangeListener} from the JPA lifecycle callbacks, so it covers every
+ * write path (services, seeders, cascades). Writes that only change the stock with a bulk {@code UPDATE}
+ * (orders, flash-sale writes) publish a {@link PRODUCT_CHANGE#STOCK} event themselves. Consumers should listen with
+ * {@code @TransactionalEventListener} so they only see changes that were actually committed.
+ * </p>
+ *
+ * Example of use:
+ * <pre>
+ * &#64;TransactionalEventListener(fallbackExecution = true)
+ * public void onProductChanged(ProductChangedEvent event) { ... }
+ * </pre>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    /** The product that changed, with the state it had when the change was flushed. */
+    private final Product product;
+
+    /** The kind of change. */
+    private final PRODUCT_CHANGE change;
+}
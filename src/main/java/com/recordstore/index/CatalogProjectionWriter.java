@@ -0,0 +1,113 @@
+package com.recordstore.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.event.ProductChangedEvent;
+import com.recordstore.model.CatalogProjection;
+import com.recordstore.model.Product;
+
+/**
+ * Keeps the {@link CatalogProjection} table in sync with the product tables.
+ * <p>
+ * The whole table is rebuilt with a single {@code INSERT ... SELECT} when the application starts, and every
+ * committed {@link ProductChangedEvent} is then applied as an upsert or a delete of one row (or, for a stock-only
+ * change, an update of its stock). The writes run in
+ * their own transaction, after the product transaction has committed, so the product rows are no longer locked
+ * and a failed projection write cannot roll the product change back.
+ * </p>
+ * <p>
+ * An event only says which product changed: the row is read again from the product tables by the write itself,
+ * after locking the projection row. Writes of concurrent changes to one product may run in any order, but each
+ * one copies the product as committed when it runs, so the last one always leaves the current values. The write
+ * runs synchronously on the thread that committed the product change, so a client reads its own write from the
+ * listings right after the request returns.
+ * </p>
+ */
+@Component
+public class CatalogProjectionWriter {
+
+    private static final String COLUMNS =
+            "(id, name, price_cents, stock, product_category, artist, release_year, genre, format, brand, color)";
+
+    private static final String SELECT = """
+            SELECT p.id, p.name, p.price_cents, p.stock, p.product_category,
+                   a.artist, a.release_year, a.genre, a.format,
+                   COALESCE(pl.brand, ae.brand), COALESCE(v.color, pl.color, ae.color)
+            FROM products p
+            LEFT JOIN album a ON a.id = p.id
+            LEFT JOIN vinyl v ON v.id = p.id
+            LEFT JOIN player pl ON pl.id = p.id
+            LEFT JOIN audio_equipment ae ON ae.id = p.id
+            """;
+
+    private static final String REBUILD = "INSERT INTO catalog_projection " + COLUMNS + "\n" + SELECT;
+
+    private static final String UPSERT = "MERGE INTO catalog_projection " + COLUMNS + " KEY (id)\n" + SELECT
+            + "WHERE p.id = ?";
+
+    private static final String UPDATE_STOCK =
+            "UPDATE catalog_projection SET stock = (SELECT stock FROM products WHERE id = ?) WHERE id = ?";
+
+    private static final String LOCK = "SELECT id FROM catalog_projection WHERE id = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for the writer that injects the JDBC template and the transaction manager.
+     *
+     * @param jdbcTemplate       The JDBC template used to write the table.
+     * @param transactionManager The transaction manager used to open the write transactions.
+     */
+    @Autowired
+    public CatalogProjectionWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rebuilds the whole projection from the product tables once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM catalog_projection");
+            jdbcTemplate.update(REBUILD);
+        });
+    }
+
+    /**
+     * Applies a committed product change to the projection.
+     *
+     * @param event The product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        if (product.getId() == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (event.getChange() == PRODUCT_CHANGE.DELETED) {
+                jdbcTemplate.update("DELETE FROM catalog_projection WHERE id = ?", product.getId());
+                return;
+            }
+            jdbcTemplate.queryForList(LOCK, Integer.class, product.getId()); // Serializes the writes of one product
+            if (event.getChange() == PRODUCT_CHANGE.STOCK) {
+                jdbcTemplate.update(UPDATE_STOCK, product.getId(), product.getId());
+            } else {
+                jdbcTemplate.update(UPSERT, product.getId());
+            }
+        });
+    }
+}
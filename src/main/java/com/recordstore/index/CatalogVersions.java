@@ -0,0 +1,95 @@
+package com.recordstore.index;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.event.ProductChangedEvent;
+
+/**
+ * Monotonically increasing version of the catalog of each product category, used to build the {@code ETag}
+ * of the catalog listings.
+ * <p>
+ * Every committed {@link ProductChangedEvent} increments the version of the category of the changed product. The
+ * version is bumped after the commit, never before: a listing read just before the bump carries the old
+ * {@code ETag} with the new data, which only costs the client one more full download, while bumping before the
+ * commit could pair the new {@code ETag} with stale data for good.
+ * </p>
+ * <p>
+ * Stock-only changes ({@link PRODUCT_CHANGE#STOCK}) bump the version as well, since every listing shows the stock
+ * and a strong tag must change whenever the representation does. The stock written by the flash-sale mode is
+ * published once per batch, so a drop bumps the version at most once per flush rather than once per order.
+ * </p>
+ * <p>
+ * The tag also contains the start time of the application, since the versions are kept in memory and start again
+ * from zero on every start.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * String etag = catalogVersions.etag(PRODUCT_CATEGORY.ALBUM, PRODUCT_CATEGORY.A_VINYL);
+ * </pre>
+ */
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<PRODUCT_CATEGORY, AtomicLong> versions = new EnumMap<>(PRODUCT_CATEGORY.class);
+
+    /**
+     * Constructor for the versions that starts every category at version zero.
+     */
+    public CatalogVersions() {
+        for (PRODUCT_CATEGORY category : PRODUCT_CATEGORY.values()) {
+            versions.put(category, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the current version of a category.
+     *
+     * @param category The product category.
+     * @return The number of committed changes to products of that category since the application started.
+     */
+    public long version(PRODUCT_CATEGORY category) {
+        return versions.get(category).get();
+    }
+
+    /**
+     * Builds the strong {@code ETag} of a listing that contains products of the given categories.
+     * <p>
+     * The tag changes whenever a product of any of the categories changes, because the versions only grow.
+     * </p>
+     *
+     * @param categories The categories of the products that the listing can contain.
+     * @return The quoted entity tag.
+     */
+    public String etag(PRODUCT_CATEGORY... categories) {
+        long sum = 0;
+        for (PRODUCT_CATEGORY category : categories) {
+            sum += version(category);
+        }
+        return "\"" + epoch + "-" + Long.toString(sum, 36) + "\"";
+    }
+
+    /**
+     * Bumps the version of the category of a committed product change. A product without category bumps
+     * every category.
+     *
+     * @param event The product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        PRODUCT_CATEGORY category = event.getProduct().getProductCategory();
+        if (category == null) {
+            versions.values().forEach(AtomicLong::incrementAndGet);
+        } else {
+            versions.get(category).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.recordstore.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.event.ProductChangedEvent;
+import com.recordstore.model.Product;
+
+/**
+ * In-memory bitmap index over the facet attributes of the catalog (see {@link ProductFacets}).
+ * <p>
+ * The index keeps one bitmap per (attribute, value) pair, where bit {@code n} is set when the product with
+ * ID {@code n} has that value. A multi-attribute filter is answered by OR-ing the bitmaps of the values of
+ * each attribute and AND-ing the attributes together, without querying the database.
+ * </p>
+ * <p>
+ * The index is built by {@link CatalogIndexLoader} when the application starts and is then kept in sync with
+ * every committed product change through {@link ProductChangedEvent}. Changes committed while the loader is
+ * reading the catalog are queued and replayed on top of the fresh snapshot, so none of them is lost.
+ * </p>
+ * <p>
+ * The bitmaps are plain {@link BitSet}s, which are not compressed: each one takes about
+ * {@code highest product ID / 8} bytes whatever its cardinality. Product IDs come from a pooled sequence, so
+ * they stay close to the number of products ever created (each restart skips at most one allocation block), and
+ * for the size of this catalog that is a few kilobytes per (attribute, value) pair. A catalog with very sparse
+ * IDs or many rare facet values would need a compressed bitmap (e.g. Roaring) instead.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * BitSet ids = facetIndex.match(Map.of("genre", Set.of("ROCK", "BLUES"), "format", Set.of("LP")));
+ * </pre>
+ */
+@Component
+public class FacetIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, BitSet> bitmaps = new HashMap<>();
+    private final Map<Integer, List<String>> keysById = new HashMap<>();
+    private final BitSet all = new BitSet();
+
+    /** Changes received while a rebuild is reading the database, or {@code null} when no rebuild is running. */
+    private List<ProductChangedEvent> changesDuringRebuild;
+
+    /**
+     * Starts a rebuild: from now on every applied change is also queued until {@link #finishRebuild} runs.
+     * Called by {@link CatalogIndexLoader} before it reads the catalog.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Abandons a rebuild whose catalog read failed, keeping the current contents of the index.
+     */
+    void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with a catalog snapshot read after {@link #beginRebuild()}.
+     * <p>
+     * The changes queued during the read are replayed in commit order on top of the snapshot: a change the
+     * snapshot already contains is applied again with the same state, and a newer one overrides it.
+     * </p>
+     *
+     * @param products Every product of the catalog.
+     */
+    void finishRebuild(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            keysById.clear();
+            all.clear();
+            products.forEach(this::add);
+            changesDuringRebuild.forEach(this::apply);
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product change to the index.
+     *
+     * @param event The product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChange() == PRODUCT_CHANGE.STOCK) {
+            return; // The stock is not a facet
+        }
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a product to the index, replacing its previous facet values if it was already indexed.
+     *
+     * @param product The product to index.
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param id The ID of the product to remove.
+     */
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the products that match a facet filter.
+     * Values of the same attribute are combined with OR, and different attributes are combined with AND.
+     *
+     * @param filters A map from facet attribute to the accepted values; an empty map matches every product.
+     * @return A new bitmap with the IDs of the matching products.
+     */
+    public BitSet match(Map<String, ? extends Collection<String>> filters) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) all.clone();
+            for (Map.Entry<String, ? extends Collection<String>> filter : filters.entrySet()) {
+                BitSet union = new BitSet();
+                for (String value : filter.getValue()) {
+                    BitSet bitmap = bitmaps.get(key(filter.getKey(), value));
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                result.and(union);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products that match a facet filter.
+     *
+     * @param filters A map from facet attribute to the accepted values.
+     * @return The number of matching products.
+     */
+    public int count(Map<String, ? extends Collection<String>> filters) {
+        return match(filters).cardinality();
+    }
+
+    /**
+     * Parses facet filters written as {@code attribute:value} (e.g. {@code genre:ROCK}).
+     *
+     * @param facets The facet filters, may be {@code null}.
+     * @return A map from facet attribute to the accepted values.
+     * @throws IllegalArgumentException If a filter is malformed or uses an unknown attribute.
+     */
+    public static Map<String, Set<String>> parse(List<String> facets) {
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        if (facets == null) {
+            return filters;
+        }
+        for (String facet : facets) {
+            int separator = facet.indexOf(':');
+            if (separator <= 0 || separator == facet.length() - 1) {
+                throw new IllegalArgumentException("Facet filters must be written as attribute:value, got: " + facet);
+            }
+            String attribute = facet.substring(0, separator);
+            if (!ProductFacets.ATTRIBUTES.contains(attribute)) {
+                throw new IllegalArgumentException("Unknown facet attribute: " + attribute);
+            }
+            filters.computeIfAbsent(attribute, k -> new LinkedHashSet<>()).add(facet.substring(separator + 1));
+        }
+        return filters;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        delete(event.getProduct().getId());
+        if (event.getChange() != PRODUCT_CHANGE.DELETED) {
+            add(event.getProduct());
+        }
+    }
+
+    private void add(Product product) {
+        Integer id = product.getId();
+        if (id == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        ProductFacets.of(product).forEach((attribute, value) -> {
+            String key = key(attribute, value);
+            bitmaps.computeIfAbsent(key, k -> new BitSet()).set(id);
+            keys.add(key);
+        });
+        keysById.put(id, keys);
+        all.set(id);
+    }
+
+    private void delete(Integer id) {
+        if (id == null) {
+            return;
+        }
+        List<String> keys = keysById.remove(id);
+        if (keys != null) {
+            for (String key : keys) {
+                bitmaps.get(key).clear(id);
+            }
+        }
+        all.clear(id);
+    }
+
+    private static String key(String attribute, String value) {
+        return attribute + '=' + value;
+    }
+}
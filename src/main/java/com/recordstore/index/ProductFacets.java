@@ -0,0 +1,98 @@
+package com.recordstore.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.recordstore.model.Album;
+import com.recordstore.model.AudioEquipment;
+import com.recordstore.model.Headphone;
+import com.recordstore.model.Player;
+import com.recordstore.model.Portable;
+import com.recordstore.model.Product;
+import com.recordstore.model.Speaker;
+import com.recordstore.model.Turntable;
+import com.recordstore.model.Vinyl;
+
+/**
+ * Extracts the low-cardinality (enum and boolean) attributes of a product that are used as facets.
+ * <p>
+ * Facet attributes are named after the entity properties ({@code genre}, {@code bluetooth}, ...) and their
+ * values are the enum constant names or {@code "true"}/{@code "false"}. Attributes that are {@code null}
+ * are not indexed.
+ * </p>
+ */
+public final class ProductFacets {
+
+    /** Names of every attribute that can be used as a facet. */
+    public static final Set<String> ATTRIBUTES = Set.of(
+            "productCategory",
+            // Album and Vinyl
+            "genre", "format", "size", "rpm",
+            // Player, Portable and Turntable
+            "bluetooth", "usb", "radio", "aux", "rca", "builtInSpeaker",
+            "portableType", "powerType", "resistance", "hasBuiltInPreAmp", "traction", "mechanism",
+            // AudioEquipment, Headphone and Speaker
+            "microphoneBuiltIn", "wireless", "headphoneType", "anc");
+
+    private ProductFacets() {
+    }
+
+    /**
+     * Returns the facet values of a product.
+     *
+     * @param product The product to inspect.
+     * @return A map from facet attribute to facet value.
+     */
+    public static Map<String, String> of(Product product) {
+        Map<String, String> facets = new LinkedHashMap<>();
+        put(facets, "productCategory", product.getProductCategory());
+
+        if (product instanceof Album album) {
+            put(facets, "genre", album.getGenre());
+            put(facets, "format", album.getFormat());
+            if (album instanceof Vinyl vinyl) {
+                put(facets, "size", vinyl.getSize());
+                put(facets, "rpm", vinyl.getRpm());
+            }
+        } else if (product instanceof Player player) {
+            put(facets, "bluetooth", player.getBluetooth());
+            put(facets, "usb", player.getUsb());
+            put(facets, "radio", player.getRadio());
+            put(facets, "aux", player.getAux());
+            put(facets, "rca", player.getRca());
+            put(facets, "builtInSpeaker", player.getBuiltInSpeaker());
+            if (player instanceof Portable portable) {
+                put(facets, "portableType", portable.getPortableType());
+                put(facets, "powerType", portable.getPowerType());
+                put(facets, "resistance", portable.getResistance());
+            } else if (player instanceof Turntable turntable) {
+                put(facets, "hasBuiltInPreAmp", turntable.getHasBuiltInPreAmp());
+                put(facets, "rpm", turntable.getRpm());
+                put(facets, "traction", turntable.getTraction());
+                put(facets, "mechanism", turntable.getMechanism());
+            }
+        } else if (product instanceof AudioEquipment equipment) {
+            put(facets, "microphoneBuiltIn", equipment.getMicrophoneBuiltIn());
+            put(facets, "wireless", equipment.getWireless());
+            put(facets, "bluetooth", equipment.getBluetooth());
+            put(facets, "usb", equipment.getUsb());
+            put(facets, "aux", equipment.getAux());
+            if (equipment instanceof Headphone headphone) {
+                put(facets, "headphoneType", headphone.getHeadphoneType());
+                put(facets, "anc", headphone.getAnc());
+            } else if (equipment instanceof Speaker speaker) {
+                put(facets, "radio", speaker.getRadio());
+                put(facets, "powerType", speaker.getPowerType());
+                put(facets, "resistance", speaker.getResistance());
+            }
+        }
+        return facets;
+    }
+
+    private static void put(Map<String, String> facets, String attribute, Object value) {
+        if (value != null) {
+            facets.put(attribute, value instanceof Enum<?> constant ? constant.name() : value.toString());
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.recordstore.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.event.ProductChangedEvent;
+import com.recordstore.model.Album;
+import com.recordstore.model.Product;
+
+/**
+ * Embedded inverted index over {@link Product#getName()} and {@link Album#getArtist()}.
+ * <p>
+ * Texts are normalized (lower case, accents removed), split into alphanumeric tokens and every token is
+ * split into trigrams ({@code "abbey"} becomes {@code abb, bbe, bey}). The index maps every trigram to the
+ * products containing it, so a search only visits the products sharing trigrams with the query instead of
+ * scanning the whole catalog with {@code LIKE '%x%'}.
+ * </p>
+ * <p>
+ * Like {@link FacetIndex}, it is built on startup by {@link CatalogIndexLoader} and kept in sync with every
+ * committed {@link ProductChangedEvent}.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * List&lt;Integer&gt; ids = searchIndex.search("beatles abey road", Product.class, 20);
+ * </pre>
+ */
+@Component
+public class SearchIndex {
+
+    /** Length of the n-grams stored in the index. */
+    public static final int GRAM_LENGTH = 3;
+
+    /** Minimum fraction of the query n-grams a product must contain to be returned by {@link #search}. */
+    private static final double MIN_COVERAGE = 0.5;
+
+    private static final byte NAME = 1;
+    private static final byte ARTIST = 2;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Integer, Byte>> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    /** Changes received while a rebuild is reading the database, or {@code null} when no rebuild is running. */
+    private List<ProductChangedEvent> changesDuringRebuild;
+
+    /**
+     * Starts a rebuild: from now on every applied change is also queued until {@link #finishRebuild} runs.
+     * Called by {@link CatalogIndexLoader} before it reads the catalog.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Abandons a rebuild whose catalog read failed, keeping the current contents of the index.
+     */
+    void cancelRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with a catalog snapshot read after {@link #beginRebuild()}, then
+     * replays the changes queued during the read in commit order.
+     *
+     * @param products Every product of the catalog.
+     */
+    void finishRebuild(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            products.forEach(this::add);
+            changesDuringRebuild.forEach(this::apply);
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product change to the index.
+     *
+     * @param event The product change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChange() == PRODUCT_CHANGE.STOCK) {
+            return; // The stock is not searched
+        }
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Performs a relevance-ranked search over product names and artists.
+     * <p>
+     * Products are scored by the fraction of the query trigrams they contain (trigrams found in the name count
+     * twice as much as those found in the artist), plus a bonus for every query word that appears as a whole
+     * word. Misspelled queries still find the products that share most of their trigrams.
+     * </p>
+     *
+     * @param query The text to search for.
+     * @param type  The product type to restrict the search to ({@code Product.class} for every product).
+     * @param limit The maximum number of results.
+     * @return The IDs of the matching products, best match first.
+     */
+    public List<Integer> search(String query, Class<? extends Product> type, int limit) {
+        List<String> queryTokens = tokenize(query);
+        Set<String> queryGrams = grams(queryTokens, 1);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> weights = new HashMap<>();
+            Map<Integer, Integer> hits = new HashMap<>();
+            for (String gram : queryGrams) {
+                Map<Integer, Byte> posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                posting.forEach((id, fields) -> {
+                    weights.merge(id, (fields & NAME) != 0 ? 2 : 1, Integer::sum);
+                    hits.merge(id, 1, Integer::sum);
+                });
+            }
+
+            Map<Integer, Double> scores = new HashMap<>();
+            hits.forEach((id, count) -> {
+                Document document = documents.get(id);
+                if (count < MIN_COVERAGE * queryGrams.size() || !type.isAssignableFrom(document.type())) {
+                    return;
+                }
+                double score = weights.get(id) / (2.0 * queryGrams.size());
+                for (String token : queryTokens) {
+                    if (document.tokens().contains(token)) {
+                        score += 0.25;
+                    }
+                }
+                scores.put(id, score);
+            });
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the products whose name contains the given text, ignoring case and accents.
+     * <p>
+     * This is the indexed equivalent of {@code findByNameContainingIgnoreCase}: candidates are the products that
+     * contain every trigram of the text, and each candidate is then checked for the full substring. Results are
+     * ranked with names starting with the text first, then by position of the match and by name length.
+     * </p>
+     *
+     * @param text The text the name must contain.
+     * @param type The product type to restrict the search to.
+     * @return The IDs of the matching products in rank order, or an empty {@link Optional} if the text is too
+     *         short to be answered by the index (the caller should fall back to the database).
+     */
+    public Optional<List<Integer>> findByNameContaining(String text, Class<? extends Product> type) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String normalized = normalize(text);
+        Set<String> textGrams = grams(tokenize(text), GRAM_LENGTH);
+        if (textGrams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = null;
+            for (String gram : textGrams) {
+                Map<Integer, Byte> posting = postings.get(gram);
+                if (posting == null) {
+                    return Optional.of(List.of());
+                }
+                Set<Integer> inName = posting.entrySet().stream()
+                        .filter(entry -> (entry.getValue() & NAME) != 0)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toSet());
+                if (candidates == null) {
+                    candidates = inName;
+                } else {
+                    candidates.retainAll(inName);
+                }
+                if (candidates.isEmpty()) {
+                    return Optional.of(List.of());
+                }
+            }
+
+            List<Integer> matches = new ArrayList<>();
+            for (Integer id : candidates) {
+                Document document = documents.get(id);
+                if (type.isAssignableFrom(document.type()) && document.name().contains(normalized)) {
+                    matches.add(id);
+                }
+            }
+            matches.sort(Comparator.<Integer>comparingInt(id -> documents.get(id).name().indexOf(normalized))
+                    .thenComparingInt(id -> documents.get(id).name().length())
+                    .thenComparing(Comparator.naturalOrder()));
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders the products loaded from the database following the ranking returned by the index.
+     *
+     * @param ids      The ranked IDs.
+     * @param products The products loaded by ID, in any order.
+     * @param <T>      The product type.
+     * @return The products in rank order.
+     */
+    public static <T extends Product> List<T> inRankOrder(List<Integer> ids, List<T> products) {
+        return inRankOrder(ids, products, Product::getId);
+    }
+
+    /**
+     * Orders the rows loaded from the database following the ranking returned by the index.
+     *
+     * @param ids  The ranked IDs.
+     * @param rows The rows loaded by ID, in any order.
+     * @param id   The function that returns the product ID of a row.
+     * @param <T>  The row type.
+     * @return The rows in rank order.
+     */
+    public static <T> List<T> inRankOrder(List<Integer> ids, List<T> rows, Function<? super T, Integer> id) {
+        Map<Integer, T> byId = rows.stream().collect(Collectors.toMap(id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(row -> row != null)
+                .collect(Collectors.toList());
+    }
+
+    private void apply(ProductChangedEvent event) {
+        delete(event.getProduct().getId());
+        if (event.getChange() == PRODUCT_CHANGE.SAVED) {
+            add(event.getProduct());
+        }
+    }
+
+    private void add(Product product) {
+        Integer id = product.getId();
+        if (id == null) {
+            return;
+        }
+        List<String> nameTokens = tokenize(product.getName());
+        List<String> artistTokens = product instanceof Album album ? tokenize(album.getArtist()) : List.of();
+
+        Map<String, Byte> fields = new HashMap<>();
+        grams(nameTokens, 1).forEach(gram -> fields.merge(gram, NAME, (a, b) -> (byte) (a | b)));
+        grams(artistTokens, 1).forEach(gram -> fields.merge(gram, ARTIST, (a, b) -> (byte) (a | b)));
+        fields.forEach((gram, mask) -> postings.computeIfAbsent(gram, k -> new HashMap<>()).put(id, mask));
+
+        Set<String> tokens = new HashSet<>(nameTokens);
+        tokens.addAll(artistTokens);
+        documents.put(id, new Document(product.getClass(), normalize(product.getName()), tokens, fields.keySet()));
+    }
+
+    private void delete(Integer id) {
+        if (id == null) {
+            return;
+        }
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            Map<Integer, Byte> posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Splits the tokens into trigrams. Tokens shorter than a trigram are kept whole when they are at least
+     * {@code minShortToken} characters long.
+     */
+    private static Set<String> grams(List<String> tokens, int minShortToken) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (token.length() < GRAM_LENGTH) {
+                if (token.length() >= minShortToken) {
+                    grams.add(token);
+                }
+                continue;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                grams.add(token.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexed state of one product, kept to filter by type, verify substrings and remove its postings.
+     */
+    private record Document(Class<?> type, String name, Set<String> tokens, Set<String> grams) {
+    }
+}
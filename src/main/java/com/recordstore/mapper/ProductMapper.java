@@ -0,0 +1,88 @@
+package com.recordstore.mapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.recordstore.dto.BasicProductDTO;
+import com.recordstore.dto.ProductDTO;
+import com.recordstore.model.Album;
+import com.recordstore.model.Headphone;
+import com.recordstore.model.Player;
+import com.recordstore.model.Portable;
+import com.recordstore.model.Product;
+import com.recordstore.model.Speaker;
+import com.recordstore.model.Turntable;
+import com.recordstore.model.Vinyl;
+
+/**
+ * Mapper class responsible for converting a {@link Product} of any type to the DTO of its concrete type.
+ * <p>
+ * The conversion is delegated to the mapper of each product type, so a vinyl becomes a
+ * {@link com.recordstore.dto.VinylDTO}, a turntable a {@link com.recordstore.dto.TurntableDTO}, and so on.
+ * Products of an unknown type are mapped to a {@link BasicProductDTO} with the common fields only.
+ * </p>
+ */
+@Component
+public class ProductMapper {
+
+    private final AlbumMapper albumMapper;
+    private final VinylMapper vinylMapper;
+    private final PlayerMapper playerMapper;
+    private final PortableMapper portableMapper;
+    private final TurntableMapper turntableMapper;
+    private final HeadphoneMapper headphoneMapper;
+    private final SpeakerMapper speakerMapper;
+
+    /**
+     * Constructor for the mapper that injects the mapper of every product type.
+     *
+     * @param albumMapper     The album mapper.
+     * @param vinylMapper     The vinyl mapper.
+     * @param playerMapper    The player mapper.
+     * @param portableMapper  The portable mapper.
+     * @param turntableMapper The turntable mapper.
+     * @param headphoneMapper The headphone mapper.
+     * @param speakerMapper   The speaker mapper.
+     */
+    @Autowired
+    public ProductMapper(AlbumMapper albumMapper, VinylMapper vinylMapper, PlayerMapper playerMapper,
+            PortableMapper portableMapper, TurntableMapper turntableMapper, HeadphoneMapper headphoneMapper,
+            SpeakerMapper speakerMapper) {
+        this.albumMapper = albumMapper;
+        this.vinylMapper = vinylMapper;
+        this.playerMapper = playerMapper;
+        this.portableMapper = portableMapper;
+        this.turntableMapper = turntableMapper;
+        this.headphoneMapper = headphoneMapper;
+        this.speakerMapper = speakerMapper;
+    }
+
+    /**
+     * Converts a {@link Product} entity to the DTO of its concrete type.
+     *
+     * @param product The product to be converted.
+     * @return The DTO representation of the product, or {@code null} if the input is {@code null}.
+     */
+    public ProductDTO toDTO(Product product) {
+        if (product == null) {
+            return null;
+        }
+        // Subtypes are checked before their parent types
+        if (product instanceof Vinyl vinyl) {
+            return vinylMapper.toDTO(vinyl);
+        } else if (product instanceof Album album) {
+            return albumMapper.toDTO(album);
+        } else if (product instanceof Portable portable) {
+            return portableMapper.toDTO(portable);
+        } else if (product instanceof Turntable turntable) {
+            return turntableMapper.toDTO(turntable);
+        } else if (product instanceof Player player) {
+            return playerMapper.toDTO(player);
+        } else if (product instanceof Headphone headphone) {
+            return headphoneMapper.toDTO(headphone);
+        } else if (product instanceof Speaker speaker) {
+            return speakerMapper.toDTO(speaker);
+        }
+        return new BasicProductDTO(product);
+    }
+}
@@ -0,0 +1,127 @@
+package com.recordstore.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Data source wrapper that times how long every caller waits for a JDBC connection and tags the wait with the
+ * repository call that asked for it.
+ * <p>
+ * {@link RepositoryMetricsAspect} marks the repository and method running on the current thread; every
+ * {@code getConnection()} made meanwhile records its latency in the {@value #ACQUIRE} timer with those tags, so a
+ * pool saturated by one query shows up under that query. Hikari's own {@code hikaricp.connections.acquire} timer
+ * measures the same wait for the whole pool.
+ * </p>
+ * <p>
+ * A connection is only attributed to a repository when it is acquired inside the repository call. A
+ * {@code @Transactional} service method acquires its connection when the transaction begins, before any repository
+ * runs, so its wait is recorded with {@code repository=none} and {@code method=none}.
+ * </p>
+ *
+ * <p><strong>Example query:</strong></p>
+ * <pre>
+ * GET /actuator/metrics/recordstore.repository.connection.acquire?tag=repository:ProductRepository
+ * </pre>
+ */
+public class ConnectionAcquireMetrics extends DelegatingDataSource {
+
+    /**
+     * Name of the timer of the connection acquisitions.
+     */
+    public static final String ACQUIRE = "recordstore.repository.connection.acquire";
+
+    private static final String NONE = "none";
+
+    /**
+     * Repository call running on each thread, or {@code null} outside any repository call.
+     */
+    private static final ThreadLocal<RepositoryCall> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target        The data source that hands out the connections.
+     * @param meterRegistry The registry the waits are recorded in, resolved on the first connection (the data
+     *                      source is created before the registry).
+     */
+    public ConnectionAcquireMetrics(DataSource target, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Marks the repository call running on the current thread.
+     *
+     * @param repository The name of the repository.
+     * @param method     The name of the method.
+     * @return The call that was running before, to be restored with {@link #exit}.
+     */
+    static RepositoryCall enter(String repository, String method) {
+        RepositoryCall previous = CURRENT.get();
+        CURRENT.set(new RepositoryCall(repository, method));
+        return previous;
+    }
+
+    /**
+     * Restores the repository call that was running before {@link #enter}.
+     *
+     * @param previous The call returned by {@link #enter}, or {@code null}.
+     */
+    static void exit(RepositoryCall previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private void record(long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        RepositoryCall call = CURRENT.get();
+        Timer.builder(ACQUIRE)
+                .tags("repository", call == null ? NONE : call.repository(),
+                        "method", call == null ? NONE : call.method())
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Repository and method of a running repository call.
+     */
+    record RepositoryCall(String repository, String method) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.recordstore.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aspect that times every repository method and counts the rows it returns.
+ * <p>
+ * Every call to a Spring Data repository, and to the custom repositories of {@code com.recordstore.repository},
+ * records two meters tagged with the repository and the method name:
+ * </p>
+ * <ul>
+ *   <li><b>{@value #INVOCATIONS}</b>: a timer of the latency of the call, also tagged with its outcome
+ *       ({@code success} or the simple name of the exception thrown). Its percentiles (p50, p99, p999) are
+ *       configured in {@code application.properties}.</li>
+ *   <li><b>{@value #ROWS}</b>: a distribution summary of the number of entities returned: the size of a list,
+ *       the elements of a page, {@code 0} or {@code 1} for an optional or a single entity. Counts, existence
+ *       checks, streams and {@code void} methods record no rows.</li>
+ * </ul>
+ * <p>
+ * The meters are exposed on {@code /actuator/metrics} and {@code /actuator/prometheus}. The time spent waiting for
+ * a pooled JDBC connection during the call is recorded, with the same tags, by {@link ConnectionAcquireMetrics}.
+ * </p>
+ *
+ * <p><strong>Example query:</strong></p>
+ * <pre>
+ * GET /actuator/metrics/recordstore.repository.invocations?tag=repository:AlbumRepository&amp;tag=method:findByGenre
+ * </pre>
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    /**
+     * Name of the timer of the repository calls.
+     */
+    public static final String INVOCATIONS = "recordstore.repository.invocations";
+
+    /**
+     * Name of the distribution summary of the rows returned by the repository calls.
+     */
+    public static final String ROWS = "recordstore.repository.rows";
+
+    private static final String REPOSITORY_PACKAGE = "com.recordstore.repository";
+    private static final String SUCCESS = "success";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Repository name of every proxy class, resolved once.
+     */
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the aspect that injects the meter registry.
+     *
+     * @param meterRegistry The registry the meters are recorded in.
+     */
+    @Autowired
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times a repository call and records the rows it returned.
+     *
+     * @param joinPoint The repository call.
+     * @return The result of the call.
+     * @throws Throwable Whatever the call throws, after recording its latency.
+     */
+    @Around("this(org.springframework.data.repository.Repository) || within(com.recordstore.repository..*)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis());
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String method = signature.getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        ConnectionAcquireMetrics.RepositoryCall caller = ConnectionAcquireMetrics.enter(repository, method);
+        try {
+            Object result = joinPoint.proceed();
+            long rows = signature.getReturnType() == void.class ? -1 : rows(result);
+            if (rows >= 0) {
+                DistributionSummary.builder(ROWS)
+                        .tags("repository", repository, "method", method)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            ConnectionAcquireMetrics.exit(caller);
+            sample.stop(Timer.builder(INVOCATIONS)
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Resolves the name of the repository behind a proxy: the repository interface it implements, or the class of
+     * a custom repository.
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getPackageName().startsWith(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+            return AopUtils.getTargetClass(proxy).getSimpleName();
+        });
+    }
+
+    /**
+     * Counts the entities in the result of a repository call.
+     *
+     * @return The number of rows, or {@code -1} if the result is not a set of rows.
+     */
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
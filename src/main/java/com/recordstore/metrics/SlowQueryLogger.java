@@ -0,0 +1,132 @@
+package com.recordstore.metrics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * JDBC listener that logs a sample of the statements slower than a threshold.
+ * <p>
+ * Every statement executed through the data source is timed; the ones that take at least the threshold are logged
+ * with a probability of the sample rate, to the {@value #LOGGER_NAME} logger. Each entry holds the duration, the
+ * statement on one line, the shape of its bind parameters (their types and the number of parameter sets of a
+ * batch, never their values) and the application method that ran it, e.g.:
+ * </p>
+ * <pre>
+ * 412 ms | AlbumService.getAlbumsByGenre | params [String] | select a1_0.id, ... where a1_0.genre=?
+ * </pre>
+ * <p>
+ * The statements below the threshold cost one comparison, and the caller is only looked up for the logged ones.
+ * The logger writes through an asynchronous appender ({@code logback-spring.xml}), so request threads never wait
+ * on the log file.
+ * </p>
+ */
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    /**
+     * Name of the logger of the slow statements.
+     */
+    public static final String LOGGER_NAME = "recordstore.slow-query";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final String APPLICATION_PACKAGE = "com.recordstore.";
+    private static final String SERVICE_PACKAGE = "com.recordstore.service.";
+    private static final String METRICS_PACKAGE = "com.recordstore.metrics.";
+    private static final String GENERATED_CLASS = "$$";
+
+    private final long thresholdMs;
+    private final double sampleRate;
+
+    /**
+     * Creates the listener.
+     *
+     * @param thresholdMs The minimum duration of a logged statement, in milliseconds.
+     * @param sampleRate  The fraction of the slow statements that are logged, from {@code 0} to {@code 1}.
+     * @throws IllegalArgumentException If the threshold is negative or the sample rate is outside {@code [0, 1]}.
+     */
+    public SlowQueryLogger(long thresholdMs, double sampleRate) {
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("The slow query threshold cannot be negative: " + thresholdMs);
+        }
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The slow query sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.thresholdMs = thresholdMs;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs || !log.isInfoEnabled()) {
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            log.info("{} ms | {} | params {} | {}{}", execInfo.getElapsedTime(), caller(), shape(query),
+                    query.getQuery().replaceAll("\\s+", " ").trim(),
+                    execInfo.isSuccess() ? "" : " | failed: " + execInfo.getThrowable());
+        }
+    }
+
+    /**
+     * Returns the application method that ran the statement: the closest service method, or else the closest
+     * application method of any other layer.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            StackWalker.StackFrame fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(APPLICATION_PACKAGE) || className.startsWith(METRICS_PACKAGE)
+                        || className.contains(GENERATED_CLASS)) {
+                    continue;
+                }
+                if (className.startsWith(SERVICE_PACKAGE)) {
+                    return Optional.of(frame);
+                }
+                if (fallback == null) {
+                    fallback = frame;
+                }
+            }
+            return Optional.ofNullable(fallback);
+        }).map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName()).orElse("unknown");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Describes the bind parameters of a statement by their types, e.g. {@code [Long, Long]}, followed by the
+     * number of parameter sets for a batch, e.g. {@code [String, Integer] x 50}.
+     */
+    private static String shape(QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : parameterSets.get(0)) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            types.add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return parameterSets.size() == 1 ? types.toString() : types + " x " + parameterSets.size();
+    }
+}
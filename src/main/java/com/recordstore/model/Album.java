@@ -1,5 +1,6 @@
 package com.recordstore.model;
 
+import com.recordstore.auxiliar.Durations;
 import com.recordstore.enums.ALBUM_FORMAT;
 import com.recordstore.enums.ALBUM_GENRE;
 import com.recordstore.enums.PRODUCT_CATEGORY;
@@ -8,11 +9,16 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 /**
  * Represents an album in the record store. An album is a product that contains information related
@@ -25,7 +31,8 @@ import lombok.NoArgsConstructor;
  * 
  * The album can be associated with a specific format and genre through the enumerations {@link ALBUM_FORMAT} and
  * {@link ALBUM_GENRE}, respectively. The duration of the album is stored as a string in the format "MM:SS" (minutes:seconds),
- * providing a quick way to understand the length of the album.
+ * providing a quick way to understand the length of the album. The same duration is also stored as a number of seconds,
+ * in an indexed column, so that duration ranges are compared numerically.
  * 
  * Example of usage:
  * <pre>
@@ -46,7 +53,7 @@ import lombok.NoArgsConstructor;
  * @see PRODUCT_CATEGORY
  */
 @Entity
-@Table(name = "album")
+@Table(name = "album", indexes = @Index(name = "idx_album_duration_seconds", columnList = "duration_seconds"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -66,8 +73,9 @@ public class Album extends Product {
      * This field represents the year in which the album was officially released.
      * The value must be between 1860 and the current year.
      * Example: 1969
+     * Required: it is a sort key of the keyset-paginated listings.
      */
-    @Column(name = "release_year")
+    @Column(name = "release_year", nullable = false)
     private Integer year;
 
     /**
@@ -96,6 +104,15 @@ public class Album extends Product {
     @Column(name = "duration")
     private String duration;
 
+    /**
+     * The total duration of the album in seconds, derived from {@link #duration}.
+     * This field is kept in sync by {@link #setDuration(String)} and is the one compared by duration range queries.
+     * Example: 2843
+     */
+    @Column(name = "duration_seconds")
+    @Setter(AccessLevel.NONE)
+    private Integer durationSeconds;
+
     /**
      * Constructs a new Album with the specified details.
      * 
@@ -115,6 +132,31 @@ public class Album extends Product {
         this.year = year;
         this.format = format;
         this.genre = genre;
+        setDuration(duration);
+    }
+
+    /**
+     * Sets the total duration of the album and its number of seconds.
+     *
+     * @param duration The total duration of the album in text format (e.g., "47:23").
+     * @throws IllegalArgumentException If the duration is not written as "mm:ss" or "h:mm:ss".
+     */
+    public void setDuration(String duration) {
         this.duration = duration;
+        this.durationSeconds = Durations.toSeconds(duration);
+    }
+
+    /**
+     * Recomputes the number of seconds before the album is written, in case the duration was set
+     * without going through {@link #setDuration(String)}.
+     * <p>
+     * A malformed legacy duration leaves the number of seconds empty instead of failing the write, so an album
+     * loaded with such a text can still be updated (e.g. its stock).
+     * </p>
+     */
+    @PrePersist
+    @PreUpdate
+    protected void syncDurationSeconds() {
+        this.durationSeconds = Durations.toSecondsOrNull(duration);
     }
 }
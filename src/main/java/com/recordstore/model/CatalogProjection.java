@@ -0,0 +1,131 @@
+package com.recordstore.model;
+
+import org.hibernate.annotations.Immutable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.PRODUCT_CATEGORY;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat, read-only copy of the listing fields of every product, stored in the {@code catalog_projection} table.
+ * <p>
+ * Because {@link Product} uses the {@code JOINED} inheritance strategy, a polymorphic query over products
+ * outer-joins the eight subclass tables. This table holds one row per product, whatever its subtype, with the
+ * common fields plus the subtype fields shown in listings ({@code artist}, {@code year}, {@code genre},
+ * {@code format}, {@code brand}, {@code color}); fields that do not apply to a subtype are {@code null}.
+ * </p>
+ * <p>
+ * The table is never written through JPA: it is maintained by
+ * {@link com.recordstore.index.CatalogProjectionWriter} from the committed product changes.
+ * </p>
+ *
+ * Example of usage:
+ * <pre>
+ * List&lt;CatalogProjection&gt; cheap = catalogProjectionRepository.findByPriceCentsBetween(0L, 2000L);
+ * </pre>
+ *
+ * @see Product
+ */
+@Entity
+@Immutable
+@Table(name = "catalog_projection", indexes = {
+        @Index(name = "idx_catalog_projection_price", columnList = "price_cents, id"),
+        @Index(name = "idx_catalog_projection_name", columnList = "name, id"),
+        @Index(name = "idx_catalog_projection_category", columnList = "product_category")
+})
+@Data
+@NoArgsConstructor
+public class CatalogProjection {
+
+    /**
+     * ID of the product this row projects (same value as {@link Product#getId()}).
+     */
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    /**
+     * The name of the product.
+     */
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    /**
+     * The price of the product, in cents.
+     */
+    @Column(name = "price_cents", nullable = false)
+    @JsonIgnore
+    private Long priceCents;
+
+    /**
+     * The available stock of the product.
+     */
+    @Column(name = "stock")
+    private Integer stock;
+
+    /**
+     * The category of the product.
+     */
+    @Column(name = "product_category")
+    @Enumerated(EnumType.STRING)
+    private PRODUCT_CATEGORY productCategory;
+
+    /**
+     * The artist of the album; {@code null} for other products.
+     */
+    @Column(name = "artist")
+    private String artist;
+
+    /**
+     * The release year of the album; {@code null} for other products.
+     */
+    @Column(name = "release_year")
+    private Integer year;
+
+    /**
+     * The genre of the album; {@code null} for other products.
+     */
+    @Column(name = "genre")
+    @Enumerated(EnumType.STRING)
+    private ALBUM_GENRE genre;
+
+    /**
+     * The format of the album; {@code null} for other products.
+     */
+    @Column(name = "format")
+    @Enumerated(EnumType.STRING)
+    private ALBUM_FORMAT format;
+
+    /**
+     * The brand of the player or audio equipment; {@code null} for albums.
+     */
+    @Column(name = "brand")
+    private String brand;
+
+    /**
+     * The color of the vinyl, player or audio equipment; {@code null} for other albums.
+     */
+    @Column(name = "color")
+    private String color;
+
+    /**
+     * Returns the price of the product in euros.
+     *
+     * @return The price, or {@code null} if it is not set.
+     */
+    public Double getPrice() {
+        return Money.fromCents(priceCents);
+    }
+}
@@ -4,8 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.recordstore.auxiliar.Money;
 import com.recordstore.enums.ORDER_STATUS;
 
 import jakarta.persistence.CascadeType;
@@ -16,6 +18,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -49,15 +52,17 @@ public class Order {
 
     /**
      * The unique identifier of the order.
-     * Automatically generated by the database in an incremental fashion.
+     * Generated from the {@value Sequences#ORDER} sequence.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.ORDER)
+    @SequenceGenerator(name = Sequences.ORDER, sequenceName = Sequences.ORDER, allocationSize = Sequences.ALLOCATION_SIZE)
     private Integer orderId;
 
     /**
      * The unique tracking number of the order.
-     * It follows the format RCD-<userId>-<userPrefix>-<datePart>-<orderNumber>.
+     * It follows the format RCD-<userId>-<userPrefix>-<datePart>-<serial>, and is generated by
+     * {@link com.recordstore.service.TrackingNumberGenerator}.
      * This value is used for tracking the order.
      * 
      * @see com.recordstore.service.OrderService
@@ -103,14 +108,33 @@ public class Order {
     private ORDER_STATUS status; // Current status of the order
 
     /**
-     * The total amount of the order.
-     * This is the sum of the prices of the products in the order, each multiplied
+     * The total amount of the order, in cents.
+     * This is the sum of the unit prices of the products in the order, each multiplied
      * by its quantity.
      * The total is calculated automatically by
      * {@link com.recordstore.service.OrderService} when saving the order.
      * 
      * @see com.recordstore.service.OrderService
      */
-    @Column(name = "totalAmount")
-    private Double totalAmount; // Total amount of the order
+    @Column(name = "total_amount_cents")
+    @JsonIgnore
+    private Long totalAmountCents; // Total amount of the order, in cents
+
+    /**
+     * Returns the total amount of the order in euros.
+     *
+     * @return The total amount, or {@code null} if it has not been calculated.
+     */
+    public Double getTotalAmount() {
+        return Money.fromCents(totalAmountCents);
+    }
+
+    /**
+     * Sets the total amount of the order in euros, rounded to the cent.
+     *
+     * @param totalAmount The total amount, or {@code null}.
+     */
+    public void setTotalAmount(Double totalAmount) {
+        this.totalAmountCents = Money.toCents(totalAmount);
+    }
 }
@@ -1,6 +1,8 @@
 package com.recordstore.model;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.recordstore.auxiliar.Money;
 import com.recordstore.validation.Min;
 
 import jakarta.persistence.Column;
@@ -8,6 +10,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.Data;
@@ -31,10 +34,11 @@ public class OrderProduct {
 
     /**
      * The unique identifier for the order product.
-     * This is automatically generated by the database in an auto-incremental fashion.
+     * This is generated from the {@value Sequences#ORDER_PRODUCT} sequence.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.ORDER_PRODUCT)
+    @SequenceGenerator(name = Sequences.ORDER_PRODUCT, sequenceName = Sequences.ORDER_PRODUCT, allocationSize = Sequences.ALLOCATION_SIZE)
     private Integer id;
 
     /**
@@ -65,6 +69,14 @@ public class OrderProduct {
     @Min(1)
     private Integer quantity;
 
+    /**
+     * The price of one unit of the product when it was added to the order, in cents.
+     * Later changes to the price of the product do not change the total of the order.
+     */
+    @Column(name = "unit_price_cents")
+    @JsonIgnore
+    private Long unitPriceCents;
+
     /**
      * Constructor to initialize the relationship between OrderProduct and Product entities.
      * This constructor allows the linking of an order with a product and sets the quantity for that product in the order.
@@ -77,5 +89,15 @@ public class OrderProduct {
         this.order = order;
         this.product = product;
         this.quantity = quantity;
+        this.unitPriceCents = product == null ? null : product.getPriceCents();
+    }
+
+    /**
+     * Returns the price of one unit of the product when it was added to the order, in euros.
+     *
+     * @return The unit price, or {@code null} if it has not been set.
+     */
+    public Double getUnitPrice() {
+        return Money.fromCents(unitPriceCents);
     }
 }
@@ -1,14 +1,19 @@
 package com.recordstore.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.recordstore.auxiliar.Money;
 import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.event.ProductChangeListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.Table;
 import jakarta.persistence.InheritanceType;
@@ -22,6 +27,8 @@ import lombok.NoArgsConstructor;
  * like name, price, stock, and product category.
  * 
  * This class also uses Jackson annotations for serialization and deserialization of its subclasses.
+ * Every insert, update and delete of a product is broadcast by {@link ProductChangeListener}.
+ * The price is stored in cents; {@link #getPrice()} and {@link #setPrice(Double)} convert it from and to euros.
  * 
  * @see Vinyl
  * @see Portable
@@ -31,6 +38,7 @@ import lombok.NoArgsConstructor;
  */
 @Inheritance(strategy = InheritanceType.JOINED)
 @Entity
+@EntityListeners(ProductChangeListener.class)
 @Table(name = "products")
 @Data
 @EqualsAndHashCode
@@ -39,24 +47,28 @@ public abstract class Product {
 
     /**
      * Unique identifier for the product (primary key).
-     * Automatically generated by the database.
+     * Generated from the {@value Sequences#PRODUCT} sequence.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.PRODUCT)
+    @SequenceGenerator(name = Sequences.PRODUCT, sequenceName = Sequences.PRODUCT, allocationSize = Sequences.ALLOCATION_SIZE)
     @Column(name = "id")
     private Integer id;
 
     /**
      * The name of the product.
+     * Required: it is a sort key of the keyset-paginated listings.
      */
-    @Column(name = "name")
+    @Column(name = "name", nullable = false)
     private String name;
 
     /**
-     * The price of the product.
+     * The price of the product, in cents.
+     * Required: it is a sort key of the keyset-paginated listings.
      */
-    @Column(name = "price")
-    private Double price;
+    @Column(name = "price_cents", nullable = false)
+    @JsonIgnore
+    private Long priceCents;
 
     /**
      * The available stock of the product.
@@ -81,7 +93,25 @@ public abstract class Product {
      */
     public Product(String name, Double price, Integer stock) {
         this.name = name;
-        this.price = price;
+        this.priceCents = Money.toCents(price);
         this.stock = stock;
     }
+
+    /**
+     * Returns the price of the product in euros.
+     *
+     * @return The price, or {@code null} if it is not set.
+     */
+    public Double getPrice() {
+        return Money.fromCents(priceCents);
+    }
+
+    /**
+     * Sets the price of the product in euros, rounded to the cent.
+     *
+     * @param price The price, or {@code null}.
+     */
+    public void setPrice(Double price) {
+        this.priceCents = Money.toCents(price);
+    }
 }
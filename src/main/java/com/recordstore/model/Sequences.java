@@ -0,0 +1,37 @@
+package com.recordstore.model;
+
+/**
+ * Names and allocation size of the database sequences that generate the entity IDs.
+ * <p>
+ * IDs are drawn from sequences instead of identity columns, so Hibernate knows the ID of a new entity before
+ * inserting it and can send the inserts of a flush in JDBC batches. Every call to a sequence reserves
+ * {@link #ALLOCATION_SIZE} IDs, which Hibernate then hands out from memory (pooled-lo optimizer), so a
+ * {@code saveAll} of 50 products reads the sequence once.
+ * </p>
+ * <p>
+ * The allocation size must match the {@code INCREMENT BY} of the sequences, which migration V3 creates with a fixed
+ * increment of 50. Changing the constant therefore needs a new migration that alters the increment of every
+ * sequence ({@code ALTER SEQUENCE ... INCREMENT BY ...}), for new and existing databases alike.
+ * </p>
+ * <p>
+ * The ID columns default to the next value of their sequence (migration V8), so a plain SQL {@code INSERT} without
+ * an ID takes the start of a whole block and never collides with the IDs Hibernate hands out.
+ * </p>
+ */
+public final class Sequences {
+
+    /**
+     * Number of IDs reserved by every call to a sequence.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String PRODUCT = "product_seq";
+    public static final String USER = "users_seq";
+    public static final String ORDER = "orders_seq";
+    public static final String ORDER_PRODUCT = "order_product_seq";
+    public static final String WISHLIST = "wishlist_seq";
+    public static final String WISHLIST_PRODUCT = "wishlist_product_seq";
+
+    private Sequences() {
+    }
+}
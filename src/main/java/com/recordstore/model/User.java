@@ -12,6 +12,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -45,11 +46,12 @@ public class User {
     /**
      * Unique identifier for the user (primary key).
      * <p>
-     * This is auto-generated by the database.
+     * This is generated from the {@value Sequences#USER} sequence.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.USER)
+    @SequenceGenerator(name = Sequences.USER, sequenceName = Sequences.USER, allocationSize = Sequences.ALLOCATION_SIZE)
     @Column(name = "user_id")
     private Integer id;
 
@@ -11,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 
 import jakarta.persistence.OneToMany;
@@ -27,7 +28,7 @@ import lombok.NoArgsConstructor;
  * a one-to-one relationship with the {@link User} entity and a one-to-many relationship with
  * the {@link WishlistProduct} entity, which represents the specific products in the wishlist.
  * 
- * The unique identifier of the wishlist is an auto-incrementing value that serves as the primary key
+ * The unique identifier of the wishlist is generated from a database sequence and serves as the primary key
  * for the `wishlist` table. The wishlist is associated with a user via the `user_id` relationship field.
  * The products in the wishlist are managed through the {@link WishlistProduct} entity, which is linked
  * to the wishlist through the `wishlist` relationship.
@@ -53,12 +54,13 @@ public class Wishlist {
     /**
      * Unique identifier for the wishlist.
      * <p>
-     * This value is auto-incrementing and serves as the primary key for the `wishlist` table.
+     * This value is generated from the {@value Sequences#WISHLIST} sequence and serves as the primary key for the `wishlist` table.
      * </p>
      */
     @Id
     @JoinColumn(name = "wishlist_Id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.WISHLIST)
+    @SequenceGenerator(name = Sequences.WISHLIST, sequenceName = Sequences.WISHLIST, allocationSize = Sequences.ALLOCATION_SIZE)
     private Integer id;
 
     /**
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.AllArgsConstructor;
@@ -37,11 +38,12 @@ public class WishlistProduct {
     /**
      * Unique identifier for the wishlist product entry.
      * <p>
-     * This value is auto-incrementing and serves as the primary key for the `wishlist_product` table.
+     * This value is generated from the {@value Sequences#WISHLIST_PRODUCT} sequence and serves as the primary key for the `wishlist_product` table.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = Sequences.WISHLIST_PRODUCT)
+    @SequenceGenerator(name = Sequences.WISHLIST_PRODUCT, sequenceName = Sequences.WISHLIST_PRODUCT, allocationSize = Sequences.ALLOCATION_SIZE)
     private Integer id;
 
     /**
@@ -3,6 +3,7 @@ package com.recordstore.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.recordstore.enums.ALBUM_FORMAT;
 import com.recordstore.enums.ALBUM_GENRE;
@@ -16,7 +17,7 @@ import com.recordstore.model.Album;
  * This interface extends {@link JpaRepository} to provide basic CRUD operations 
  * and custom queries for albums in the record store.
  */
-public interface AlbumRepository extends JpaRepository<Album, Integer> {
+public interface AlbumRepository extends JpaRepository<Album, Integer>, JpaSpecificationExecutor<Album> {
 
     /**
      * Finds all albums by artist, ignoring case.
@@ -54,20 +55,20 @@ public interface AlbumRepository extends JpaRepository<Album, Integer> {
     /**
      * Finds all albums whose price is within a specified range.
      * 
-     * @param minPrice The minimum price.
-     * @param maxPrice The maximum price.
+     * @param minCents The minimum price, in cents.
+     * @param maxCents The maximum price, in cents.
      * @return A list of albums within the specified price range.
      */
-    List<Album> findByPriceBetween(Double minPrice, Double maxPrice);
+    List<Album> findByPriceCentsBetween(Long minCents, Long maxCents);
 
     /**
-     * Finds all albums whose duration is within a specified range.
+     * Finds all albums whose duration is within a specified range, using the index on the duration in seconds.
      * 
-     * @param minDuration The minimum duration (in "mm:ss" format).
-     * @param maxDuration The maximum duration (in "mm:ss" format).
+     * @param minSeconds The minimum duration, in seconds.
+     * @param maxSeconds The maximum duration, in seconds.
      * @return A list of albums within the specified duration range.
      */
-    List<Album> findByDurationBetween(String minDuration, String maxDuration);
+    List<Album> findByDurationSecondsBetween(Integer minSeconds, Integer maxSeconds);
 
     /**
      * Finds all albums by product category.
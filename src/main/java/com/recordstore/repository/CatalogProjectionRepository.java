@@ -0,0 +1,62 @@
+package com.recordstore.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.model.CatalogProjection;
+
+/**
+ * Repository for reading the {@link com.recordstore.model.CatalogProjection} table.
+ * <p>
+ * Offers the same polymorphic listings as {@link ProductRepository}, but every query reads a single flat table
+ * instead of joining the product subclass tables. The table is read-only from JPA.
+ * </p>
+ */
+public interface CatalogProjectionRepository extends JpaRepository<CatalogProjection, Integer>,
+        JpaSpecificationExecutor<CatalogProjection> {
+
+    /**
+     * Finds products by category.
+     *
+     * @param productCategory The category of the product to filter by.
+     * @return A list of products that match the specified category.
+     */
+    List<CatalogProjection> findByProductCategory(PRODUCT_CATEGORY productCategory);
+
+    /**
+     * Finds products by name (partially).
+     *
+     * @param name The name of the product (can be partial).
+     * @return A list of products whose name contains the provided string.
+     */
+    List<CatalogProjection> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Finds products by name and category.
+     *
+     * @param name The name of the product (can be partial).
+     * @param productCategory The category of the product.
+     * @return A list of products that match both criteria.
+     */
+    List<CatalogProjection> findByNameContainingIgnoreCaseAndProductCategory(String name, PRODUCT_CATEGORY productCategory);
+
+    /**
+     * Finds products within a price range.
+     *
+     * @param minCents The minimum price, in cents.
+     * @param maxCents The maximum price, in cents.
+     * @return A list of products whose price is within the specified range.
+     */
+    List<CatalogProjection> findByPriceCentsBetween(Long minCents, Long maxCents);
+
+    /**
+     * Finds products with a stock quantity greater than or equal to the given one.
+     *
+     * @param stock The minimum stock quantity.
+     * @return A list of products that have at least that stock.
+     */
+    List<CatalogProjection> findByStockGreaterThanEqual(Integer stock);
+}
@@ -0,0 +1,268 @@
+package com.recordstore.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.AlbumSearchDTO;
+import com.recordstore.dto.AudioEquipmentSearchDTO;
+import com.recordstore.dto.HeadphoneSearchDTO;
+import com.recordstore.dto.PlayerSearchDTO;
+import com.recordstore.dto.PortableSearchDTO;
+import com.recordstore.dto.ProductSearchDTO;
+import com.recordstore.dto.SpeakerSearchDTO;
+import com.recordstore.dto.TurntableSearchDTO;
+import com.recordstore.dto.VinylSearchDTO;
+import com.recordstore.model.Album;
+import com.recordstore.model.CatalogProjection;
+import com.recordstore.model.Headphone;
+import com.recordstore.model.Player;
+import com.recordstore.model.Portable;
+import com.recordstore.model.Product;
+import com.recordstore.model.Speaker;
+import com.recordstore.model.Turntable;
+import com.recordstore.model.Vinyl;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Factory of JPA {@link Specification}s that translate the search DTOs into a single Criteria query.
+ * <p>
+ * Each category builds on the criteria of its parent class ({@code Vinyl} reuses the {@code Album} criteria,
+ * which reuse the {@code Product} criteria), so every attribute is filtered the same way in every category.
+ * Only the criteria that are set produce a predicate, and all of them are combined with {@code AND}.
+ * Values are always bound as parameters, so queries with the same shape share a cached query plan.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * Specification&lt;Portable&gt; spec = CatalogSpecifications.portables(criteria);
+ * List&lt;Portable&gt; portables = portableRepository.findAll(spec);
+ * </pre>
+ */
+public class CatalogSpecifications {
+
+    private CatalogSpecifications() {
+    }
+
+    /**
+     * Builds the specification for a polymorphic product search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Product> products(ProductSearchDTO criteria) {
+        return (root, query, builder) -> product(new Predicates(root, builder), criteria).toPredicate();
+    }
+
+    /**
+     * Builds the specification for a polymorphic product search over the flat {@link CatalogProjection} table.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<CatalogProjection> catalog(ProductSearchDTO criteria) {
+        return (root, query, builder) -> product(new Predicates(root, builder), criteria).toPredicate();
+    }
+
+    /**
+     * Builds the specification for an album search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Album> albums(AlbumSearchDTO criteria) {
+        return (root, query, builder) -> album(new Predicates(root, builder), criteria).toPredicate();
+    }
+
+    /**
+     * Builds the specification for a vinyl search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Vinyl> vinyls(VinylSearchDTO criteria) {
+        return (root, query, builder) -> album(new Predicates(root, builder), criteria)
+                .in("size", criteria.getVinylSize())
+                .in("rpm", criteria.getRpm())
+                .equalIgnoreCase("color", criteria.getColor())
+                .toPredicate();
+    }
+
+    /**
+     * Builds the specification for a player search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Player> players(PlayerSearchDTO criteria) {
+        return (root, query, builder) -> player(new Predicates(root, builder), criteria).toPredicate();
+    }
+
+    /**
+     * Builds the specification for a portable player search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Portable> portables(PortableSearchDTO criteria) {
+        return (root, query, builder) -> player(new Predicates(root, builder), criteria)
+                .in("portableType", criteria.getPortableType())
+                .in("powerType", criteria.getPowerType())
+                .between("batteryLife", criteria.getMinBatteryLife(), null)
+                .in("resistance", criteria.getResistance())
+                .toPredicate();
+    }
+
+    /**
+     * Builds the specification for a turntable search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Turntable> turntables(TurntableSearchDTO criteria) {
+        return (root, query, builder) -> player(new Predicates(root, builder), criteria)
+                .equal("hasBuiltInPreAmp", criteria.getHasBuiltInPreAmp())
+                .in("rpm", criteria.getRpm())
+                .in("traction", criteria.getTraction())
+                .in("mechanism", criteria.getMechanism())
+                .toPredicate();
+    }
+
+    /**
+     * Builds the specification for a headphone search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Headphone> headphones(HeadphoneSearchDTO criteria) {
+        return (root, query, builder) -> audioEquipment(new Predicates(root, builder), criteria)
+                .in("headphoneType", criteria.getHeadphoneType())
+                .in("anc", criteria.getAnc())
+                .toPredicate();
+    }
+
+    /**
+     * Builds the specification for a speaker search.
+     *
+     * @param criteria The search criteria.
+     * @return The specification matching the criteria.
+     */
+    public static Specification<Speaker> speakers(SpeakerSearchDTO criteria) {
+        return (root, query, builder) -> audioEquipment(new Predicates(root, builder), criteria)
+                .equal("radio", criteria.getRadio())
+                .between("power", criteria.getMinPower(), criteria.getMaxPower())
+                .in("powerType", criteria.getPowerType())
+                .in("resistance", criteria.getResistance())
+                .toPredicate();
+    }
+
+    private static Predicates product(Predicates predicates, ProductSearchDTO criteria) {
+        predicates.containsIgnoreCase("name", criteria.getName())
+                .between("priceCents", Money.toCents(criteria.getMinPrice()), Money.toCents(criteria.getMaxPrice()))
+                .in("productCategory", criteria.getProductCategory());
+        if (Boolean.TRUE.equals(criteria.getInStock())) {
+            predicates.between("stock", 1, null);
+        }
+        return predicates;
+    }
+
+    private static Predicates album(Predicates predicates, AlbumSearchDTO criteria) {
+        return product(predicates, criteria)
+                .equalIgnoreCase("artist", criteria.getArtist())
+                .in("genre", criteria.getGenre())
+                .in("format", criteria.getFormat())
+                .between("year", criteria.getMinYear(), criteria.getMaxYear());
+    }
+
+    private static Predicates player(Predicates predicates, PlayerSearchDTO criteria) {
+        return product(predicates, criteria)
+                .equalIgnoreCase("brand", criteria.getBrand())
+                .equalIgnoreCase("color", criteria.getColor())
+                .between("warranty", criteria.getMinWarranty(), null)
+                .equal("bluetooth", criteria.getBluetooth())
+                .equal("usb", criteria.getUsb())
+                .equal("radio", criteria.getRadio())
+                .equal("aux", criteria.getAux())
+                .equal("rca", criteria.getRca())
+                .equal("builtInSpeaker", criteria.getBuiltInSpeaker());
+    }
+
+    private static Predicates audioEquipment(Predicates predicates, AudioEquipmentSearchDTO criteria) {
+        return product(predicates, criteria)
+                .equalIgnoreCase("brand", criteria.getBrand())
+                .equalIgnoreCase("color", criteria.getColor())
+                .between("batteryLife", criteria.getMinBatteryLife(), null)
+                .between("warranty", criteria.getMinWarranty(), null)
+                .equal("microphoneBuiltIn", criteria.getMicrophoneBuiltIn())
+                .equal("wireless", criteria.getWireless())
+                .equal("bluetooth", criteria.getBluetooth())
+                .equal("usb", criteria.getUsb())
+                .equal("aux", criteria.getAux());
+    }
+
+    /**
+     * Accumulates the predicates of a query, skipping the criteria that are not set.
+     */
+    private static final class Predicates {
+
+        private final Root<?> root;
+        private final CriteriaBuilder builder;
+        private final List<Predicate> predicates = new ArrayList<>();
+
+        private Predicates(Root<?> root, CriteriaBuilder builder) {
+            this.root = root;
+            this.builder = builder;
+        }
+
+        private Predicates equal(String attribute, Object value) {
+            if (value != null) {
+                predicates.add(builder.equal(root.get(attribute), value));
+            }
+            return this;
+        }
+
+        private Predicates equalIgnoreCase(String attribute, String value) {
+            if (value != null && !value.isBlank()) {
+                predicates.add(builder.equal(builder.lower(root.<String>get(attribute)),
+                        value.toLowerCase(Locale.ROOT)));
+            }
+            return this;
+        }
+
+        private Predicates containsIgnoreCase(String attribute, String value) {
+            if (value != null && !value.isBlank()) {
+                predicates.add(builder.like(builder.lower(root.<String>get(attribute)),
+                        "%" + value.toLowerCase(Locale.ROOT) + "%"));
+            }
+            return this;
+        }
+
+        private Predicates in(String attribute, Collection<?> values) {
+            if (values != null && !values.isEmpty()) {
+                predicates.add(root.get(attribute).in(values));
+            }
+            return this;
+        }
+
+        private <Y extends Comparable<? super Y>> Predicates between(String attribute, Y min, Y max) {
+            if (min != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.<Y>get(attribute), min));
+            }
+            if (max != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.<Y>get(attribute), max));
+            }
+            return this;
+        }
+
+        private Predicate toPredicate() {
+            return builder.and(predicates.toArray(new Predicate[0]));
+        }
+    }
+}
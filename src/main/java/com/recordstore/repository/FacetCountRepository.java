@@ -0,0 +1,134 @@
+package com.recordstore.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.index.ProductFacets;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+/**
+ * Repository that computes the facet counts of a category in a single grouped query.
+ * <p>
+ * The query groups the products matching a {@link Specification} by every facet attribute of the entity at
+ * once ({@code SELECT genre, format, ..., COUNT(*) ... GROUP BY genre, format, ...}). The number of rows returned
+ * is bounded by the number of distinct combinations of facet values, and the count of each individual value is
+ * obtained by adding up the rows in memory. This replaces one {@code COUNT} query per attribute value.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * FacetCountsDTO counts = facetCountRepository.countFacets(Vinyl.class, CatalogSpecifications.vinyls(criteria));
+ * </pre>
+ */
+@Repository
+public class FacetCountRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Counts the entities matching a specification, grouped by each facet attribute of the entity.
+     * <p>
+     * Facet attributes are the attributes of the entity listed in {@link ProductFacets#ATTRIBUTES}. Every enum
+     * constant and both boolean values are reported, with a count of zero when no entity has them; entities
+     * where an attribute is {@code null} are left out of that attribute's counts.
+     * </p>
+     *
+     * @param type The entity type of the category.
+     * @param spec The filter restricting the entities to count.
+     * @param <E>  The entity type.
+     * @return The total number of matching entities and the counts of every facet value.
+     */
+    @Transactional(readOnly = true)
+    public <E> FacetCountsDTO countFacets(Class<E> type, Specification<E> spec) {
+        List<SingularAttribute<? super E, ?>> attributes = facetAttributes(type);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<E> root = query.from(type);
+
+        List<Expression<?>> groups = new ArrayList<>();
+        for (SingularAttribute<? super E, ?> attribute : attributes) {
+            Path<?> path = root.get(attribute.getName());
+            groups.add(path);
+        }
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(builder.count(root));
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(groups);
+
+        Map<String, Map<String, Long>> facets = emptyCounts(attributes);
+        long total = 0;
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            long count = (Long) row[row.length - 1];
+            total += count;
+            for (int i = 0; i < attributes.size(); i++) {
+                if (row[i] != null) {
+                    facets.get(attributes.get(i).getName()).merge(valueOf(row[i]), count, Long::sum);
+                }
+            }
+        }
+        return new FacetCountsDTO(total, facets);
+    }
+
+    /**
+     * Returns the facet attributes of an entity type, sorted by name so responses have a stable order.
+     */
+    private <E> List<SingularAttribute<? super E, ?>> facetAttributes(Class<E> type) {
+        Map<String, SingularAttribute<? super E, ?>> attributes = new TreeMap<>();
+        for (SingularAttribute<? super E, ?> attribute : entityManager.getMetamodel().entity(type).getSingularAttributes()) {
+            if (ProductFacets.ATTRIBUTES.contains(attribute.getName())) {
+                attributes.put(attribute.getName(), attribute);
+            }
+        }
+        return new ArrayList<>(attributes.values());
+    }
+
+    /**
+     * Builds the result map with a zero count for every possible value of every attribute.
+     */
+    private static <E> Map<String, Map<String, Long>> emptyCounts(List<SingularAttribute<? super E, ?>> attributes) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (SingularAttribute<? super E, ?> attribute : attributes) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            Class<?> javaType = attribute.getJavaType();
+            if (javaType.isEnum()) {
+                for (Object constant : javaType.getEnumConstants()) {
+                    counts.put(((Enum<?>) constant).name(), 0L);
+                }
+            } else if (javaType == Boolean.class || javaType == boolean.class) {
+                counts.put(Boolean.TRUE.toString(), 0L);
+                counts.put(Boolean.FALSE.toString(), 0L);
+            }
+            facets.put(attribute.getName(), counts);
+        }
+        return facets;
+    }
+
+    private static String valueOf(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+}
@@ -3,7 +3,11 @@ package com.recordstore.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.recordstore.dto.HeadphoneDTO;
 import com.recordstore.enums.HEADPHONES_TYPE;
 import com.recordstore.enums.NOISE_CANCELING;
 import com.recordstore.model.Headphone;
@@ -20,6 +24,10 @@ import com.recordstore.model.Headphone;
  * active noise cancellation (ANC), wireless connectivity, Bluetooth support,
  * warranty period, battery life, and headphone type.
  * </p>
+ * <p>
+ * The {@code find*DTOs} methods read the listings directly as {@link HeadphoneDTO}s with a JPQL constructor
+ * expression, so no managed entity (nor its dirty-checking snapshot) is created for each row.
+ * </p>
  * 
  * Example usage:
  * 
@@ -30,7 +38,7 @@ import com.recordstore.model.Headphone;
  * </pre>
  * 
  */
-public interface HeadphoneRepository extends JpaRepository<Headphone, Integer> {
+public interface HeadphoneRepository extends JpaRepository<Headphone, Integer>, JpaSpecificationExecutor<Headphone> {
 
     /**
      * Finds a headphone by its unique ID.
@@ -98,4 +106,73 @@ public interface HeadphoneRepository extends JpaRepository<Headphone, Integer> {
      * @return a list of headphones with at least the specified warranty period.
      */
     List<Headphone> findByWarrantyGreaterThanEqual(Integer warranty);
+
+    /**
+     * JPQL constructor expression that reads a pair of headphones as a {@link HeadphoneDTO}.
+     */
+    String SELECT_DTO = "SELECT new com.recordstore.dto.HeadphoneDTO(h.id, h.name, h.priceCents, h.stock, h.brand, h.color,"
+            + " h.batteryLife, h.warranty, h.microphoneBuiltIn, h.wireless, h.bluetooth, h.aux, h.headphoneType, h.anc)"
+            + " FROM Headphone h";
+
+    /**
+     * Reads every pair of headphones as a DTO.
+     * 
+     * @return A list with all the headphones.
+     */
+    @Query(SELECT_DTO)
+    List<HeadphoneDTO> findAllDTOs();
+
+    /**
+     * Reads the headphones with a noise canceling type as DTOs.
+     * 
+     * @param anc The noise canceling type.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.anc = :anc")
+    List<HeadphoneDTO> findDTOsByAnc(@Param("anc") NOISE_CANCELING anc);
+
+    /**
+     * Reads the headphones with or without Bluetooth as DTOs.
+     * 
+     * @param bluetooth Whether the headphones have Bluetooth.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.bluetooth = :bluetooth")
+    List<HeadphoneDTO> findDTOsByBluetooth(@Param("bluetooth") Boolean bluetooth);
+
+    /**
+     * Reads the wireless or wired headphones as DTOs.
+     * 
+     * @param wireless Whether the headphones are wireless.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.wireless = :wireless")
+    List<HeadphoneDTO> findDTOsByWireless(@Param("wireless") Boolean wireless);
+
+    /**
+     * Reads the headphones with at least the given warranty as DTOs.
+     * 
+     * @param warranty The minimum warranty in months.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.warranty >= :warranty")
+    List<HeadphoneDTO> findDTOsByWarrantyGreaterThanEqual(@Param("warranty") Integer warranty);
+
+    /**
+     * Reads the headphones with at least the given battery life as DTOs.
+     * 
+     * @param batteryLife The minimum battery life in hours.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.batteryLife >= :batteryLife")
+    List<HeadphoneDTO> findDTOsByBatteryLifeGreaterThanEqual(@Param("batteryLife") Integer batteryLife);
+
+    /**
+     * Reads the headphones of a type as DTOs.
+     * 
+     * @param headphoneType The headphone type.
+     * @return A list of matching headphones.
+     */
+    @Query(SELECT_DTO + " WHERE h.headphoneType = :headphoneType")
+    List<HeadphoneDTO> findDTOsByHeadphoneType(@Param("headphoneType") HEADPHONES_TYPE headphoneType);
 }
@@ -2,6 +2,7 @@ package com.recordstore.repository;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -78,13 +79,27 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     Optional<Order> findTopByUserOrderByOrderIdDesc(User user);
 
     /**
-     * Finds an order by its order ID.
+     * Finds an order by its order ID, together with its user, the user's wishlist, and its products.
      *
      * @param orderId the ID of the order to find
      * @return an Optional containing the order with the specified ID, if found
      */
+    @EntityGraph(attributePaths = { "user", "user.listWishlist", "listOrderProducts", "listOrderProducts.product" })
     Optional<Order> findByOrderId(Integer orderId);
 
+    /**
+     * Finds all orders together with their user, the user's wishlist, and their products.
+     * <p>
+     * The order DTO includes the user and the order lines, so they are fetched in the same query instead of
+     * one select per order, per user and per line.
+     * </p>
+     *
+     * @return a list of all orders with their user and products
+     */
+    @Override
+    @EntityGraph(attributePaths = { "user", "user.listWishlist", "listOrderProducts", "listOrderProducts.product" })
+    List<Order> findAll();
+
     /**
      * Finds all orders for a given user.
      *
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import com.recordstore.model.Player;
 
 
@@ -13,7 +14,7 @@ import org.springframework.lang.NonNull;
  * Repository interface for managing Player entities.
  * Provides methods to interact with the database.
  */
-public interface PlayerRepository extends JpaRepository<Player, Integer> {
+public interface PlayerRepository extends JpaRepository<Player, Integer>, JpaSpecificationExecutor<Player> {
 
     /**
      * Deletes a player by its id.
@@ -50,11 +51,11 @@ public interface PlayerRepository extends JpaRepository<Player, Integer> {
     /**
      * Finds players within a specified price range.
      *
-     * @param minPrice the minimum price.
-     * @param maxPrice the maximum price.
+     * @param minCents the minimum price, in cents.
+     * @param maxCents the maximum price, in cents.
      * @return a list of players within the specified price range.
      */
-    List<Player> findByPriceBetween(Double minPrice, Double maxPrice);
+    List<Player> findByPriceCentsBetween(Long minCents, Long maxCents);
 
     /**
      * Finds players by stock availability.
@@ -4,8 +4,12 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import com.recordstore.dto.PortableDTO;
 import com.recordstore.enums.PORTABLE_TYPE;
 import com.recordstore.enums.POWER_TYPE;
 import com.recordstore.enums.RESISTANCE;
@@ -14,8 +18,10 @@ import com.recordstore.model.Portable;
 /**
  * Repository for managing {@link Portable} entities.
  * It provides methods for CRUD operations on the {@link Portable} entity.
+ * The {@code find*DTOs} methods read the listings directly as {@link PortableDTO}s with a JPQL constructor
+ * expression, so no managed entity (nor its dirty-checking snapshot) is created for each row.
  */
-public interface PortableRepository extends JpaRepository<Portable, Integer> {
+public interface PortableRepository extends JpaRepository<Portable, Integer>, JpaSpecificationExecutor<Portable> {
 
     /**
      * Deletes a portable by its id.
@@ -52,11 +58,11 @@ public interface PortableRepository extends JpaRepository<Portable, Integer> {
     /**
      * Finds players within a specified price range.
      *
-     * @param minPrice the minimum price.
-     * @param maxPrice the maximum price.
+     * @param minCents the minimum price, in cents.
+     * @param maxCents the maximum price, in cents.
      * @return a list of players within the specified price range.
      */
-    List<Portable> findByPriceBetween(Double minPrice, Double maxPrice);
+    List<Portable> findByPriceCentsBetween(Long minCents, Long maxCents);
 
     /**
      * Finds players by stock availability.
@@ -193,4 +199,137 @@ public interface PortableRepository extends JpaRepository<Portable, Integer> {
      * @return a list of portables that match the given warranty period.
      */
     List <Portable> findByWarrantyGreaterThanEqual(Integer warranty);
-}
\ No newline at end of file
+
+    /**
+     * JPQL constructor expression that reads a portable as a {@link PortableDTO}.
+     */
+    String SELECT_DTO = "SELECT new com.recordstore.dto.PortableDTO(p.id, p.name, p.priceCents, p.stock, p.productCategory,"
+            + " p.brand, p.color, p.warranty, p.bluetooth, p.usb, p.radio, p.aux, p.rca, p.builtInSpeaker,"
+            + " p.portableType, p.powerType, p.batteryLife, p.resistance) FROM Portable p";
+
+    /**
+     * Reads every portable as a DTO.
+     * 
+     * @return a list with every portable.
+     */
+    @Query(SELECT_DTO)
+    List<PortableDTO> findAllDTOs();
+
+    /**
+     * Reads the portables with or without an aux port as DTOs.
+     * 
+     * @param aux whether the portable has an aux port.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.aux = :aux")
+    List<PortableDTO> findDTOsByAux(@Param("aux") Boolean aux);
+
+    /**
+     * Reads the portables with or without a USB port as DTOs.
+     * 
+     * @param usb whether the portable has a USB port.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.usb = :usb")
+    List<PortableDTO> findDTOsByUsb(@Param("usb") Boolean usb);
+
+    /**
+     * Reads the portables with or without Bluetooth as DTOs.
+     * 
+     * @param bluetooth whether the portable has Bluetooth.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.bluetooth = :bluetooth")
+    List<PortableDTO> findDTOsByBluetooth(@Param("bluetooth") Boolean bluetooth);
+
+    /**
+     * Reads the portables with or without a radio as DTOs.
+     * 
+     * @param radio whether the portable has a radio.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.radio = :radio")
+    List<PortableDTO> findDTOsByRadio(@Param("radio") Boolean radio);
+
+    /**
+     * Reads the portables with at least the given warranty as DTOs.
+     * 
+     * @param warranty the minimum warranty in months.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.warranty >= :warranty")
+    List<PortableDTO> findDTOsByWarrantyGreaterThanEqual(@Param("warranty") Integer warranty);
+
+    /**
+     * Reads the portables of a brand as DTOs.
+     * 
+     * @param brand the brand.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.brand = :brand")
+    List<PortableDTO> findDTOsByBrand(@Param("brand") String brand);
+
+    /**
+     * Reads the portables of a color as DTOs.
+     * 
+     * @param color the color.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.color = :color")
+    List<PortableDTO> findDTOsByColor(@Param("color") String color);
+
+    /**
+     * Reads the portables with the given stock as DTOs.
+     * 
+     * @param stock the stock quantity.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.stock = :stock")
+    List<PortableDTO> findDTOsByStock(@Param("stock") Integer stock);
+
+    /**
+     * Reads the portables within a price range as DTOs.
+     * 
+     * @param minCents the minimum price, in cents.
+     * @param maxCents the maximum price, in cents.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.priceCents BETWEEN :minCents AND :maxCents")
+    List<PortableDTO> findDTOsByPriceCentsBetween(@Param("minCents") Long minCents, @Param("maxCents") Long maxCents);
+
+    /**
+     * Reads the portables of a type as DTOs.
+     * 
+     * @param portableType the portable type.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.portableType = :portableType")
+    List<PortableDTO> findDTOsByPortableType(@Param("portableType") PORTABLE_TYPE portableType);
+
+    /**
+     * Reads the portables with a power type as DTOs.
+     * 
+     * @param powerType the power type.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.powerType = :powerType")
+    List<PortableDTO> findDTOsByPowerType(@Param("powerType") POWER_TYPE powerType);
+
+    /**
+     * Reads the portables with at least the given battery life as DTOs.
+     * 
+     * @param batteryLife the minimum battery life in hours.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.batteryLife >= :batteryLife")
+    List<PortableDTO> findDTOsByBatteryLifeGreaterThanEqual(@Param("batteryLife") Integer batteryLife);
+
+    /**
+     * Reads the portables with a resistance rating as DTOs.
+     * 
+     * @param resistance the resistance rating.
+     * @return a list of matching portables.
+     */
+    @Query(SELECT_DTO + " WHERE p.resistance = :resistance")
+    List<PortableDTO> findDTOsByResistance(@Param("resistance") RESISTANCE resistance);
+}
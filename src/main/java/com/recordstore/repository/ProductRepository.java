@@ -1,12 +1,21 @@
 package com.recordstore.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.recordstore.enums.PRODUCT_CATEGORY;
 import com.recordstore.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for accessing {@link com.recordstore.model.Product} entities.
  * <p>
@@ -15,7 +24,7 @@ import com.recordstore.model.Product;
  * price, stock, and more.
  * </p>
  */
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
 
     /**
      * Finds products by category.
@@ -36,11 +45,11 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     /**
      * Finds products within a price range.
      * 
-     * @param minPrice The minimum price.
-     * @param maxPrice The maximum price.
+     * @param minCents The minimum price, in cents.
+     * @param maxCents The maximum price, in cents.
      * @return A list of products whose price is within the specified range.
      */
-    List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
+    List<Product> findByPriceCentsBetween(Long minCents, Long maxCents);
 
     /**
      * Finds products with a stock quantity greater than or equal to 1.
@@ -82,4 +91,42 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      */
     void deleteByProductCategory(PRODUCT_CATEGORY productCategory);
 
+
+    /** Number of rows fetched from the database per round trip while streaming the catalog export. */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Streams every product, ordered by ID, for the catalog export.
+     * <p>
+     * The rows are read from an open JDBC result set in batches of {@link #EXPORT_FETCH_SIZE} instead of being
+     * loaded into a list, and the entities are read-only, so Hibernate keeps no snapshot of them. The stream must
+     * be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @return A stream of all products.
+     */
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Product> streamAll();
+
+    /**
+     * Takes units of a product out of its stock, only if there are enough of them.
+     * <p>
+     * The check and the decrement are one conditional {@code UPDATE}, so concurrent reservations of the same
+     * product are serialized by the row lock and the stock can never go below zero. The row stays locked until the
+     * transaction ends. The statement bypasses the persistence context: products already loaded keep their old stock.
+     * </p>
+     *
+     * @param id       The ID of the product.
+     * @param quantity The number of units to take.
+     * @return 1 if the units were taken, or 0 if the product does not exist or has fewer units in stock.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET stock = stock - :quantity WHERE id = :id AND stock >= :quantity",
+            nativeQuery = true)
+    int reserveStock(@Param("id") Integer id, @Param("quantity") int quantity);
 }
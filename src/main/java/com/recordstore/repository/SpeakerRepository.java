@@ -3,6 +3,7 @@ package com.recordstore.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.recordstore.model.Speaker;
 /**
@@ -13,7 +14,7 @@ import com.recordstore.model.Speaker;
  * such as checking existence, deleting, and finding speakers by their ID.
  * </p>
  */
-public interface SpeakerRepository extends JpaRepository<Speaker, Double> {
+public interface SpeakerRepository extends JpaRepository<Speaker, Double>, JpaSpecificationExecutor<Speaker> {
 
     /**
      * Checks if a speaker with the given ID exists in the database.
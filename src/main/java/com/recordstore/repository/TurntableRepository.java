@@ -3,6 +3,7 @@ package com.recordstore.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.recordstore.model.Turntable;
 
@@ -14,7 +15,7 @@ import com.recordstore.model.Turntable;
  * based on specific attributes such as brand, color, warranty, USB compatibility, and Bluetooth support.
  * </p>
  */
-public interface TurntableRepository extends JpaRepository<Turntable, Integer> {
+public interface TurntableRepository extends JpaRepository<Turntable, Integer>, JpaSpecificationExecutor<Turntable> {
 
     /**
      * Finds all turntables that support USB connectivity.
@@ -1,7 +1,9 @@
 package com.recordstore.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.recordstore.model.User;
@@ -46,4 +48,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return An {@link Optional} containing the user if found, or empty if not found.
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Finds all users together with their wishlists.
+     * <p>
+     * The wishlist is the inverse side of a one-to-one association, so it is always loaded eagerly; fetching it in
+     * the same query avoids one extra select per user.
+     * </p>
+     *
+     * @return A list of all users with their wishlists.
+     */
+    @Override
+    @EntityGraph(attributePaths = "listWishlist")
+    List<User> findAll();
 }
@@ -3,7 +3,11 @@ package com.recordstore.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.recordstore.dto.VinylDTO;
 import com.recordstore.enums.ALBUM_FORMAT;
 import com.recordstore.enums.ALBUM_GENRE;
 import com.recordstore.enums.PRODUCT_CATEGORY;
@@ -16,8 +20,12 @@ import com.recordstore.model.Vinyl;
  * as well as custom queries on {@link Vinyl} entities. The repository includes methods for filtering 
  * vinyl records based on various attributes such as genre, format, price range, duration, and more.
  * </p>
+ * <p>
+ * The {@code find*DTOs} methods read the listings directly as {@link VinylDTO}s with a JPQL constructor
+ * expression, so no managed entity (nor its dirty-checking snapshot) is created for each row.
+ * </p>
  */
-public interface VinylRepository extends JpaRepository<Vinyl, Integer> {
+public interface VinylRepository extends JpaRepository<Vinyl, Integer>, JpaSpecificationExecutor<Vinyl> {
 
     /**
      * Finds vinyl records released between the specified years.
@@ -47,20 +55,11 @@ public interface VinylRepository extends JpaRepository<Vinyl, Integer> {
     /**
      * Finds vinyl records within a specified price range.
      * 
-     * @param minPrice The minimum price.
-     * @param maxPrice The maximum price.
+     * @param minCents The minimum price, in cents.
+     * @param maxCents The maximum price, in cents.
      * @return A list of {@link Vinyl} records whose price falls within the specified range.
      */
-    List<Vinyl> findByPriceBetween(Double minPrice, Double maxPrice);
-
-    /**
-     * Finds vinyl records with a duration between the specified values.
-     * 
-     * @param minDuration The minimum duration (in minutes).
-     * @param maxDuration The maximum duration (in minutes).
-     * @return A list of {@link Vinyl} records with a duration within the specified range.
-     */
-    List<Vinyl> findByDurationBetween(String minDuration, String maxDuration);
+    List<Vinyl> findByPriceCentsBetween(Long minCents, Long maxCents);
 
     /**
      * Finds vinyl records by product category.
@@ -117,4 +116,85 @@ public interface VinylRepository extends JpaRepository<Vinyl, Integer> {
      * @return A list of {@link Vinyl} records by the specified artist.
      */
     List<Vinyl> findByArtist(String artist);
+
+    /**
+     * JPQL constructor expression that reads a vinyl as a {@link VinylDTO}.
+     */
+    String SELECT_DTO = "SELECT new com.recordstore.dto.VinylDTO(v.id, v.name, v.priceCents, v.stock, v.artist, v.year,"
+            + " v.format, v.genre, v.duration, v.size, v.rpm, v.color) FROM Vinyl v";
+
+    /**
+     * Reads every vinyl as a DTO.
+     * 
+     * @return A list with every vinyl.
+     */
+    @Query(SELECT_DTO)
+    List<VinylDTO> findAllDTOs();
+
+    /**
+     * Reads the vinyls by an artist as DTOs.
+     * 
+     * @param artist The artist of the vinyl records to search for.
+     * @return A list of vinyls by the specified artist.
+     */
+    @Query(SELECT_DTO + " WHERE v.artist = :artist")
+    List<VinylDTO> findDTOsByArtist(@Param("artist") String artist);
+
+    /**
+     * Reads the vinyls released between two years as DTOs.
+     * 
+     * @param startYear The starting year of the range.
+     * @param endYear The ending year of the range.
+     * @return A list of vinyls released between the specified years.
+     */
+    @Query(SELECT_DTO + " WHERE v.year BETWEEN :startYear AND :endYear")
+    List<VinylDTO> findDTOsByYearBetween(@Param("startYear") int startYear, @Param("endYear") int endYear);
+
+    /**
+     * Reads the vinyls of a genre as DTOs.
+     * 
+     * @param genre The genre to filter by.
+     * @return A list of vinyls of the specified genre.
+     */
+    @Query(SELECT_DTO + " WHERE v.genre = :genre")
+    List<VinylDTO> findDTOsByGenre(@Param("genre") ALBUM_GENRE genre);
+
+    /**
+     * Reads the vinyls of a format as DTOs.
+     * 
+     * @param format The format to filter by.
+     * @return A list of vinyls of the specified format.
+     */
+    @Query(SELECT_DTO + " WHERE v.format = :format")
+    List<VinylDTO> findDTOsByFormat(@Param("format") ALBUM_FORMAT format);
+
+    /**
+     * Reads the vinyls within a price range as DTOs.
+     * 
+     * @param minCents The minimum price, in cents.
+     * @param maxCents The maximum price, in cents.
+     * @return A list of vinyls whose price is within the specified range.
+     */
+    @Query(SELECT_DTO + " WHERE v.priceCents BETWEEN :minCents AND :maxCents")
+    List<VinylDTO> findDTOsByPriceCentsBetween(@Param("minCents") Long minCents, @Param("maxCents") Long maxCents);
+
+    /**
+     * Reads the vinyls within a duration range as DTOs, using the index on the duration in seconds.
+     * 
+     * @param minSeconds The minimum duration, in seconds.
+     * @param maxSeconds The maximum duration, in seconds.
+     * @return A list of vinyls whose duration is within the specified range.
+     */
+    @Query(SELECT_DTO + " WHERE v.durationSeconds BETWEEN :minSeconds AND :maxSeconds")
+    List<VinylDTO> findDTOsByDurationSecondsBetween(@Param("minSeconds") Integer minSeconds,
+            @Param("maxSeconds") Integer maxSeconds);
+
+    /**
+     * Reads the vinyls with a stock greater than the given one as DTOs.
+     * 
+     * @param stock The stock threshold.
+     * @return A list of vinyls with more stock than the threshold.
+     */
+    @Query(SELECT_DTO + " WHERE v.stock > :stock")
+    List<VinylDTO> findDTOsByStockGreaterThan(@Param("stock") Integer stock);
 }
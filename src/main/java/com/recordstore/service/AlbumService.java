@@ -1,11 +1,22 @@
 package com.recordstore.service;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.auxiliar.Durations;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.AlbumSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.model.Album;
 import com.recordstore.dto.AlbumDTO;
 import com.recordstore.enums.ALBUM_FORMAT;
 import com.recordstore.enums.ALBUM_GENRE;
 import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.SearchIndex;
 import com.recordstore.mapper.AlbumMapper;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.AlbumRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.WishlistRepository;
@@ -13,7 +24,11 @@ import com.recordstore.repository.WishlistRepository;
 import jakarta.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +45,8 @@ public class AlbumService {
     private final AlbumMapper albumMapper;
     private final OrderRepository orderRepository;
     private final WishlistRepository wishlistRepository;
+    private final SearchIndex searchIndex;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor for the service that injects the album repository.
@@ -38,14 +55,19 @@ public class AlbumService {
      * @param albumMapper     The album mapper to inject.
      * @param orderRepository The order repository to inject.
      * @param wishlistRepository The wishlist repository to inject.
+     * @param searchIndex        The in-memory text search index to inject.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public AlbumService(AlbumRepository albumRepository, AlbumMapper albumMapper, OrderRepository orderRepository,
-            WishlistRepository wishlistRepository) {
+            WishlistRepository wishlistRepository, SearchIndex searchIndex,
+            FacetCountRepository facetCountRepository) {
         this.albumRepository = albumRepository;
         this.albumMapper = albumMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.searchIndex = searchIndex;
+        this.facetCountRepository = facetCountRepository;
     }
 
     /**
@@ -60,6 +82,50 @@ public class AlbumService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one page of albums using keyset pagination.
+     * The page is read in a single query without counting the total number of albums.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of albums.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<AlbumDTO> getAlbumPage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Album> window = CatalogCursor.scroll(albumRepository, Album.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, albumMapper::toDTO);
+    }
+
+    /**
+     * Searches albums matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching albums.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<AlbumDTO> searchAlbums(AlbumSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Album> window = CatalogCursor.scroll(albumRepository, Album.class,
+                CatalogSpecifications.albums(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, albumMapper::toDTO);
+    }
+
+    /**
+     * Counts the albums matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching albums and the count of every facet value.
+     */
+    public FacetCountsDTO countAlbumsFacets(AlbumSearchDTO criteria) {
+        return facetCountRepository.countFacets(Album.class, CatalogSpecifications.albums(criteria));
+    }
+
     /**
      * Retrieves an album by its id (ID).
      * 
@@ -67,8 +133,9 @@ public class AlbumService {
      * @return An {@link java.util.Optional Optional} with the album found, or empty
      *         if not found.
      */
-    public Optional<Album> getAlbumById(Integer id) {
-        return albumRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.ALBUMS, key = "#id", unless = "#result == null")
+    public Optional<AlbumDTO> getAlbumById(Integer id) {
+        return albumRepository.findById(id).map(albumMapper::toDTO);
     }
 
     /**
@@ -132,7 +199,7 @@ public class AlbumService {
      * @return List of albums within the specified price range.
      */
     public List<AlbumDTO> getAlbumsByPriceRange(Double minPrice, Double maxPrice) {
-        return albumRepository.findByPriceBetween(minPrice, maxPrice)
+        return albumRepository.findByPriceCentsBetween(Money.toCents(minPrice), Money.toCents(maxPrice))
                 .stream()
                 .map(albumMapper::toDTO)
                 .collect(Collectors.toList());
@@ -144,9 +211,11 @@ public class AlbumService {
      * @param minDuration The minimum duration (in "mm:ss" format).
      * @param maxDuration The maximum duration (in "mm:ss" format).
      * @return List of albums whose duration is within the specified range.
+     * @throws IllegalArgumentException If a duration is not written as "mm:ss" or "h:mm:ss".
      */
     public List<AlbumDTO> getAlbumsByDuration(String minDuration, String maxDuration) {
-        return albumRepository.findByDurationBetween(minDuration, maxDuration)
+        return albumRepository.findByDurationSecondsBetween(Durations.toSeconds(minDuration),
+                Durations.toSeconds(maxDuration))
                 .stream()
                 .map(albumMapper::toDTO)
                 .collect(Collectors.toList());
@@ -158,6 +227,7 @@ public class AlbumService {
      * @param album The album to save.
      * @return The saved album with its assigned id.
      */
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#result.id", condition = "#result != null")
     public AlbumDTO saveAlbum(Album album) {
         validateYear(album.getYear()); // Validate the album before saving
         return albumMapper.toDTO(albumRepository.save(album));
@@ -169,6 +239,7 @@ public class AlbumService {
      * @param id The id of the album to delete.
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#id")
     public void deleteAlbum(Integer id) {
 
       // Check if the turntable is associated with any order
@@ -196,6 +267,7 @@ public class AlbumService {
      * @param updatedAlbum The album with the updated details.
      * @return The updated album.
      */
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#id")
     public AlbumDTO updateAlbum(Integer id, Album updatedAlbum) {
         // Check if the album exists
         Optional<Album> existingAlbumOpt = albumRepository.findById(id);
@@ -307,7 +379,10 @@ public class AlbumService {
      * 
      * @param genre The genre of the albums.
      * @return The number of albums of that genre.
+     * @deprecated Issues one query per value; use {@link #countAlbumsFacets}, which counts
+     *             every value of every facet attribute in a single query.
      */
+    @Deprecated
     public Integer countAlbumsByGenre(ALBUM_GENRE genre) {
         return albumRepository.countByGenre(genre);
     }
@@ -317,7 +392,10 @@ public class AlbumService {
      * 
      * @param format The format of the albums.
      * @return The number of albums of that format.
+     * @deprecated Issues one query per value; use {@link #countAlbumsFacets}, which counts
+     *             every value of every facet attribute in a single query.
      */
+    @Deprecated
     public Integer countAlbumsByFormat(ALBUM_FORMAT format) {
         return albumRepository.countByFormat(format);
     }
@@ -329,7 +407,11 @@ public class AlbumService {
      * @return List of albums whose name contains the provided string.
      */
     public List<AlbumDTO> findAlbumsByName(String name) {
-        return albumRepository.findByNameContainingIgnoreCase(name)
+        // Texts shorter than a trigram cannot be answered by the index
+        List<Album> albums = searchIndex.findByNameContaining(name, Album.class)
+                .map(ids -> SearchIndex.inRankOrder(ids, albumRepository.findAllById(ids)))
+                .orElseGet(() -> albumRepository.findByNameContainingIgnoreCase(name));
+        return albums
                 .stream()
                 .map(albumMapper::toDTO)
                 .collect(Collectors.toList());
@@ -0,0 +1,81 @@
+package com.recordstore.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recordstore.model.Product;
+import com.recordstore.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service that exports the whole catalog as NDJSON (one JSON object per line).
+ * <p>
+ * The products are read from a database cursor ({@link ProductRepository#streamAll()}) and written to the output
+ * one at a time, and every product is detached from the persistence context once written. Neither the result list
+ * nor the persistence context grows with the catalog, so memory use stays constant whatever its size.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * StreamingResponseBody body = out -&gt; catalogExportService.exportProducts(out);
+ * </pre>
+ */
+@Service
+public class CatalogExportService {
+
+    private static final int NEWLINE = '\n';
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor for the service that injects the product repository and the application object mapper.
+     *
+     * @param productRepository The product repository to inject.
+     * @param objectMapper      The object mapper; its indentation is turned off so that every product fits in one line.
+     */
+    @Autowired
+    public CatalogExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every product, ordered by ID, as one line of JSON.
+     * <p>
+     * The output is not closed, so the caller can finish a wrapping stream (e.g. gzip) after the last line.
+     * </p>
+     *
+     * @param out The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportProducts(OutputStream out) throws IOException {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                out.write(writer.writeValueAsBytes(product));
+                out.write(NEWLINE);
+                entityManager.detach(product);
+            }
+        }
+        out.flush();
+    }
+}
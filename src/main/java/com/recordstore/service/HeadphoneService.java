@@ -1,20 +1,32 @@
 package com.recordstore.service;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.HeadphoneSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.HeadphoneDTO;
 import com.recordstore.enums.HEADPHONES_TYPE;
 import com.recordstore.enums.NOISE_CANCELING;
 import com.recordstore.mapper.HeadphoneMapper;
 import com.recordstore.model.Headphone;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.HeadphoneRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.WishlistRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service that handles the business logic related to Headphones.
@@ -31,6 +43,7 @@ public class HeadphoneService {
     private final HeadphoneMapper headphoneMapper;
     private OrderRepository orderRepository;
     private WishlistRepository wishlistRepository;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor to initialize the HeadphoneService with dependencies.
@@ -39,14 +52,17 @@ public class HeadphoneService {
      * @param headphoneMapper    The mapper for converting between Headphone and
      * @param orderRepository    The repository for accessing Order entities.
      * @param wishlistRepository The repository for accessing Wishlist entities.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public HeadphoneService(HeadphoneRepository headphoneRepository, HeadphoneMapper headphoneMapper,
-            OrderRepository orderRepository, WishlistRepository wishlistRepository) {
+            OrderRepository orderRepository, WishlistRepository wishlistRepository,
+            FacetCountRepository facetCountRepository) {
         this.headphoneRepository = headphoneRepository;
         this.headphoneMapper = headphoneMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.facetCountRepository = facetCountRepository;
     }
 
     /**
@@ -54,11 +70,53 @@ public class HeadphoneService {
      * 
      * @return List of all headphones as DTOs.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getAllHeadphones() {
-        List<Headphone> headphones = headphoneRepository.findAll();
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findAllDTOs();
+    }
+
+    /**
+     * Retrieves one page of headphones using keyset pagination.
+     * The page is read in a single query without counting the total number of headphones.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of headphones.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<HeadphoneDTO> getHeadphonePage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Headphone> window = CatalogCursor.scroll(headphoneRepository, Headphone.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, headphoneMapper::toDTO);
+    }
+
+    /**
+     * Searches headphones matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching headphones.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<HeadphoneDTO> searchHeadphones(HeadphoneSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Headphone> window = CatalogCursor.scroll(headphoneRepository, Headphone.class,
+                CatalogSpecifications.headphones(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, headphoneMapper::toDTO);
+    }
+
+    /**
+     * Counts the headphones matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching headphones and the count of every facet value.
+     */
+    public FacetCountsDTO countHeadphonesFacets(HeadphoneSearchDTO criteria) {
+        return facetCountRepository.countFacets(Headphone.class, CatalogSpecifications.headphones(criteria));
     }
 
     /**
@@ -67,6 +125,7 @@ public class HeadphoneService {
      * @param id The id of the headphone.
      * @return The headphone DTO.
      */
+    @Cacheable(cacheNames = CacheConfig.HEADPHONES, key = "#id", unless = "#result == null")
     public HeadphoneDTO getHeadphoneById(Integer id) {
         Optional<Headphone> headphone = headphoneRepository.findById(id);
         if (headphone.isPresent()) {
@@ -82,6 +141,7 @@ public class HeadphoneService {
      * @param headphonesDTO The headphone DTO to be created.
      * @return The created headphone DTO.
      */
+    @CacheEvict(cacheNames = CacheConfig.HEADPHONES, key = "#result.id", condition = "#result != null")
     public HeadphoneDTO saveHeadphone(HeadphoneDTO headphonesDTO) {
         Headphone headphone = headphoneMapper.toEntity(headphonesDTO);
         Headphone createdHeadphone = headphoneRepository.save(headphone);
@@ -96,6 +156,7 @@ public class HeadphoneService {
      * @param headphonesDTO The new details of the headphone.
      * @return The updated headphone DTO.
      */
+    @CacheEvict(cacheNames = CacheConfig.HEADPHONES, key = "#id")
     public HeadphoneDTO updateHeadphone(Integer id, HeadphoneDTO headphonesDTO) {
         Optional<Headphone> optionalHeadphone = headphoneRepository.findById(id);
         if (optionalHeadphone.isPresent()) {
@@ -145,6 +206,7 @@ public class HeadphoneService {
      * 
      * @param id The id of the headphone to delete.
      */
+    @CacheEvict(cacheNames = CacheConfig.HEADPHONES, key = "#id")
     public void deleteHeadphone(Integer id) {
             // Check if the product is associated with any order
             boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -168,11 +230,9 @@ public class HeadphoneService {
      * @param anc True to find headphones with active noise cancellation.
      * @return A list of headphones with ANC.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesWithANC(NOISE_CANCELING anc) {
-        List<Headphone> headphones = headphoneRepository.findByAnc(anc);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByAnc(anc);
     }
 
     /**
@@ -181,11 +241,9 @@ public class HeadphoneService {
      * @param bluetooth True to find headphones with Bluetooth.
      * @return A list of headphones with Bluetooth.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesWithBluetooth(Boolean bluetooth) {
-        List<Headphone> headphones = headphoneRepository.findByBluetooth(bluetooth);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByBluetooth(bluetooth);
     }
 
     /**
@@ -194,11 +252,9 @@ public class HeadphoneService {
      * @param wireless True to find wireless headphones.
      * @return A list of wireless headphones.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesWireless(Boolean wireless) {
-        List<Headphone> headphones = headphoneRepository.findByWireless(wireless);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByWireless(wireless);
     }
 
     /**
@@ -209,11 +265,9 @@ public class HeadphoneService {
      * @return A list of headphones with the specified warranty period greater than
      *         or equal to the specified value..
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesByWarranty(Integer warranty) {
-        List<Headphone> headphones = headphoneRepository.findByWarrantyGreaterThanEqual(warranty);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByWarrantyGreaterThanEqual(warranty);
     }
 
     /**
@@ -224,11 +278,9 @@ public class HeadphoneService {
      * @return A list of headphones with a battery life greater than or equal to the
      *         specified value.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesByBatteryLife(Integer batteryLife) {
-        List<Headphone> headphones = headphoneRepository.findByBatteryLifeGreaterThanEqual(batteryLife);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByBatteryLifeGreaterThanEqual(batteryLife);
     }
 
     /**
@@ -237,10 +289,8 @@ public class HeadphoneService {
      * @param headphoneType The type of headphones (e.g., over-ear, in-ear).
      * @return A list of headphones of the specified type.
      */
+    @Transactional(readOnly = true)
     public List<HeadphoneDTO> getHeadphonesByType(HEADPHONES_TYPE headphoneType) {
-        List<Headphone> headphones = headphoneRepository.findByHeadphoneType(headphoneType);
-        return headphones.stream()
-                .map(headphoneMapper::toDTO)
-                .collect(Collectors.toList());
+        return headphoneRepository.findDTOsByHeadphoneType(headphoneType);
     }
 }
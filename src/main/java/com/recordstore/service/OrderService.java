@@ -1,24 +1,33 @@
 package com.recordstore.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.recordstore.dto.UserDTO;
 import com.recordstore.enums.ORDER_STATUS;
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.enums.STOCK_RESERVATION;
+import com.recordstore.event.ProductChangedEvent;
 import com.recordstore.model.Order;
 import com.recordstore.model.OrderProduct;
 import com.recordstore.model.Product;
 import com.recordstore.model.User;
 import com.recordstore.repository.OrderRepository;
+import com.recordstore.repository.ProductRepository;
 import com.recordstore.repository.UserRepository;
+import com.recordstore.stock.HotStock;
+import com.recordstore.stock.StockSwitchingException;
 import com.recordstore.mapper.UserMapper;
 
 /**
@@ -32,30 +41,49 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final UserMapper userMapper;
     private UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final TrackingNumberGenerator trackingNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotStock hotStock;
 
     /**
      * Constructor with dependency injection for the order repository and user
      * mapper.
      *
-     * @param orderRepository Order repository.
-     * @param userMapper      User mapper for converting User entities to DTOs.
-     * @param userRepository   User repository for fetching user data.
+     * @param orderRepository   Order repository.
+     * @param userMapper        User mapper for converting User entities to DTOs.
+     * @param userRepository    User repository for fetching user data.
+     * @param productRepository       Product repository for resolving the products of an order.
+     * @param trackingNumberGenerator Generator of the tracking numbers of new orders.
+     * @param eventPublisher          Publisher of the stock changes made by orders.
+     * @param hotStock                In-memory stock of the products in flash-sale mode.
      */
     @Autowired
-    public OrderService(OrderRepository orderRepository, UserMapper userMapper, UserRepository userRepository) {
+    public OrderService(OrderRepository orderRepository, UserMapper userMapper, UserRepository userRepository,
+            ProductRepository productRepository, TrackingNumberGenerator trackingNumberGenerator,
+            ApplicationEventPublisher eventPublisher, HotStock hotStock) {
         this.orderRepository = orderRepository;
         this.userMapper = userMapper;
         this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.trackingNumberGenerator = trackingNumberGenerator;
+        this.eventPublisher = eventPublisher;
+        this.hotStock = hotStock;
     }
 
     // Creation methods
 
     /**
      * Creates a new order for a user with a list of products.
+     * <p>
+     * The stock of the products is reserved first, as in {@link #placeOrder(User, List)}.
+     * </p>
      *
      * @param user          User placing the order.
      * @param orderProducts List of products in the order.
      * @return The created order saved in the database.
+     * @throws IllegalArgumentException If the user is null, the list is empty, or a product does not exist.
+     * @throws IllegalStateException    If a product does not have enough units in stock.
      */
     @Transactional
     public Order saveOrder(User user, List<OrderProduct> orderProducts) {
@@ -66,6 +94,8 @@ public class OrderService {
         if (orderProducts == null || orderProducts.isEmpty()) {
             throw new IllegalArgumentException("The product list cannot be empty.");
         }
+        validateLines(orderProducts);
+        takeStock(orderProducts);
 
         Order order = new Order();
         order.setUser(user); // Assign user
@@ -84,43 +114,110 @@ public class OrderService {
         return orderRepository.save(order); // Save the order with the updated total
     }
 
+    /**
+     * Places a new order for a user with a list of products, in as few round trips as possible.
+     * <p>
+     * Unlike {@link #saveOrder(User, List)}, the products of all lines are read in one {@code IN} query, the total
+     * is added up in memory from their current prices, and the order and its lines are inserted together when the
+     * transaction is flushed (the lines in one JDBC batch). The prices sent by the client are ignored.
+     * </p>
+     * <p>
+     * The stock of the products is reserved first, see {@link #reserveStock(List)}. If any product does not have
+     * enough units, the exception rolls back the whole transaction, including the units already taken for other
+     * lines, and no order is created.
+     * </p>
+     *
+     * @param user          User placing the order; only its ID is used.
+     * @param orderProducts Lines of the order; only the product ID and the quantity of each line are used.
+     * @return The placed order, with its lines and total.
+     * @throws IllegalArgumentException If the user or a product does not exist, the list is empty, or a line has no
+     *                                  product or a quantity below 1.
+     * @throws IllegalStateException    If a product does not have enough units in stock, or a
+     *                                  {@link StockSwitchingException} if a product is entering or leaving flash-sale
+     *                                  mode and the order can be retried.
+     */
+    @Transactional
+    public Order placeOrder(User user, List<OrderProduct> orderProducts) {
+        if (user == null || user.getId() == null) {
+            throw new IllegalArgumentException("User cannot be null.");
+        }
+        if (orderProducts == null || orderProducts.isEmpty()) {
+            throw new IllegalArgumentException("The product list cannot be empty.");
+        }
+        validateLines(orderProducts);
+
+        User customer = userRepository.findById(user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + user.getId()));
+        Map<Integer, Product> products = takeStock(orderProducts);
+
+        Order order = new Order();
+        order.setUser(customer);
+        order.setStatus(ORDER_STATUS.PENDING);
+        order.setTrackingNumber(generateTrackingNumber(customer));
+
+        long total = 0;
+        for (OrderProduct orderProduct : orderProducts) {
+            Product product = products.get(orderProduct.getProduct().getId());
+            if (product.getPriceCents() == null) {
+                throw new IllegalArgumentException("The product has no price: " + product.getId());
+            }
+            OrderProduct line = new OrderProduct(order, product, orderProduct.getQuantity());
+            order.getListOrderProducts().add(line);
+            total = Math.addExact(total, Math.multiplyExact(line.getUnitPriceCents(), line.getQuantity()));
+        }
+        order.setTotalAmountCents(total);
+
+        return orderRepository.save(order); // New order: persisted with its lines, inserted on flush
+    }
+
     /**
      * Adds a product to an existing order.
      *
      * @param order    Order to which the product will be added.
      * @param product  Product to add.
      * @param quantity Quantity of the product.
+     * @return The order with the new line and its updated total.
+     * @throws IllegalArgumentException If the order or the product does not exist, or the quantity is below 1.
+     * @throws IllegalStateException    If the product does not have enough units in stock.
      */
     @Transactional
-    public void addProduct(Order order, Product product, int quantity) {
-        if (product == null || quantity <= 0) {
-            throw new IllegalArgumentException("Product cannot be null and quantity must be greater than 0.");
-        }
-
-        OrderProduct newOrderProduct = new OrderProduct();
-        newOrderProduct.setOrder(order);
-        newOrderProduct.setProduct(product);
-        newOrderProduct.setQuantity(quantity);
-        order.getListOrderProducts().add(newOrderProduct);
-
-        calculateTotal(order); // Update total after adding product
+    public Order addProduct(Order order, Product product, int quantity) {
+        return addProducts(order, List.of(new OrderProduct(null, product, quantity)));
     }
 
     /**
      * Adds multiple products to an existing order.
+     * <p>
+     * The stock of the products is reserved first, as in {@link #placeOrder(User, List)}, and the lines are priced
+     * from the catalog; the prices sent by the client are ignored.
+     * </p>
      *
-     * @param order         Order to which the products will be added.
+     * @param order         Order to which the products will be added; only its ID is used.
      * @param orderProducts List of products to add.
+     * @return The order with the new lines and its updated total.
+     * @throws IllegalArgumentException If the order or a product does not exist, the list is empty, or a line has
+     *                                  no product or a quantity below 1.
+     * @throws IllegalStateException    If a product does not have enough units in stock.
      */
     @Transactional
-    public void addProducts(Order order, List<OrderProduct> orderProducts) {
+    public Order addProducts(Order order, List<OrderProduct> orderProducts) {
         if (orderProducts == null || orderProducts.isEmpty()) {
             throw new IllegalArgumentException("The product list cannot be empty.");
         }
+        validateLines(orderProducts);
+        Order managedOrder = orderRepository.findByIdWithProducts(order.getOrderId())
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + order.getOrderId()));
+        Map<Integer, Product> products = takeStock(orderProducts);
 
         for (OrderProduct orderProduct : orderProducts) {
-            addProduct(order, orderProduct.getProduct(), orderProduct.getQuantity());
+            Product product = products.get(orderProduct.getProduct().getId());
+            managedOrder.getListOrderProducts()
+                    .add(new OrderProduct(managedOrder, product, orderProduct.getQuantity()));
         }
+        orderRepository.saveAndFlush(managedOrder); // Inserts the new lines before the total reads them back
+
+        calculateTotal(managedOrder); // Update total after adding products
+        return managedOrder;
     }
 
     // Update methods
@@ -214,33 +311,22 @@ public class OrderService {
     /**
      * Generates a tracking number for an order.
      *
-     * Tracking number format: RCD-{userId}-{userPrefix}-{datePart}-{orderNumber}
-     * <ul>
-     * <li>RCD = Record Store Delivery</li>
-     * <li>userId = User ID with 3 digits</li>
-     * <li>userPrefix = First 3 letters of the user's name in uppercase</li>
-     * <li>datePart = Date in ddMMyy format</li>
-     * <li>orderNumber = Incremental order number for the user</li>
-     * </ul>
+     * Tracking number format: RCD-{userId}-{userPrefix}-{datePart}-{serial}, where
+     * the serial is unique across all orders; see {@link TrackingNumberGenerator}.
+     * No query is run, so concurrent orders of the same user cannot collide.
      *
      * @param user User for whom the tracking number is generated.
      * @return Generated tracking number.
      */
     public String generateTrackingNumber(User user) {
-        // Usar el ID directamente como Integer y formatearlo como un número de 3
-        // dígitos
-        String userId = String.format("%03d", user.getId()); // ID con 3 dígitos
-        String userPrefix = user.getName().substring(0, 3).toUpperCase(); // Primeras 3 letras del nombre
-        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("ddMMyy")); // Fecha en formato ddMMyy
-        int orderCount = orderRepository.countByUser(user) + 1; // Número incremental
-        String orderNumber = String.format("%03d", orderCount); // Formato de 3 dígitos
-
-        return String.format("RCD-%s-%s-%s-%s", userId, userPrefix, datePart, orderNumber);
+        return trackingNumberGenerator.next(user);
     }
 
     /**
      * Calculates the total amount of an order based on the products and their
      * quantities.
+     * The total is added up in cents, so it is exact and needs no rounding. Lines
+     * without a unit price take the current price of their product.
      *
      * @param order Order whose total amount will be calculated.
      */
@@ -253,16 +339,114 @@ public class OrderService {
         order.getListOrderProducts().clear();
         order.getListOrderProducts().addAll(fetchedOrderProducts);
 
-        // Calculate the total
-        Double total = 0.0;
+        // Calculate the total in cents
+        long total = 0;
         for (OrderProduct op : order.getListOrderProducts()) {
-            total += op.getProduct().getPrice() * op.getQuantity();
+            if (op.getUnitPriceCents() == null) {
+                op.setUnitPriceCents(op.getProduct().getPriceCents());
+            }
+            total += op.getUnitPriceCents() * op.getQuantity();
         }
-        // Round the total to two decimal places
-        BigDecimal bd = new BigDecimal(total);
-        total = bd.setScale(2, RoundingMode.HALF_UP).doubleValue();
 
-        order.setTotalAmount(total);
+        order.setTotalAmountCents(total);
+    }
+
+    /**
+     * Checks that every order line has a product ID and a quantity of at least 1.
+     *
+     * @param orderProducts Lines of the order.
+     * @throws IllegalArgumentException If a line has no product or a quantity below 1.
+     */
+    private static void validateLines(List<OrderProduct> orderProducts) {
+        for (OrderProduct orderProduct : orderProducts) {
+            if (orderProduct == null || orderProduct.getProduct() == null || orderProduct.getProduct().getId() == null
+                    || orderProduct.getQuantity() == null || orderProduct.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Product cannot be null and quantity must be greater than 0.");
+            }
+        }
+    }
+
+    /**
+     * Reserves the stock of the order lines and reads their products, publishing the stock change of every product
+     * reserved in the database. Every path that adds lines to an order goes through this method.
+     *
+     * @param orderProducts Lines of the order, each with a product ID and a quantity.
+     * @return The products by ID.
+     * @throws IllegalArgumentException If a product does not exist.
+     * @throws IllegalStateException    If a product does not have enough units in stock.
+     */
+    private Map<Integer, Product> takeStock(List<OrderProduct> orderProducts) {
+        Set<Integer> hotProductIds = reserveStock(orderProducts);
+        Map<Integer, Product> products = findProducts(orderProducts);
+        products.values().stream()
+                .filter(product -> !hotProductIds.contains(product.getId())) // Published by HotStock once written
+                .forEach(product -> eventPublisher.publishEvent(
+                        new ProductChangedEvent(product, PRODUCT_CHANGE.STOCK))); // Stock changed outside the entities
+        return products;
+    }
+
+    /**
+     * Takes the units of every product of the order lines out of its stock.
+     * <p>
+     * The quantities of the lines are added up per product and each product gets one conditional {@code UPDATE}
+     * ({@link ProductRepository#reserveStock(Integer, int)}), in ascending ID order: concurrent orders lock the
+     * rows of their common products in the same order, so they wait for each other instead of deadlocking.
+     * </p>
+     * <p>
+     * The units of products in flash-sale mode are taken from their in-memory stock instead ({@link HotStock}),
+     * without touching the database. A product that is not (or no longer) flagged falls through to the database.
+     * </p>
+     *
+     * @param orderProducts Lines of the order, each with a product ID and a quantity.
+     * @return The IDs of the products whose units were taken from the in-memory stock.
+     * @throws IllegalArgumentException If a product does not exist.
+     * @throws IllegalStateException    If a product does not have enough units in stock.
+     */
+    private Set<Integer> reserveStock(List<OrderProduct> orderProducts) {
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (OrderProduct orderProduct : orderProducts) {
+            quantities.merge(orderProduct.getProduct().getId(), orderProduct.getQuantity(), Math::addExact);
+        }
+        Set<Integer> hotProductIds = new HashSet<>();
+        quantities.forEach((productId, quantity) -> {
+            STOCK_RESERVATION inMemory = hotStock.reserve(productId, quantity);
+            if (inMemory == STOCK_RESERVATION.RESERVED) {
+                hotProductIds.add(productId);
+            } else if (inMemory == STOCK_RESERVATION.NOT_ENOUGH) {
+                throw new IllegalStateException("Not enough stock of product " + productId + " for " + quantity
+                        + " units.");
+            } else if (productRepository.reserveStock(productId, quantity) == 0) {
+                if (!productRepository.existsById(productId)) {
+                    throw new IllegalArgumentException("Products not found: [" + productId + "]");
+                }
+                throw new IllegalStateException("Not enough stock of product " + productId + " for " + quantity
+                        + " units.");
+            } else if (hotStock.isHot(productId)) {
+                // Flagged meanwhile: its stock may have been loaded into memory without this update
+                throw new StockSwitchingException(productId, "to memory");
+            }
+        });
+        return hotProductIds;
+    }
+
+    /**
+     * Reads the products of the order lines in one query.
+     *
+     * @param orderProducts Lines of the order, each with a product ID.
+     * @return The products by ID.
+     * @throws IllegalArgumentException If a product does not exist.
+     */
+    private Map<Integer, Product> findProducts(List<OrderProduct> orderProducts) {
+        Set<Integer> productIds = orderProducts.stream()
+                .map(orderProduct -> orderProduct.getProduct().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != productIds.size()) {
+            productIds.removeAll(products.keySet());
+            throw new IllegalArgumentException("Products not found: " + productIds);
+        }
+        return products;
     }
 
     /**
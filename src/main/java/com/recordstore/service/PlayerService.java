@@ -6,11 +6,25 @@ import java.util.stream.Collectors;
 
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.PlayerSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.PlayerDTO;
+import com.recordstore.index.SearchIndex;
 import com.recordstore.mapper.PlayerMapper;
 import com.recordstore.model.Player;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.PlayerRepository;
 import com.recordstore.repository.WishlistRepository;
@@ -30,6 +44,8 @@ public class PlayerService {
     private final PlayerMapper playerMapper;
     private final OrderRepository orderRepository;
     private final WishlistRepository wishlistRepository;
+    private final SearchIndex searchIndex;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor to initialize the PlayerService with dependencies.
@@ -38,14 +54,19 @@ public class PlayerService {
      * @param playerMapper The mapper for converting between Player and PlayerDTO.
      * @param orderRepository The repository for accessing Order entities.
      * @param wishlistRepository The repository for accessing Wishlist entities.
+     * @param searchIndex        The in-memory text search index to inject.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public PlayerService(PlayerRepository playerRepository, PlayerMapper playerMapper, OrderRepository orderRepository,
-            WishlistRepository wishlistRepository) {
+            WishlistRepository wishlistRepository, SearchIndex searchIndex,
+            FacetCountRepository facetCountRepository) {
         this.playerRepository = playerRepository;
         this.playerMapper = playerMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.searchIndex = searchIndex;
+        this.facetCountRepository = facetCountRepository;
 
     }
 
@@ -55,6 +76,7 @@ public class PlayerService {
      * @param playerDTO The PlayerDTO with the details of the player to be created.
      * @return The created PlayerDTO.
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYERS, key = "#result.id", condition = "#result != null")
     public PlayerDTO savePlayer(PlayerDTO playerDTO) {
         // Convert PlayerDTO to Player entity
         Player player = playerMapper.toEntity(playerDTO);
@@ -72,6 +94,7 @@ public class PlayerService {
      * @param playerDTO The PlayerDTO containing the updated details.
      * @return The updated PlayerDTO, or null if the Player was not found.
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYERS, key = "#id")
     public PlayerDTO updatePlayer(Integer id, PlayerDTO playerDTO) {
         Optional<Player> existingPlayerOpt = playerRepository.findById(id);
 
@@ -132,6 +155,7 @@ public class PlayerService {
      * @param id The id of the Player to be deleted.
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PLAYERS, key = "#id")
     public void deletePlayer(Integer id) {
             // Check if the product is associated with any order
             boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -155,6 +179,7 @@ public class PlayerService {
      * @param id The id of the Player to be retrieved.
      * @return The PlayerDTO if found, otherwise an empty Optional.
      */
+    @Cacheable(cacheNames = CacheConfig.PLAYERS, key = "#id", unless = "#result == null")
     public Optional<PlayerDTO> getPlayerById(Integer id) {
         Optional<Player> playerOpt = playerRepository.findById(id);
         return playerOpt.map(playerMapper::toDTO);
@@ -172,6 +197,50 @@ public class PlayerService {
                 .toList();
     }
 
+    /**
+     * Retrieves one page of players using keyset pagination.
+     * The page is read in a single query without counting the total number of players.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of players.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<PlayerDTO> getPlayerPage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Player> window = CatalogCursor.scroll(playerRepository, Player.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, playerMapper::toDTO);
+    }
+
+    /**
+     * Searches players matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching players.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<PlayerDTO> searchPlayers(PlayerSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Player> window = CatalogCursor.scroll(playerRepository, Player.class,
+                CatalogSpecifications.players(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, playerMapper::toDTO);
+    }
+
+    /**
+     * Counts the players matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching players and the count of every facet value.
+     */
+    public FacetCountsDTO countPlayersFacets(PlayerSearchDTO criteria) {
+        return facetCountRepository.countFacets(Player.class, CatalogSpecifications.players(criteria));
+    }
+
     /**
      * Retrieves a list of players that have an aux port.
      * 
@@ -274,7 +343,7 @@ public class PlayerService {
      * @return a list of players within the price range.
      */
     public List<PlayerDTO> findByPriceRange(Double minPrice, Double maxPrice) {
-        return playerRepository.findByPriceBetween(minPrice, maxPrice)
+        return playerRepository.findByPriceCentsBetween(Money.toCents(minPrice), Money.toCents(maxPrice))
                 .stream()
                 .map(player -> playerMapper.toDTO(player))
                 .collect(Collectors.toList());
@@ -287,7 +356,11 @@ public class PlayerService {
      * @return a list of players with the specified model name.
      */
     public List<PlayerDTO> findByName(String name) {
-        return playerRepository.findByNameContaining(name)
+        // Texts shorter than a trigram cannot be answered by the index
+        List<Player> players = searchIndex.findByNameContaining(name, Player.class)
+                .map(ids -> SearchIndex.inRankOrder(ids, playerRepository.findAllById(ids)))
+                .orElseGet(() -> playerRepository.findByNameContaining(name));
+        return players
                 .stream()
                 .map(player -> playerMapper.toDTO(player))
                 .collect(Collectors.toList());
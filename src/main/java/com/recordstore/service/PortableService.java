@@ -5,19 +5,33 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.PortableSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.PortableDTO;
 import com.recordstore.enums.PORTABLE_TYPE;
 import com.recordstore.enums.POWER_TYPE;
 import com.recordstore.enums.RESISTANCE;
+import com.recordstore.index.SearchIndex;
 import com.recordstore.mapper.PortableMapper;
 import com.recordstore.model.Portable;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.PortableRepository;
 import com.recordstore.repository.WishlistRepository;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 /**
  * Service class responsible for managing operations related to the Portable
@@ -41,6 +55,8 @@ public class PortableService {
     private final PortableMapper portableMapper;
     private final OrderRepository orderRepository;
     private final WishlistRepository wishlistRepository;
+    private final SearchIndex searchIndex;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor to initialize the PortableService with dependencies.
@@ -49,14 +65,19 @@ public class PortableService {
      * @param portableMapper   The mapper for converting between Portable and
      * @param orderRepository   The repository for accessing Order entities.
      * @param wishlistRepository The repository for accessing Wishlist entities.
+     * @param searchIndex        The in-memory text search index to inject.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public PortableService(PortableRepository portableRepository, PortableMapper portableMapper,
-            OrderRepository orderRepository, WishlistRepository wishlistRepository) {
+            OrderRepository orderRepository, WishlistRepository wishlistRepository, SearchIndex searchIndex,
+            FacetCountRepository facetCountRepository) {
         this.portableRepository = portableRepository;
         this.portableMapper = portableMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.searchIndex = searchIndex;
+        this.facetCountRepository = facetCountRepository;
     }
 
     /**
@@ -68,6 +89,7 @@ public class PortableService {
      *                    be created.
      * @return The created PortableDTO containing the details of the saved portable.
      */
+    @CacheEvict(cacheNames = CacheConfig.PORTABLES, key = "#result.id", condition = "#result != null")
     public PortableDTO savePortable(PortableDTO portableDTO) {
         // Convert PortableDTO to Portable entity
         Portable portable = portableMapper.toEntity(portableDTO);
@@ -86,6 +108,7 @@ public class PortableService {
      * @param portableDTO The PortableDTO containing the updated details.
      * @return The updated PortableDTO, or null if the Portable was not found.
      */
+    @CacheEvict(cacheNames = CacheConfig.PORTABLES, key = "#id")
     public PortableDTO updatePortable(Integer id, PortableDTO portableDTO) {
         Optional<Portable> existingPortableOpt = portableRepository.findById(id);
 
@@ -150,6 +173,7 @@ public class PortableService {
      *                                  or a wishlist.
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PORTABLES, key = "#id")
     public void deletePortable(Integer id) {
             // Check if the product is associated with any order
             boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -176,6 +200,7 @@ public class PortableService {
      * @return An Optional containing the PortableDTO if found, or an empty
      *         Optional.
      */
+    @Cacheable(cacheNames = CacheConfig.PORTABLES, key = "#id", unless = "#result == null")
     public Optional<PortableDTO> getPortableById(Integer id) {
         Optional<Portable> portableOpt = portableRepository.findById(id);
         return portableOpt.map(portableMapper::toDTO);
@@ -186,11 +211,53 @@ public class PortableService {
      * 
      * @return A list of PortableDTOs representing all available portables.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> getAllPortables() {
-        List<Portable> portable = portableRepository.findAll();
-        return portable.stream()
-                .map(portableMapper::toDTO)
-                .collect(Collectors.toList());
+        return portableRepository.findAllDTOs();
+    }
+
+    /**
+     * Retrieves one page of portable players using keyset pagination.
+     * The page is read in a single query without counting the total number of portable players.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of portable players.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<PortableDTO> getPortablePage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Portable> window = CatalogCursor.scroll(portableRepository, Portable.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, portableMapper::toDTO);
+    }
+
+    /**
+     * Searches portable players matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching portable players.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<PortableDTO> searchPortables(PortableSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Portable> window = CatalogCursor.scroll(portableRepository, Portable.class,
+                CatalogSpecifications.portables(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, portableMapper::toDTO);
+    }
+
+    /**
+     * Counts the portables matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching portables and the count of every facet value.
+     */
+    public FacetCountsDTO countPortablesFacets(PortableSearchDTO criteria) {
+        return facetCountRepository.countFacets(Portable.class, CatalogSpecifications.portables(criteria));
     }
 
     // Filtering Methods
@@ -201,11 +268,9 @@ public class PortableService {
      * @param aux Whether the portable has an aux port.
      * @return A list of PortableDTOs representing portables with an aux port.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByAux(Boolean aux) {
-        return portableRepository.findByAux(aux)
-                .stream()
-                .map(portableMapper::toDTO)
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByAux(aux);
     }
 
     /**
@@ -214,11 +279,9 @@ public class PortableService {
      * @param usb Whether the portable has a USB port.
      * @return A list of PortableDTOs representing portables with a USB port.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByUsb(Boolean usb) {
-        return portableRepository.findByUsb(usb)
-                .stream()
-                .map(portableMapper::toDTO)
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByUsb(usb);
     }
 
     /**
@@ -228,11 +291,9 @@ public class PortableService {
      * @return A list of PortableDTOs representing portables with Bluetooth
      *         connectivity.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByBluetooth(Boolean bluetooth) {
-        return portableRepository.findByBluetooth(bluetooth)
-                .stream()
-                .map(portableMapper::toDTO)
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByBluetooth(bluetooth);
     }
 
     /**
@@ -243,11 +304,9 @@ public class PortableService {
      * @return A list of PortableDTOs representing portable players with a warranty
      *         period equal to or greater than the specified value.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByWarranty(Integer warranty) {
-        return portableRepository.findByWarrantyGreaterThanEqual(warranty)
-                .stream()
-                .map(portableMapper::toDTO)
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByWarrantyGreaterThanEqual(warranty);
     }
 
     /**
@@ -262,11 +321,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified brand.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByBrand(String brand) {
-        return portableRepository.findByBrand(brand)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByBrand(brand);
     }
 
     /**
@@ -281,11 +338,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified color.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByColor(String color) {
-        return portableRepository.findByColor(color)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByColor(color);
     }
 
     /**
@@ -301,11 +356,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified stock.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByStock(Integer stock) {
-        return portableRepository.findByStock(stock)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByStock(stock);
     }
 
     /**
@@ -321,11 +374,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables
      *         within the specified price range.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByPriceRange(Double minPrice, Double maxPrice) {
-        return portableRepository.findByPriceBetween(minPrice, maxPrice)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByPriceCentsBetween(Money.toCents(minPrice), Money.toCents(maxPrice));
     }
 
     /**
@@ -341,7 +392,11 @@ public class PortableService {
      *         the specified model name.
      */
     public List<PortableDTO> findByName(String name) {
-        return portableRepository.findByNameContaining(name)
+        // Texts shorter than a trigram cannot be answered by the index
+        List<Portable> portables = searchIndex.findByNameContaining(name, Portable.class)
+                .map(ids -> SearchIndex.inRankOrder(ids, portableRepository.findAllById(ids)))
+                .orElseGet(() -> portableRepository.findByNameContaining(name));
+        return portables
                 .stream()
                 .map(portable -> portableMapper.toDTO(portable))
                 .collect(Collectors.toList());
@@ -360,11 +415,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables that
      *         have a radio.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByRadio(Boolean radio) {
-        return portableRepository.findByRadio(radio)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByRadio(radio);
     }
 
     /**
@@ -380,11 +433,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified portable type.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByPortableType(PORTABLE_TYPE portableType) {
-        return portableRepository.findByPortableType(portableType)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByPortableType(portableType);
     }
 
     /**
@@ -399,11 +450,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified power type.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByPowerType(POWER_TYPE powerType) {
-        return portableRepository.findByPowerType(powerType)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByPowerType(powerType);
     }
 
     /**
@@ -419,11 +468,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         battery life greater than or equal to the specified value.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByBatteryLife(Integer batteryLife) {
-        return portableRepository.findByBatteryLifeGreaterThanEqual(batteryLife)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByBatteryLifeGreaterThanEqual(batteryLife);
     }
 
     /**
@@ -439,11 +486,9 @@ public class PortableService {
      * @return a list of {@link PortableDTO} objects representing the portables with
      *         the specified resistance.
      */
+    @Transactional(readOnly = true)
     public List<PortableDTO> findByResistance(RESISTANCE resistance) {
-        return portableRepository.findByResistance(resistance)
-                .stream()
-                .map(portable -> portableMapper.toDTO(portable))
-                .collect(Collectors.toList());
+        return portableRepository.findDTOsByResistance(resistance);
     }
 
 }
@@ -1,64 +1,192 @@
 package com.recordstore.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.ProductDTO;
+import com.recordstore.dto.ProductSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.enums.PRODUCT_CATEGORY;
+import com.recordstore.index.FacetIndex;
+import com.recordstore.index.SearchIndex;
+import com.recordstore.mapper.ProductMapper;
+import com.recordstore.model.CatalogProjection;
 import com.recordstore.model.Product;
+import com.recordstore.repository.CatalogProjectionRepository;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.ProductRepository;
 import com.recordstore.repository.WishlistRepository;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Service for managing products within the system.
  * 
  * This service provides methods to retrieve, save, and delete products.
  * It also allows for retrieving products filtered by category.
+ * Polymorphic listings read the flat {@link CatalogProjection} table instead of joining the product subclass tables.
  */
 @Service
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final CatalogProjectionRepository catalogProjectionRepository;
     private OrderRepository orderRepository;
     private WishlistRepository wishlistRepository;
+    private final FacetIndex facetIndex;
+    private final SearchIndex searchIndex;
+    private final FacetCountRepository facetCountRepository;
+    private final ProductMapper productMapper;
 
     /**
      * Constructor for the service that injects the product repository.
      * 
      * @param productRepository The product repository to inject.
+     * @param catalogProjectionRepository The catalog projection repository to inject.
      * @param orderRepository   The order repository to inject.
      * @param wishlistRepository The wishlist repository to inject.
+     * @param facetIndex        The in-memory facet index to inject.
+     * @param searchIndex       The in-memory text search index to inject.
+     * @param facetCountRepository The repository computing the facet counts.
+     * @param productMapper     The mapper converting products to the DTO of their type.
      */
     @Autowired
-    public ProductService(ProductRepository productRepository, OrderRepository orderRepository,
-            WishlistRepository wishlistRepository) {
+    public ProductService(ProductRepository productRepository, CatalogProjectionRepository catalogProjectionRepository,
+            OrderRepository orderRepository,
+            WishlistRepository wishlistRepository, FacetIndex facetIndex, SearchIndex searchIndex,
+            FacetCountRepository facetCountRepository, ProductMapper productMapper) {
         this.productRepository = productRepository;
+        this.catalogProjectionRepository = catalogProjectionRepository;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.facetIndex = facetIndex;
+        this.searchIndex = searchIndex;
+        this.facetCountRepository = facetCountRepository;
+        this.productMapper = productMapper;
     }
 
     /**
      * Retrieves all products, including subclasses of
-     * {@link com.recordstore.model.Product}.
+     * {@link com.recordstore.model.Product}, from the flat catalog projection.
      * 
      * @return A list of all products available in the system.
      */
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public List<CatalogProjection> getAllProducts() {
+        return catalogProjectionRepository.findAll();
+    }
+
+    /**
+     * Retrieves one page of products using keyset pagination.
+     * The page is read in a single query without counting the total number of products.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of products.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<CatalogProjection> getProductPage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<CatalogProjection> window = CatalogCursor.scroll(catalogProjectionRepository, CatalogProjection.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, Function.identity());
+    }
+
+    /**
+     * Searches products matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching products.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<CatalogProjection> searchProducts(ProductSearchDTO criteria, CATALOG_SORT sort, String cursor,
+            Integer size) {
+        Window<CatalogProjection> window = CatalogCursor.scroll(catalogProjectionRepository, CatalogProjection.class,
+                CatalogSpecifications.catalog(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, Function.identity());
+    }
+
+    /**
+     * Counts the products matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching products and the count of every facet value.
+     */
+    public FacetCountsDTO countProductsFacets(ProductSearchDTO criteria) {
+        return facetCountRepository.countFacets(CatalogProjection.class, CatalogSpecifications.catalog(criteria));
+    }
+
+    /**
+     * Retrieves the products matching a facet filter, resolved by the in-memory {@link FacetIndex}.
+     * Only the products of the requested page are read from the catalog projection, by primary key.
+     * 
+     * @param facets The facet filters, written as {@code attribute:value} (e.g. {@code genre:ROCK}).
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of matching products, ordered by ID.
+     * @throws IllegalArgumentException If a facet filter or the cursor is not valid.
+     */
+    public CatalogPageDTO<CatalogProjection> filterByFacets(List<String> facets, String cursor, Integer size) {
+        BitSet matches = facetIndex.match(FacetIndex.parse(facets));
+        int from = CatalogCursor.decodeId(cursor);
+        int pageSize = CatalogCursor.pageSize(size);
+
+        List<Integer> ids = new ArrayList<>(pageSize);
+        for (int id = matches.nextSetBit(from); id >= 0 && ids.size() < pageSize; id = matches.nextSetBit(id + 1)) {
+            ids.add(id);
+        }
+        boolean hasNext = !ids.isEmpty() && matches.nextSetBit(ids.get(ids.size() - 1) + 1) >= 0;
+
+        List<CatalogProjection> products = new ArrayList<>(catalogProjectionRepository.findAllById(ids));
+        products.sort(Comparator.comparing(CatalogProjection::getId));
+        return new CatalogPageDTO<>(products, products.size(), hasNext,
+                hasNext ? CatalogCursor.encodeId(ids.get(ids.size() - 1)) : null);
+    }
+
+    /**
+     * Performs a relevance-ranked full-text search over product names and album artists,
+     * resolved by the in-memory {@link SearchIndex}. Misspelled words still match products
+     * that share most of their letters.
+     * 
+     * @param query The text to search for.
+     * @param limit The maximum number of results, or {@code null} for the default page size.
+     * @return The matching products, best match first.
+     */
+    public List<CatalogProjection> textSearch(String query, Integer limit) {
+        List<Integer> ids = searchIndex.search(query, Product.class, CatalogCursor.pageSize(limit));
+        return SearchIndex.inRankOrder(ids, catalogProjectionRepository.findAllById(ids), CatalogProjection::getId);
     }
 
     /**
      * Retrieves a product by its ID (primary key).
      * 
      * @param id The ID of the product to retrieve.
-     * @return An {@link java.util.Optional Optional} containing the found product,
-     *         or empty if not found.
+     * @return An {@link java.util.Optional Optional} containing the DTO of the found product (of its concrete
+     *         type), or empty if not found.
      */
-    public Optional<Product> getProductById(Integer id) {
-        return productRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id", unless = "#result == null")
+    public Optional<ProductDTO> getProductById(Integer id) {
+        return productRepository.findById(id).map(productMapper::toDTO);
     }
 
     /**
@@ -68,6 +196,7 @@ public class ProductService {
      * @param product The product to save.
      * @return The saved product, with its assigned ID.
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#result.id", condition = "#result != null")
     public Product saveProduct(Product product) {
         return productRepository.save(product);
     }
@@ -77,6 +206,7 @@ public class ProductService {
      * 
      * @param id The ID of the product to delete.
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Integer id) {
         // Check if the product is associated with any order
         boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -100,8 +230,8 @@ public class ProductService {
      * @param productCategory The category of products to filter by.
      * @return A list of products matching the provided category.
      */
-    public List<Product> getProductsByCategory(PRODUCT_CATEGORY productCategory) {
-        return productRepository.findByProductCategory(productCategory);
+    public List<CatalogProjection> getProductsByCategory(PRODUCT_CATEGORY productCategory) {
+        return catalogProjectionRepository.findByProductCategory(productCategory);
     }
 
     /**
@@ -110,8 +240,12 @@ public class ProductService {
      * @param name The product name (can be partial).
      * @return A list of products whose name contains the provided string.
      */
-    public List<Product> getProductsByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name);
+    public List<CatalogProjection> getProductsByName(String name) {
+        // Texts shorter than a trigram cannot be answered by the index
+        return searchIndex.findByNameContaining(name, Product.class)
+                .map(ids -> SearchIndex.inRankOrder(ids, catalogProjectionRepository.findAllById(ids),
+                        CatalogProjection::getId))
+                .orElseGet(() -> catalogProjectionRepository.findByNameContainingIgnoreCase(name));
     }
 
     /**
@@ -122,8 +256,8 @@ public class ProductService {
      * @param productCategory The category of the product.
      * @return A list of products matching both criteria.
      */
-    public List<Product> getProductsByNameAndCategory(String name, PRODUCT_CATEGORY productCategory) {
-        return productRepository.findByNameContainingIgnoreCaseAndProductCategory(name, productCategory);
+    public List<CatalogProjection> getProductsByNameAndCategory(String name, PRODUCT_CATEGORY productCategory) {
+        return catalogProjectionRepository.findByNameContainingIgnoreCaseAndProductCategory(name, productCategory);
     }
 
     /**
@@ -133,8 +267,8 @@ public class ProductService {
      * @param maxPrice The maximum price.
      * @return A list of products whose price is within the specified range.
      */
-    public List<Product> getProductsByPriceRange(Double minPrice, Double maxPrice) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
+    public List<CatalogProjection> getProductsByPriceRange(Double minPrice, Double maxPrice) {
+        return catalogProjectionRepository.findByPriceCentsBetween(Money.toCents(minPrice), Money.toCents(maxPrice));
     }
 
     /**
@@ -142,7 +276,7 @@ public class ProductService {
      * 
      * @return A list of products that have at least one unit in stock.
      */
-    public List<Product> getAvailableProducts() {
-        return productRepository.findByStockGreaterThanEqual(1);
+    public List<CatalogProjection> getAvailableProducts() {
+        return catalogProjectionRepository.findByStockGreaterThanEqual(1);
     }
 }
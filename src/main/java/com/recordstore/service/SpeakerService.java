@@ -1,14 +1,26 @@
 package com.recordstore.service;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.SpeakerSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.model.Speaker;
 import com.recordstore.dto.SpeakerDTO;
 import com.recordstore.mapper.SpeakerMapper;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.SpeakerRepository;
 import com.recordstore.repository.WishlistRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +39,7 @@ public class SpeakerService {
     private final SpeakerMapper speakerMapper;
     private OrderRepository orderRepository;
     private WishlistRepository wishlistRepository;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor to initialize the SpeakerService with dependencies.
@@ -35,14 +48,17 @@ public class SpeakerService {
      * @param speakerMapper    The mapper for converting between Speaker and SpeakerDTO.
      * @param orderRepository   The repository for accessing Order entities.
      * @param wishlistRepository The repository for accessing Wishlist entities.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public SpeakerService(SpeakerRepository speakerRepository, SpeakerMapper speakerMapper,
-            OrderRepository orderRepository, WishlistRepository wishlistRepository) {
+            OrderRepository orderRepository, WishlistRepository wishlistRepository,
+            FacetCountRepository facetCountRepository) {
         this.speakerRepository = speakerRepository;
         this.speakerMapper = speakerMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.facetCountRepository = facetCountRepository;
     }
 
     /**
@@ -57,6 +73,50 @@ public class SpeakerService {
                 .toList();
     }
 
+    /**
+     * Retrieves one page of speakers using keyset pagination.
+     * The page is read in a single query without counting the total number of speakers.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of speakers.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<SpeakerDTO> getSpeakerPage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Speaker> window = CatalogCursor.scroll(speakerRepository, Speaker.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, speakerMapper::toDTO);
+    }
+
+    /**
+     * Searches speakers matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching speakers.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<SpeakerDTO> searchSpeakers(SpeakerSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Speaker> window = CatalogCursor.scroll(speakerRepository, Speaker.class,
+                CatalogSpecifications.speakers(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, speakerMapper::toDTO);
+    }
+
+    /**
+     * Counts the speakers matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching speakers and the count of every facet value.
+     */
+    public FacetCountsDTO countSpeakersFacets(SpeakerSearchDTO criteria) {
+        return facetCountRepository.countFacets(Speaker.class, CatalogSpecifications.speakers(criteria));
+    }
+
     /**
      * Fetch a speaker by its unique id.
      *
@@ -64,6 +124,7 @@ public class SpeakerService {
      * @return an Optional containing the speaker in DTO format if found, or empty
      *         if not.
      */
+    @Cacheable(cacheNames = CacheConfig.SPEAKERS, key = "#id", unless = "#result == null")
     public Optional<SpeakerDTO> getSpeakerById(Integer id) {
         Optional<Speaker> speaker = speakerRepository.findById(id);
         return speaker.map(speakerMapper::toDTO);
@@ -75,6 +136,7 @@ public class SpeakerService {
      * @param speakerDTO the speaker to be added in DTO format.
      * @return the added speaker in DTO format.
      */
+    @CacheEvict(cacheNames = CacheConfig.SPEAKERS, key = "#result.id", condition = "#result != null")
     public SpeakerDTO addSpeaker(SpeakerDTO speakerDTO) {
         Speaker speaker = speakerMapper.toEntity(speakerDTO);
         Speaker savedSpeaker = speakerRepository.save(speaker);
@@ -89,6 +151,7 @@ public class SpeakerService {
      * @return the updated speaker in DTO format.
      * @throws Exception if the speaker with the given id does not exist.
      */
+    @CacheEvict(cacheNames = CacheConfig.SPEAKERS, key = "#id")
     public SpeakerDTO updateSpeaker(Integer id, SpeakerDTO speakerDTO) throws Exception {
         if (!speakerRepository.existsById(id)) {
             throw new Exception("Speaker not found for id: " + id);
@@ -104,6 +167,7 @@ public class SpeakerService {
      *
      * @param id the id of the speaker to delete.
      */
+    @CacheEvict(cacheNames = CacheConfig.SPEAKERS, key = "#id")
     public void deleteSpeaker(Integer id) {
         // Check if the product is associated with any order
         boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
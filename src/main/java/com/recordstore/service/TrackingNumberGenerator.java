@@ -0,0 +1,215 @@
+package com.recordstore.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.recordstore.model.User;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates the tracking numbers of new orders without reading the database for each one.
+ * <p>
+ * Tracking number format: {@code RCD-{userId}-{userPrefix}-{datePart}-{serial}}
+ * </p>
+ * <ul>
+ * <li>RCD = Record Store Delivery</li>
+ * <li>userId = User ID with at least 3 digits</li>
+ * <li>userPrefix = First 3 letters of the user's name in uppercase</li>
+ * <li>datePart = Date in ddMMyy format</li>
+ * <li>serial = Number of at least 3 digits, unique across all orders</li>
+ * </ul>
+ * <p>
+ * The serial comes from the {@value #SEQUENCE} sequence, which is incremented by {@value #BLOCK_SIZE}: every read
+ * of the sequence reserves a block of that many serials for this node, which are then handed out from memory with
+ * an atomic counter. Nodes sharing the database reserve disjoint blocks, so their tracking numbers never collide,
+ * not even for concurrent orders of the same user. Once half of a block is used, the next one is reserved in the
+ * background, so checkouts only wait for the database when the first block of the node is reserved.
+ * </p>
+ * <p>
+ * The background reservation runs on a dedicated thread of the generator, not on the common
+ * {@code ForkJoinPool}: it blocks on a JDBC connection, and a blocked common pool would stall every parallel
+ * stream and asynchronous task of the application.
+ * </p>
+ * <p>
+ * Serials left in the block of a stopped node are never used, so serials are unique but not consecutive.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * String trackingNumber = trackingNumberGenerator.next(user); // RCD-007-ANA-161026-1042
+ * </pre>
+ */
+@Component
+public class TrackingNumberGenerator {
+
+    /**
+     * Sequence the blocks of serials are reserved from.
+     */
+    public static final String SEQUENCE = "tracking_number_seq";
+
+    /**
+     * Number of serials reserved by every read of the sequence; must match its {@code INCREMENT BY}.
+     */
+    public static final int BLOCK_SIZE = 1000;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("ddMMyy");
+    private static final int MIN_DIGITS = 3;
+    private static final int PREFIX_LENGTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService reserver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tracking-number-reserver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Block current = Block.EXHAUSTED;
+    private CompletableFuture<Block> reserved;
+    private volatile DatePart datePart = new DatePart(LocalDate.MIN, "");
+
+    /**
+     * Constructor for the generator that injects the JDBC template used to reserve blocks.
+     *
+     * @param jdbcTemplate The JDBC template of the application database.
+     */
+    @Autowired
+    public TrackingNumberGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Generates the tracking number of a new order.
+     *
+     * @param user User placing the order, with its ID and name.
+     * @return A tracking number no other order has.
+     * @throws IllegalArgumentException If the user has no ID or no name.
+     */
+    public String next(User user) {
+        if (user == null || user.getId() == null || user.getName() == null || user.getName().isBlank()) {
+            throw new IllegalArgumentException("The user must have an ID and a name.");
+        }
+        String name = user.getName().trim();
+        StringBuilder trackingNumber = new StringBuilder(32).append("RCD-");
+        appendPadded(trackingNumber, user.getId());
+        trackingNumber.append('-')
+                .append(name.substring(0, Math.min(PREFIX_LENGTH, name.length())).toUpperCase())
+                .append('-')
+                .append(today())
+                .append('-');
+        appendPadded(trackingNumber, nextSerial());
+        return trackingNumber.toString();
+    }
+
+    /**
+     * Stops the background reservation thread when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        reserver.shutdownNow();
+    }
+
+    /**
+     * Takes the next serial of the current block, moving to the next block when it is used up.
+     */
+    private long nextSerial() {
+        while (true) {
+            Block block = current;
+            int index = block.taken.getAndIncrement();
+            if (index < BLOCK_SIZE) {
+                if (index == BLOCK_SIZE / 2) {
+                    reserveInBackground();
+                }
+                return block.start + index;
+            }
+            replace(block);
+        }
+    }
+
+    /**
+     * Starts reserving the next block, unless it is already reserved or being reserved.
+     */
+    private synchronized void reserveInBackground() {
+        if (reserved == null) {
+            reserved = CompletableFuture.supplyAsync(this::reserve, reserver);
+        }
+    }
+
+    /**
+     * Replaces a used-up block with the next one, waiting for it if it is not reserved yet. Threads that find the
+     * block already replaced return at once; if the background reservation failed, it is retried here.
+     */
+    private synchronized void replace(Block usedUp) {
+        if (current != usedUp) {
+            return;
+        }
+        Block next = reserved != null ? reserved.exceptionally(failure -> null).join() : null;
+        reserved = null;
+        current = next != null ? next : reserve();
+    }
+
+    /**
+     * Reserves a block of serials from the sequence.
+     */
+    private Block reserve() {
+        Long start = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+        return new Block(start);
+    }
+
+    /**
+     * Returns today's date in ddMMyy format, formatting it once a day.
+     */
+    private String today() {
+        LocalDate date = LocalDate.now();
+        DatePart cached = datePart;
+        if (!cached.date().equals(date)) {
+            cached = new DatePart(date, date.format(DATE_FORMAT));
+            datePart = cached;
+        }
+        return cached.text();
+    }
+
+    /**
+     * Appends a number left-padded with zeros to at least {@value #MIN_DIGITS} digits.
+     */
+    private static void appendPadded(StringBuilder builder, long number) {
+        String digits = Long.toString(number);
+        for (int i = digits.length(); i < MIN_DIGITS; i++) {
+            builder.append('0');
+        }
+        builder.append(digits);
+    }
+
+    /**
+     * A block of reserved serials, starting at {@code start}, and how many of them have been taken.
+     */
+    private static final class Block {
+
+        private static final Block EXHAUSTED = new Block(0);
+
+        static {
+            EXHAUSTED.taken.set(BLOCK_SIZE);
+        }
+
+        private final long start;
+        private final AtomicInteger taken = new AtomicInteger();
+
+        private Block(long start) {
+            this.start = start;
+        }
+    }
+
+    /**
+     * A date and its ddMMyy text.
+     */
+    private record DatePart(LocalDate date, String text) {
+    }
+}
@@ -1,11 +1,23 @@
 package com.recordstore.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.TurntableSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.dto.TurntableDTO;
 import com.recordstore.mapper.TurntableMapper;
 import com.recordstore.model.Turntable;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.TurntableRepository;
 import com.recordstore.repository.WishlistRepository;
@@ -32,13 +44,16 @@ public class TurntableService {
     private final TurntableMapper turntableMapper;
     private final OrderRepository orderRepository;
     private final WishlistRepository wishlistRepository;
+    private final FacetCountRepository facetCountRepository;
     
     @Autowired
-    public TurntableService (TurntableRepository turntableRepository, TurntableMapper turntableMapper, OrderRepository orderRepository, WishlistRepository wishlistRepository) {
+    public TurntableService (TurntableRepository turntableRepository, TurntableMapper turntableMapper, OrderRepository orderRepository, WishlistRepository wishlistRepository,
+            FacetCountRepository facetCountRepository) {
         this.turntableRepository = turntableRepository;
         this.turntableMapper = turntableMapper;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.facetCountRepository = facetCountRepository;
     }
 
         /**
@@ -53,12 +68,57 @@ public class TurntableService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one page of turntables using keyset pagination.
+     * The page is read in a single query without counting the total number of turntables.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of turntables.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<TurntableDTO> getTurntablePage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Turntable> window = CatalogCursor.scroll(turntableRepository, Turntable.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, turntableMapper::toDTO);
+    }
+
+    /**
+     * Searches turntables matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching turntables.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<TurntableDTO> searchTurntables(TurntableSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Turntable> window = CatalogCursor.scroll(turntableRepository, Turntable.class,
+                CatalogSpecifications.turntables(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, turntableMapper::toDTO);
+    }
+
+    /**
+     * Counts the turntables matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching turntables and the count of every facet value.
+     */
+    public FacetCountsDTO countTurntablesFacets(TurntableSearchDTO criteria) {
+        return facetCountRepository.countFacets(Turntable.class, CatalogSpecifications.turntables(criteria));
+    }
+
     /**
      * Retrieves a turntable by its ID.
      *
      * @param id The ID of the turntable.
      * @return The corresponding TurntableDTO, if found.
      */
+    @Cacheable(cacheNames = CacheConfig.TURNTABLES, key = "#id", unless = "#result == null")
     public Optional<TurntableDTO> getTurntableById(Integer id) {
         return turntableRepository.findById(id)
                 .map(turntableMapper::toDTO);
@@ -70,6 +130,7 @@ public class TurntableService {
      * @param dto The DTO representing the turntable to save.
      * @return The saved TurntableDTO.
      */
+    @CacheEvict(cacheNames = CacheConfig.TURNTABLES, key = "#result.id", condition = "#result != null")
     public TurntableDTO saveTurntable(TurntableDTO dto) {
         Turntable turntable = turntableMapper.toEntity(dto);
         return turntableMapper.toDTO(turntableRepository.save(turntable));
@@ -80,6 +141,7 @@ public class TurntableService {
      *
      * @param id The ID of the turntable to delete.
      */
+    @CacheEvict(cacheNames = CacheConfig.TURNTABLES, key = "#id")
     public void deleteTurntable(Integer id) {
         // Check if the turntable is associated with any order
         boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -182,6 +244,7 @@ public class TurntableService {
      * @return The updated Turntable, or an empty Optional if the Turntable is not
      *         found.
      */
+    @CacheEvict(cacheNames = CacheConfig.TURNTABLES, key = "#id")
     public Optional<Turntable> updateTurntable(Integer id, Turntable turntable) {
         Optional<Turntable> existingTurntable = turntableRepository.findById(id);
         if (existingTurntable.isPresent()) {
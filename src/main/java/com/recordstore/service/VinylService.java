@@ -1,20 +1,35 @@
 package com.recordstore.service;
 
+import com.recordstore.CacheConfig;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.auxiliar.Durations;
+import com.recordstore.auxiliar.Money;
+import com.recordstore.dto.CatalogPageDTO;
+import com.recordstore.dto.FacetCountsDTO;
+import com.recordstore.dto.VinylSearchDTO;
+import com.recordstore.enums.CATALOG_SORT;
 import com.recordstore.model.Vinyl;
 import com.recordstore.dto.VinylDTO;
 import com.recordstore.enums.ALBUM_FORMAT;
 import com.recordstore.enums.ALBUM_GENRE;
 import com.recordstore.enums.PRODUCT_CATEGORY;
 import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.index.SearchIndex;
 import com.recordstore.mapper.VinylMapper;
+import com.recordstore.repository.CatalogSpecifications;
+import com.recordstore.repository.FacetCountRepository;
 import com.recordstore.repository.OrderRepository;
 import com.recordstore.repository.VinylRepository;
 import com.recordstore.repository.WishlistRepository;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +46,8 @@ public class VinylService {
     private final VinylMapper vinylMapper;
     private final OrderRepository orderRepository;
     private final WishlistRepository wishlistRepository;
+    private final SearchIndex searchIndex;
+    private final FacetCountRepository facetCountRepository;
 
     /**
      * Constructor for the service that injects the repositorys.
@@ -38,13 +55,18 @@ public class VinylService {
      * @param vinylRepository    The vinyl repository to inject.
      * @param orderRepository    The order repository to inject.
      * @param wishlistRepository The wishlist repository to inject.
+     * @param searchIndex        The in-memory text search index to inject.
+     * @param facetCountRepository The repository computing the facet counts.
      */
     @Autowired
     public VinylService(VinylRepository vinylRepository, VinylMapper vinylMapper, OrderRepository orderRepository,
-            WishlistRepository wishlistRepository) {
+            WishlistRepository wishlistRepository, SearchIndex searchIndex,
+            FacetCountRepository facetCountRepository) {
         this.vinylRepository = vinylRepository;
         this.orderRepository = orderRepository;
         this.wishlistRepository = wishlistRepository;
+        this.searchIndex = searchIndex;
+        this.facetCountRepository = facetCountRepository;
         this.vinylMapper = vinylMapper;
     }
 
@@ -53,11 +75,53 @@ public class VinylService {
      * 
      * @return List of all vinyls available in the system.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getAllVinyls() {
-        return vinylRepository.findAll()
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findAllDTOs();
+    }
+
+    /**
+     * Retrieves one page of vinyls using keyset pagination.
+     * The page is read in a single query without counting the total number of vinyls.
+     * 
+     * @param sort   The sort key of the listing.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size.
+     * @return The requested page of vinyls.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<VinylDTO> getVinylPage(CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Vinyl> window = CatalogCursor.scroll(vinylRepository, Vinyl.class,
+                Specification.where(null), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, vinylMapper::toDTO);
+    }
+
+    /**
+     * Searches vinyls matching any combination of attribute criteria.
+     * All the criteria are compiled into a single query, which is read one page at a time.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the result.
+     * @param sort     The sort key of the listing.
+     * @param cursor   The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size     The requested page size.
+     * @return The requested page of matching vinyls.
+     * @throws IllegalArgumentException If the sort key or the cursor is not valid.
+     */
+    public CatalogPageDTO<VinylDTO> searchVinyls(VinylSearchDTO criteria, CATALOG_SORT sort, String cursor, Integer size) {
+        Window<Vinyl> window = CatalogCursor.scroll(vinylRepository, Vinyl.class,
+                CatalogSpecifications.vinyls(criteria), sort, cursor, size);
+        return CatalogCursor.toPage(window, sort, vinylMapper::toDTO);
+    }
+
+    /**
+     * Counts the vinyls matching the search criteria for every value of every facet attribute.
+     * All the counts are computed with a single grouped query.
+     * 
+     * @param criteria The search criteria; criteria left empty do not restrict the counts.
+     * @return The number of matching vinyls and the count of every facet value.
+     */
+    public FacetCountsDTO countVinylsFacets(VinylSearchDTO criteria) {
+        return facetCountRepository.countFacets(Vinyl.class, CatalogSpecifications.vinyls(criteria));
     }
 
     /**
@@ -67,6 +131,7 @@ public class VinylService {
      * @return An {@link java.util.Optional Optional} with the vinyl found, or empty
      *         if not found.
      */
+    @Cacheable(cacheNames = CacheConfig.VINYLS, key = "#id", unless = "#result == null")
     public Optional<VinylDTO> getVinylById(Integer id) {
         return vinylRepository.findById(id).map(vinylMapper::toDTO);
     }
@@ -77,11 +142,9 @@ public class VinylService {
      * @param artist The name of the artist.
      * @return List of vinyls by the artist.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByArtist(String artist) {
-        return vinylRepository.findByArtist(artist)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByArtist(artist);
     }
 
     /**
@@ -91,11 +154,9 @@ public class VinylService {
      * @param endYear   The end year.
      * @return List of vinyls released between the specified years.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByYearRange(int startYear, int endYear) {
-        return vinylRepository.findByYearBetween(startYear, endYear)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByYearBetween(startYear, endYear);
     }
 
     /**
@@ -104,11 +165,9 @@ public class VinylService {
      * @param genre The genre of the vinyls to search for.
      * @return List of vinyls of the specified genre.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByGenre(ALBUM_GENRE genre) {
-        return vinylRepository.findByGenre(genre)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByGenre(genre);
     }
 
     /**
@@ -117,11 +176,9 @@ public class VinylService {
      * @param format The format of the vinyls to search for (LP, EP, etc.).
      * @return List of vinyls of the specified format.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByFormat(ALBUM_FORMAT format) {
-        return vinylRepository.findByFormat(format)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByFormat(format);
     }
 
     /**
@@ -131,11 +188,9 @@ public class VinylService {
      * @param maxPrice The maximum price.
      * @return List of vinyls within the specified price range.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByPriceRange(Double minPrice, Double maxPrice) {
-        return vinylRepository.findByPriceBetween(minPrice, maxPrice)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByPriceCentsBetween(Money.toCents(minPrice), Money.toCents(maxPrice));
     }
 
     /**
@@ -144,12 +199,12 @@ public class VinylService {
      * @param minDuration The minimum duration (in "mm:ss" format).
      * @param maxDuration The maximum duration (in "mm:ss" format).
      * @return List of vinyls whose duration is within the specified range.
+     * @throws IllegalArgumentException If a duration is not written as "mm:ss" or "h:mm:ss".
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsByDuration(String minDuration, String maxDuration) {
-        return vinylRepository.findByDurationBetween(minDuration, maxDuration)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
+        return vinylRepository.findDTOsByDurationSecondsBetween(Durations.toSeconds(minDuration),
+                Durations.toSeconds(maxDuration));
     }
 
     /**
@@ -159,6 +214,7 @@ public class VinylService {
      * @return The saved vinyl with its assigned id.
      * @throws IllegalArgumentException If the vinyl's year or RPM is invalid.
      */
+    @CacheEvict(cacheNames = CacheConfig.VINYLS, key = "#result.id", condition = "#result != null")
     public VinylDTO saveVinyl(Vinyl vinyl) {
         validateYear(vinyl.getYear()); // Validate the vinyl's year before saving
         validateRpm(vinyl.getRpm()); // Validate the RPM before saving
@@ -171,6 +227,7 @@ public class VinylService {
      * @param id The id of the vinyl to delete.
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VINYLS, key = "#id")
     public void deleteVinyl(Integer id) {
         // Check if the product is associated with any order
         boolean isInOrders = orderRepository.existsByListOrderProducts_Product_Id(id);
@@ -198,6 +255,7 @@ public class VinylService {
      * @throws IllegalArgumentException If the vinyl with the given id is not
      *                                  found.
      */
+    @CacheEvict(cacheNames = CacheConfig.VINYLS, key = "#id")
     public VinylDTO updateVinyl(Integer id, Vinyl updatedVinyl) {
         Optional<Vinyl> existingVinylOpt = vinylRepository.findById(id);
         if (existingVinylOpt.isPresent()) {
@@ -294,12 +352,9 @@ public class VinylService {
      * 
      * @return List of vinyls that are in stock.
      */
+    @Transactional(readOnly = true)
     public List<VinylDTO> getVinylsInStock() {
-        return vinylRepository.findByStockGreaterThan(0)
-                .stream()
-                .map(vinylMapper::toDTO)
-                .collect(Collectors.toList());
-
+        return vinylRepository.findDTOsByStockGreaterThan(0);
     }
 
     /**
@@ -317,7 +372,10 @@ public class VinylService {
      * 
      * @param genre The genre of the vinyls.
      * @return The number of vinyls of that genre.
+     * @deprecated Issues one query per value; use {@link #countVinylsFacets}, which counts
+     *             every value of every facet attribute in a single query.
      */
+    @Deprecated
     public Integer countVinylsByGenre(ALBUM_GENRE genre) {
         return vinylRepository.countByGenre(genre);
     }
@@ -327,7 +385,10 @@ public class VinylService {
      * 
      * @param format The format of the vinyls.
      * @return The number of vinyls of that format.
+     * @deprecated Issues one query per value; use {@link #countVinylsFacets}, which counts
+     *             every value of every facet attribute in a single query.
      */
+    @Deprecated
     public Integer countVinylsByFormat(ALBUM_FORMAT format) {
         return vinylRepository.countByFormat(format);
     }
@@ -339,7 +400,11 @@ public class VinylService {
      * @return List of vinyls whose name contains the provided string.
      */
     public List<VinylDTO> findVinylsByName(String name) {
-        return vinylRepository.findByNameContainingIgnoreCase(name)
+        // Texts shorter than a trigram cannot be answered by the index
+        List<Vinyl> vinyls = searchIndex.findByNameContaining(name, Vinyl.class)
+                .map(ids -> SearchIndex.inRankOrder(ids, vinylRepository.findAllById(ids)))
+                .orElseGet(() -> vinylRepository.findByNameContainingIgnoreCase(name));
+        return vinyls
                 .stream()
                 .map(vinylMapper::toDTO)
                 .collect(Collectors.toList());
@@ -0,0 +1,464 @@
+package com.recordstore.stock;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.recordstore.enums.PRODUCT_CHANGE;
+import com.recordstore.enums.STOCK_RESERVATION;
+import com.recordstore.event.ProductChangedEvent;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.stock.StockJournal.Entry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Flash-sale mode of the stock: the stock of the flagged ("hot") products is held in memory instead of being
+ * reserved row by row in the database.
+ * <p>
+ * During a limited drop thousands of checkouts compete for the stock of a handful of products, and every
+ * conditional {@code UPDATE} on the same {@code products} row waits for the row lock of the previous one. For a hot
+ * product the units are taken from a {@link StripedStock} instead, which admits or rejects a reservation with a
+ * few compare-and-sets. A reservation whose transaction rolls back is given back.
+ * </p>
+ * <p>
+ * Every change is added to a lock-free buffer and written to a {@link StockJournal} with group commit: before the
+ * order of a reservation commits, the first committing thread writes every change buffered so far with a single
+ * write, numbering them with an increasing sequence, and the threads that were waiting for it find their change
+ * already written. The journaled changes are written to {@code products.stock} in batches every
+ * {@code recordstore.hot-stock.flush-interval-ms} (write-behind), in one transaction that also stores the last
+ * sequence written in {@code hot_stock_checkpoint}. After a crash, the journal entries above the checkpoint are
+ * applied on startup, so the database ends up with exactly the units reserved in memory. A reservation is journaled
+ * before its order commits: if the application dies in between, the unit is lost rather than sold twice.
+ * </p>
+ * <p>
+ * Products are flagged with {@code recordstore.hot-stock.product-ids} or at runtime with {@link #enable(Integer)},
+ * before the sale opens, and unflagged with {@link #disable(Integer)}. While the flag changes, the product stays
+ * {@linkplain #isHot(Integer) hot} but its reservations are refused, so that its units are never held in memory and
+ * in the database at once: flagging reads the database stock with {@code SELECT ... FOR UPDATE}, which waits for the
+ * reservations running in the database, and a database reservation that finds the product flagged once it has
+ * updated the row must roll back; unflagging waits for the running in-memory reservations and writes every change
+ * to the database before the product leaves flash-sale mode.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * switch (hotStock.reserve(productId, quantity)) {
+ *     case RESERVED -&gt; { }
+ *     case NOT_ENOUGH -&gt; throw new IllegalStateException("Not enough stock");
+ *     case NOT_HOT -&gt; reserveInTheDatabase(productId, quantity);
+ * }
+ * </pre>
+ */
+@Component
+public class HotStock {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStock.class);
+
+    private static final String APPLY = "UPDATE products SET stock = stock + ? WHERE id = ?";
+    private static final String CHECKPOINT = "UPDATE hot_stock_checkpoint SET last_sequence = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<Integer> configuredProductIds;
+    private final Path journalPath;
+    private final int stripes;
+
+    private final Map<Integer, StripedStock> counters = new ConcurrentHashMap<>();
+    private final Set<Integer> switching = ConcurrentHashMap.newKeySet();
+    private final Object journalLock = new Object();
+    private final Object flushLock = new Object();
+
+    private final Queue<Change> appended = new ConcurrentLinkedQueue<>();
+
+    private StockJournal journal;
+    private long lastSequence;
+    private List<Change> unwritten = new ArrayList<>();
+    private List<Entry> pending = new ArrayList<>();
+
+    /**
+     * Constructor for the hot stock that injects its dependencies and settings.
+     *
+     * @param jdbcTemplate       The JDBC template used to write the stock.
+     * @param transactionManager The transaction manager used to open the write transactions.
+     * @param productRepository  The product repository used to reload the written products.
+     * @param eventPublisher     The publisher of the stock changes written.
+     * @param productIds         The IDs of the products flagged at startup.
+     * @param journal            The path of the journal file.
+     * @param stripes            The number of stripes per product, or 0 for the number of processors.
+     */
+    @Autowired
+    public HotStock(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ProductRepository productRepository, ApplicationEventPublisher eventPublisher,
+            @Value("${recordstore.hot-stock.product-ids:}") List<Integer> productIds,
+            @Value("${recordstore.hot-stock.journal:data/hot-stock.journal}") String journal,
+            @Value("${recordstore.hot-stock.stripes:0}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.configuredProductIds = productIds;
+        this.journalPath = Path.of(journal);
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Opens the journal, applies the changes a crash left out of the database and flags the configured products.
+     */
+    @PostConstruct
+    public void start() {
+        journal = StockJournal.open(journalPath);
+        recover();
+        configuredProductIds.forEach(this::enable);
+    }
+
+    /**
+     * Writes the pending changes and closes the journal.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Checks whether the stock of a product is held in memory, or is being moved between memory and the database.
+     * In both cases its units must not be reserved in the database.
+     *
+     * @param productId The ID of the product.
+     * @return {@code true} if the product is flagged or its flag is changing.
+     */
+    public boolean isHot(Integer productId) {
+        return counters.containsKey(productId) || switching.contains(productId);
+    }
+
+    /**
+     * Returns the units of a hot product left in memory.
+     *
+     * @param productId The ID of the product.
+     * @return The units left, or {@code null} if the product is not flagged.
+     */
+    public Long available(Integer productId) {
+        StripedStock stock = counters.get(productId);
+        return stock == null ? null : stock.available();
+    }
+
+    /**
+     * Takes units of a hot product out of its in-memory stock, if there are enough of them.
+     * <p>
+     * Inside a transaction, the change is journaled just before it commits (grouped with the other reservations
+     * committing at the same time), and the units are given back if it rolls back. Outside a transaction, the change
+     * is journaled before returning.
+     * </p>
+     *
+     * @param productId The ID of the product.
+     * @param quantity  The number of units to take.
+     * @return {@link STOCK_RESERVATION#RESERVED} if the units were taken, {@link STOCK_RESERVATION#NOT_ENOUGH} if the
+     *         product has fewer units, or {@link STOCK_RESERVATION#NOT_HOT} if it is not flagged, so its units must be
+     *         reserved in the database.
+     * @throws StockSwitchingException If the flag of the product is changing; the checkout can be retried.
+     */
+    public STOCK_RESERVATION reserve(Integer productId, int quantity) {
+        StripedStock stock = counters.get(productId);
+        if (stock == null) {
+            if (switching.contains(productId)) {
+                throw switchingException(productId);
+            }
+            return STOCK_RESERVATION.NOT_HOT;
+        }
+        if (!stock.begin()) {
+            throw switchingException(productId);
+        }
+        Change change;
+        try {
+            if (!stock.tryTake(quantity)) {
+                return STOCK_RESERVATION.NOT_ENOUGH;
+            }
+            change = record(productId, -quantity);
+        } finally {
+            stock.end();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    journal(change); // A failure rolls the transaction back
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        release(productId, stock, quantity);
+                    }
+                }
+            });
+        } else {
+            try {
+                journal(change);
+            } catch (RuntimeException e) {
+                release(productId, stock, quantity);
+                throw e;
+            }
+        }
+        return STOCK_RESERVATION.RESERVED;
+    }
+
+    /**
+     * Flags a product, loading its stock from the database. Does nothing if it is already flagged.
+     * <p>
+     * The reservations of the product are refused until its stock is in memory. The database stock is read after
+     * the pending changes are written and with {@code SELECT ... FOR UPDATE}, so it includes every reservation made
+     * in the database before the flag; the ones made after it roll back (see {@link #isHot(Integer)}).
+     * </p>
+     *
+     * @param productId The ID of the product.
+     * @return The units of the product in memory.
+     * @throws IllegalArgumentException If the product does not exist.
+     */
+    public long enable(Integer productId) {
+        synchronized (flushLock) {
+            StripedStock current = counters.get(productId);
+            if (current != null) {
+                return current.available();
+            }
+            boolean wasSwitching = !switching.add(productId);
+            boolean enabled = false;
+            try {
+                writePending();
+                long units = transactionTemplate.execute(status -> {
+                    List<Integer> stock = jdbcTemplate.queryForList(
+                            "SELECT stock FROM products WHERE id = ? FOR UPDATE", Integer.class, productId);
+                    if (stock.isEmpty()) {
+                        throw new IllegalArgumentException("Product not found: " + productId);
+                    }
+                    return stock.get(0) == null ? 0L : Math.max(stock.get(0), 0L);
+                });
+                counters.put(productId, new StripedStock(units, stripes));
+                enabled = true;
+                log.info("Stock of product {} held in memory: {} units", productId, units);
+                return units;
+            } finally {
+                if (enabled || !wasSwitching) {
+                    switching.remove(productId); // A product left by a failed disable stays closed
+                }
+            }
+        }
+    }
+
+    /**
+     * Unflags a product: its in-memory stock stops admitting reservations and, once the running ones are done, every
+     * pending change is written, so that its checkouts go back to the database stock.
+     * <p>
+     * The reservations of the product are refused meanwhile. If the changes cannot be written, the product stays
+     * closed and calling this method again retries the write.
+     * </p>
+     *
+     * @param productId The ID of the product.
+     */
+    public void disable(Integer productId) {
+        synchronized (flushLock) {
+            StripedStock stock = counters.get(productId);
+            if (stock == null && !switching.contains(productId)) {
+                return;
+            }
+            switching.add(productId);
+            if (stock != null) {
+                stock.close();
+                counters.remove(productId);
+            }
+            writePending();
+            switching.remove(productId);
+        }
+    }
+
+    /**
+     * Journals the buffered changes and writes the pending changes to the database in one transaction, with one
+     * batched update for all products. If a write fails, the changes stay pending for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${recordstore.hot-stock.flush-interval-ms:100}")
+    public void flush() {
+        try {
+            writePending();
+        } catch (RuntimeException e) {
+            log.warn("Could not write the hot stock to the database; retrying on the next flush", e);
+        }
+    }
+
+    /**
+     * Journals the buffered changes and writes the pending changes to the database.
+     *
+     * @throws RuntimeException If the journal or the database cannot be written; the changes stay pending.
+     */
+    private void writePending() {
+        synchronized (flushLock) {
+            List<Entry> batch;
+            synchronized (journalLock) {
+                writeAppended();
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            long through = batch.get(batch.size() - 1).sequence();
+            try {
+                journal.force();
+                apply(batch, through);
+            } catch (RuntimeException e) {
+                synchronized (journalLock) {
+                    batch.addAll(pending);
+                    pending = batch;
+                }
+                throw e;
+            }
+            synchronized (journalLock) {
+                if (lastSequence == through) {
+                    journal.clear(); // Everything journaled is in the database
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a change to the buffer of changes to journal, without taking any lock.
+     */
+    private Change record(Integer productId, long delta) {
+        Change change = new Change(productId, delta);
+        appended.add(change);
+        return change;
+    }
+
+    /**
+     * Waits until a change is in the journal, writing the buffer if no other thread is doing it (group commit).
+     */
+    private void journal(Change change) {
+        if (change.journaled) {
+            return;
+        }
+        synchronized (journalLock) {
+            if (!change.journaled) {
+                writeAppended();
+            }
+        }
+    }
+
+    /**
+     * Numbers the buffered changes and appends them to the journal with one write, then adds them to the pending
+     * changes. Must be called holding {@code journalLock}; if the write fails, the changes are kept, with the same
+     * order, for the next attempt.
+     */
+    private void writeAppended() {
+        for (Change change = appended.poll(); change != null; change = appended.poll()) {
+            unwritten.add(change);
+        }
+        if (unwritten.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(unwritten.size());
+        long sequence = lastSequence;
+        for (Change change : unwritten) {
+            entries.add(new Entry(++sequence, change.productId, change.delta));
+        }
+        journal.append(entries);
+        lastSequence = sequence;
+        pending.addAll(entries);
+        unwritten.forEach(change -> change.journaled = true);
+        unwritten = new ArrayList<>();
+    }
+
+    private static StockSwitchingException switchingException(Integer productId) {
+        return new StockSwitchingException(productId, "between memory and the database");
+    }
+
+    /**
+     * Gives back the units of a reservation whose order rolled back.
+     */
+    private void release(Integer productId, StripedStock stock, int quantity) {
+        record(productId, quantity);
+        if (counters.get(productId) == stock) {
+            stock.give(quantity);
+        }
+    }
+
+    /**
+     * Applies the journal entries above the checkpoint of the database, left by a crash, and empties the journal.
+     */
+    private void recover() {
+        Long checkpoint = jdbcTemplate.queryForObject("SELECT last_sequence FROM hot_stock_checkpoint WHERE id = 1",
+                Long.class);
+        List<Entry> unapplied = journal.readAll().stream()
+                .filter(entry -> entry.sequence() > checkpoint)
+                .toList();
+        lastSequence = checkpoint;
+        if (!unapplied.isEmpty()) {
+            long through = unapplied.stream().mapToLong(Entry::sequence).max().getAsLong();
+            apply(unapplied, through);
+            lastSequence = through;
+            log.info("Applied {} stock changes of the hot stock journal left by the last run", unapplied.size());
+        }
+        journal.clear();
+    }
+
+    /**
+     * Adds up the changes per product and writes them, with the checkpoint, in one transaction. The written
+     * products are published as changed once it commits.
+     */
+    private void apply(List<Entry> entries, long through) {
+        Map<Integer, Long> deltas = new TreeMap<>();
+        for (Entry entry : entries) {
+            deltas.merge(entry.productId(), entry.delta(), Long::sum);
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] { delta, productId });
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(APPLY, rows);
+            jdbcTemplate.update(CHECKPOINT, through);
+            productRepository.findAllById(deltas.keySet()).forEach(product -> eventPublisher.publishEvent(
+                    new ProductChangedEvent(product, PRODUCT_CHANGE.STOCK)));
+        });
+    }
+
+    /**
+     * A stock change waiting in the buffer, and whether it has reached the journal.
+     */
+    private static final class Change {
+
+        private final int productId;
+        private final long delta;
+        private volatile boolean journaled;
+
+        private Change(int productId, long delta) {
+            this.productId = productId;
+            this.delta = delta;
+        }
+    }
+}
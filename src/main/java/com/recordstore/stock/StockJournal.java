@@ -0,0 +1,155 @@
+package com.recordstore.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file of the stock changes made in memory by {@link HotStock}, one line per change:
+ * {@code sequence productId delta}.
+ * <p>
+ * The lines of a batch of changes are written to the operating system with one write, as soon as they are
+ * appended, so they survive a crash of the application; they are forced to the disk before the changes are written
+ * to the database. On restart, the lines
+ * whose sequence is above the checkpoint stored in the database are the changes that never reached it.
+ * </p>
+ */
+final class StockJournal implements Closeable {
+
+    /**
+     * A stock change: a negative delta for a reservation, a positive one for a reservation given back.
+     */
+    record Entry(long sequence, int productId, long delta) {
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private boolean torn;
+
+    private StockJournal(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the journal, creating the file and its directory if needed.
+     *
+     * @param path The journal file.
+     * @return The open journal.
+     * @throws UncheckedIOException If the file cannot be opened.
+     */
+    static StockJournal open(Path path) {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            return new StockJournal(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the stock journal " + path, e);
+        }
+    }
+
+    /**
+     * Reads every complete entry of the journal; a line cut short by a crash is skipped.
+     * <p>
+     * Sequences only grow, so an entry whose sequence is not above the previous one comes from a batch written again
+     * after a failed write, and is skipped as well.
+     * </p>
+     *
+     * @return The entries, in the order they were appended.
+     */
+    List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        long previous = Long.MIN_VALUE;
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.US_ASCII)) {
+                String[] fields = line.trim().split(" ");
+                if (fields.length != 3) {
+                    continue;
+                }
+                try {
+                    Entry entry = new Entry(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+                            Long.parseLong(fields[2]));
+                    if (entry.sequence() > previous) {
+                        entries.add(entry);
+                        previous = entry.sequence();
+                    }
+                } catch (NumberFormatException e) {
+                    // Torn line
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the stock journal " + path, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Appends a batch of entries with a single write.
+     *
+     * @param entries The stock changes, in sequence order.
+     * @throws UncheckedIOException If the entries cannot be written.
+     */
+    void append(List<Entry> entries) {
+        StringBuilder text = new StringBuilder(entries.size() * 24 + 1);
+        if (torn) {
+            text.append('\n'); // Ends the line a failed write may have left cut short
+        }
+        for (Entry entry : entries) {
+            text.append(entry.sequence()).append(' ').append(entry.productId()).append(' ').append(entry.delta())
+                    .append('\n');
+        }
+        ByteBuffer lines = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+        try {
+            while (lines.hasRemaining()) {
+                channel.write(lines);
+            }
+            torn = false;
+        } catch (IOException e) {
+            torn = true;
+            throw new UncheckedIOException("Cannot write the stock journal " + path, e);
+        }
+    }
+
+    /**
+     * Forces the appended entries to the disk.
+     *
+     * @throws UncheckedIOException If the file cannot be synced.
+     */
+    void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync the stock journal " + path, e);
+        }
+    }
+
+    /**
+     * Removes every entry, once all of them are in the database.
+     *
+     * @throws UncheckedIOException If the file cannot be truncated.
+     */
+    void clear() {
+        try {
+            channel.truncate(0);
+            torn = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate the stock journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,24 @@
+package com.recordstore.stock;
+
+/**
+ * Thrown when a checkout reaches a product whose stock is being moved between memory and the database by
+ * {@link HotStock}.
+ * <p>
+ * Unlike a plain {@link IllegalStateException} for a sold-out product, the refusal is transient: the mode switch
+ * takes a few milliseconds and the same checkout succeeds if it is retried.
+ * </p>
+ */
+public class StockSwitchingException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception for a product.
+     *
+     * @param productId The ID of the product whose stock is moving.
+     * @param direction Where the stock is being moved, for the message.
+     */
+    public StockSwitchingException(Integer productId, String direction) {
+        super("The stock of product " + productId + " is being moved " + direction + "; try again.");
+    }
+}
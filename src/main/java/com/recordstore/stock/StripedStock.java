@@ -0,0 +1,174 @@
+package com.recordstore.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory stock of one product, split into stripes so that concurrent reservations rarely touch the same
+ * counter.
+ * <p>
+ * Each thread starts at its own stripe and takes the units with a compare-and-set, moving on to the next stripes
+ * only when its stripe runs short. Threads on different stripes never contend, unlike a single counter (or a single
+ * database row), where every reservation waits for the previous one. The stripes are 64 bytes apart, so they do
+ * not share a cache line.
+ * </p>
+ * <p>
+ * A reservation larger than one stripe gathers units from several; if they are not enough in total, the units
+ * gathered are given back and the reservation is rejected. Near the end of the stock a reservation may therefore be
+ * rejected while another one briefly holds units it will give back.
+ * </p>
+ * <p>
+ * Reservations are bracketed by {@link #begin()} and {@link #end()}, counted in the same cache line as the units of
+ * the thread's stripe, so that {@link #close()} can wait until no reservation is halfway through.
+ * </p>
+ */
+final class StripedStock {
+
+    /** Distance between two stripes, in longs: one cache line. */
+    private static final int PADDING = 8;
+
+    /** Offset, within a stripe, of the number of reservations running on it. */
+    private static final int RUNNING = 1;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    private volatile boolean closed;
+
+    /**
+     * Creates the stock with its units spread evenly across the stripes.
+     *
+     * @param units   The number of units in stock.
+     * @param stripes The number of stripes; rounded up to a power of two.
+     */
+    StripedStock(long units, int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.cells = new AtomicLongArray(count * PADDING);
+        this.mask = count - 1;
+        for (int i = 0; i < count; i++) {
+            cells.set(i * PADDING, units / count + (i < units % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Starts a reservation; every {@code true} result must be followed by {@link #end()} on the same thread.
+     *
+     * @return {@code true} if the reservation may go on, {@code false} if the stock is closed.
+     */
+    boolean begin() {
+        int index = home() * PADDING + RUNNING;
+        cells.incrementAndGet(index);
+        if (closed) {
+            cells.decrementAndGet(index);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends a reservation started with {@link #begin()}.
+     */
+    void end() {
+        cells.decrementAndGet(home() * PADDING + RUNNING);
+    }
+
+    /**
+     * Closes the stock: new reservations are refused, the running ones are waited for, and the stock is emptied.
+     *
+     * @return The number of units that were left.
+     */
+    long close() {
+        closed = true;
+        while (running() > 0) {
+            Thread.onSpinWait();
+        }
+        return drain();
+    }
+
+    /**
+     * Takes units out of the stock, if there are enough of them.
+     *
+     * @param quantity The number of units to take.
+     * @return {@code true} if the units were taken, {@code false} if the stock had fewer.
+     */
+    boolean tryTake(long quantity) {
+        int home = home();
+        long remaining = quantity;
+        for (int i = 0; i <= mask && remaining > 0; i++) {
+            remaining -= takeUpTo((home + i) & mask, remaining);
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        give(quantity - remaining);
+        return false;
+    }
+
+    /**
+     * Puts units back into the stock.
+     *
+     * @param quantity The number of units to put back.
+     */
+    void give(long quantity) {
+        if (quantity > 0) {
+            cells.addAndGet(home() * PADDING, quantity);
+        }
+    }
+
+    /**
+     * Returns the number of units in stock; only exact while no reservation is running.
+     *
+     * @return The sum of the stripes.
+     */
+    long available() {
+        long units = 0;
+        for (int i = 0; i <= mask; i++) {
+            units += cells.get(i * PADDING);
+        }
+        return units;
+    }
+
+    /**
+     * Empties every stripe, so that no further reservation succeeds.
+     *
+     * @return The number of units that were left.
+     */
+    long drain() {
+        long units = 0;
+        for (int i = 0; i <= mask; i++) {
+            units += cells.getAndSet(i * PADDING, 0);
+        }
+        return units;
+    }
+
+    /**
+     * Returns the number of reservations between {@link #begin()} and {@link #end()}.
+     */
+    private long running() {
+        long running = 0;
+        for (int i = 0; i <= mask; i++) {
+            running += cells.get(i * PADDING + RUNNING);
+        }
+        return running;
+    }
+
+    /**
+     * Takes as many units as possible, up to a maximum, from one stripe.
+     */
+    private long takeUpTo(int stripe, long maximum) {
+        int index = stripe * PADDING;
+        while (true) {
+            long units = cells.get(index);
+            long taken = Math.min(units, maximum);
+            if (taken <= 0 || cells.compareAndSet(index, units, units - taken)) {
+                return Math.max(taken, 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the stripe the current thread starts at.
+     */
+    private int home() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+}
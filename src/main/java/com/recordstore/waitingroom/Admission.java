@@ -0,0 +1,25 @@
+package com.recordstore.waitingroom;
+
+import com.recordstore.enums.ADMISSION_STATUS;
+
+/**
+ * Outcome of checking a checkout against the waiting rooms of its products.
+ *
+ * @param status            Whether the order may be placed.
+ * @param retryAfterSeconds For a waiting token, an estimate of the seconds until it is admitted; otherwise 0.
+ * @param ticketKey         For an admitted token, the key that marks its ticket as used; otherwise {@code null}.
+ */
+public record Admission(ADMISSION_STATUS status, long retryAfterSeconds, String ticketKey) {
+
+    static final Admission NOT_REQUIRED = new Admission(ADMISSION_STATUS.NOT_REQUIRED, 0, null);
+    static final Admission REJECTED = new Admission(ADMISSION_STATUS.REJECTED, 0, null);
+
+    /**
+     * Checks whether the order may be placed.
+     *
+     * @return {@code true} if no waiting room applies or the token was admitted.
+     */
+    public boolean mayCheckOut() {
+        return status == ADMISSION_STATUS.NOT_REQUIRED || status == ADMISSION_STATUS.ADMITTED;
+    }
+}
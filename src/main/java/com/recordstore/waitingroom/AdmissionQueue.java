@@ -0,0 +1,130 @@
+package com.recordstore.waitingroom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FIFO queue of one waiting room, admitting tickets at a fixed rate without locks.
+ * <p>
+ * Joining the queue only increments a counter, which gives every buyer the next ticket number. Admission is a
+ * frontier: every ticket below it is admitted. The frontier moves forward by {@code rate} tickets per second,
+ * computed from the elapsed time whenever someone asks, and is updated with a compare-and-set; there is no timer
+ * thread. The frontier never passes the last ticket issued, and a drained queue keeps at most one ticket of credit,
+ * so an idle queue does not save up admissions for a burst later.
+ * </p>
+ * <p>
+ * An admitted ticket expires once the frontier has moved past it by the tickets of a few minutes at the current rate,
+ * so at most that many admitted tickets are usable at any time, however long their holders wait.
+ * </p>
+ */
+final class AdmissionQueue {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Tickets below {@code admitted} are admitted; {@code atNanos} is when the frontier last moved.
+     */
+    private record Frontier(long admitted, long atNanos) {
+    }
+
+    private final long generation;
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicReference<Frontier> frontier;
+    private volatile double rate;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param generation Identifies this opening of the room; tokens of a previous opening are not valid.
+     * @param rate       The number of tickets admitted per second.
+     * @param nowNanos   The current time, from {@link System#nanoTime()}.
+     */
+    AdmissionQueue(long generation, double rate, long nowNanos) {
+        this.generation = generation;
+        this.rate = rate;
+        this.frontier = new AtomicReference<>(new Frontier(0, nowNanos));
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    double rate() {
+        return rate;
+    }
+
+    /**
+     * Changes the admission rate from now on.
+     *
+     * @param rate     The number of tickets admitted per second.
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     */
+    void setRate(double rate, long nowNanos) {
+        admitted(nowNanos); // Tickets earned at the old rate are admitted first
+        this.rate = rate;
+    }
+
+    /**
+     * Issues the next ticket.
+     *
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     * @return The ticket number, starting at 0.
+     */
+    long join(long nowNanos) {
+        admitted(nowNanos); // Drops the credit an idle queue saved up before the ticket is counted as waiting
+        return issued.getAndIncrement();
+    }
+
+    /**
+     * Moves the frontier forward to the current time and returns it.
+     *
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     * @return The number of tickets admitted so far.
+     */
+    long admitted(long nowNanos) {
+        while (true) {
+            Frontier current = frontier.get();
+            double currentRate = rate;
+            long earned = (long) ((nowNanos - current.atNanos()) * currentRate / NANOS_PER_SECOND);
+            if (earned <= 0) {
+                return current.admitted();
+            }
+            long waiting = issued.get() - current.admitted();
+            // A drained queue keeps the credit of at most one ticket
+            Frontier next = earned >= waiting
+                    ? new Frontier(current.admitted() + waiting, Math.max(
+                            current.atNanos() + (long) (waiting * NANOS_PER_SECOND / currentRate),
+                            nowNanos - (long) Math.ceil(NANOS_PER_SECOND / currentRate)))
+                    : new Frontier(current.admitted() + earned,
+                            current.atNanos() + (long) (earned * NANOS_PER_SECOND / currentRate));
+            if (next.equals(current) || frontier.compareAndSet(current, next)) {
+                return next.admitted();
+            }
+        }
+    }
+
+    /**
+     * Checks whether an admitted ticket has expired: after it, the frontier has admitted more tickets than the rate
+     * admits in {@code expirySeconds}.
+     *
+     * @param ticket        The ticket number.
+     * @param expirySeconds The seconds of admissions an admitted ticket stays valid for.
+     * @param nowNanos      The current time, from {@link System#nanoTime()}.
+     * @return {@code true} if the ticket was admitted and has expired.
+     */
+    boolean hasExpired(long ticket, long expirySeconds, long nowNanos) {
+        long window = Math.max(1, (long) Math.ceil(rate * expirySeconds));
+        return admitted(nowNanos) - ticket > window;
+    }
+
+    /**
+     * Returns how many tickets are ahead of a ticket, counting itself.
+     *
+     * @param ticket   The ticket number.
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     * @return 0 if the ticket is admitted, otherwise its position in the queue (1 is next).
+     */
+    long position(long ticket, long nowNanos) {
+        return Math.max(0, ticket - admitted(nowNanos) + 1);
+    }
+}
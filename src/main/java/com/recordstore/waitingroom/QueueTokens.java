@@ -0,0 +1,103 @@
+package com.recordstore.waitingroom;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs and verifies the queue tokens handed to buyers by the waiting rooms.
+ * <p>
+ * A token is {@code payload.signature}, both Base64url: the payload holds the product, the opening of the room,
+ * the ticket number and the expiry, and the signature is their HMAC-SHA256 with the secret of the application.
+ * Buyers can read their token but not forge or alter one, so the server keeps no state per ticket and checking a
+ * position costs one HMAC.
+ * </p>
+ */
+final class QueueTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The signed content of a token.
+     *
+     * @param productId  The product of the waiting room.
+     * @param generation The opening of the waiting room.
+     * @param ticket     The ticket number.
+     * @param expiresAt  When the token expires, in seconds since the epoch.
+     */
+    record Claims(int productId, long generation, long ticket, long expiresAt) {
+    }
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Creates the signer.
+     *
+     * @param secret The secret key; nodes that must accept each other's tokens need the same one.
+     */
+    QueueTokens(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Signs the claims of a token.
+     *
+     * @param claims The content of the token.
+     * @return The token.
+     */
+    String sign(Claims claims) {
+        byte[] payload = (claims.productId() + "." + claims.generation() + "." + claims.ticket() + "."
+                + claims.expiresAt()).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(macs.get().doFinal(payload));
+    }
+
+    /**
+     * Verifies a token and reads its claims.
+     *
+     * @param token The token sent by the buyer, or {@code null}.
+     * @return The claims, or empty if the token is missing, malformed or not signed with the secret.
+     */
+    Optional<Claims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+                return Optional.empty();
+            }
+            String[] fields = new String(payload, StandardCharsets.US_ASCII).split("\\.");
+            if (fields.length != 4) {
+                return Optional.empty();
+            }
+            return Optional.of(new Claims(Integer.parseInt(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // Not Base64 or not numbers
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.recordstore.waitingroom;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.recordstore.dto.WaitingRoomTicketDTO;
+import com.recordstore.enums.ADMISSION_STATUS;
+import com.recordstore.waitingroom.QueueTokens.Claims;
+
+/**
+ * Virtual waiting rooms that admit the buyers of a limited release to {@code POST /orders/new} in FIFO order and at
+ * a fixed rate.
+ * <p>
+ * While the room of a product is open, an order containing it is only placed with an admitted queue token. A buyer
+ * joins the queue ({@link #join(Integer)}) and gets a signed token with a ticket number, then polls its position
+ * ({@link #status(Integer, String)}); both only verify an HMAC and read two counters of the
+ * {@link AdmissionQueue}, without locks or database access. Tickets are admitted at the configured rate, which
+ * should be set to the checkouts per second the application sustains within its response-time target (e.g. as
+ * measured with the load-test module), so that a drop never sends more checkouts to the database than it handles.
+ * </p>
+ * <p>
+ * An admitted token places one order: it is marked as used when the checkout starts and freed again only if the
+ * checkout fails for a transient reason, not when it is refused. It must be used soon after its admission: once the
+ * room has admitted {@code recordstore.waiting-room.admission-expiry-minutes} worth of tickets after it, it is
+ * rejected, so the holders that do not check out right away cannot all check out together later and the checkouts
+ * stay bounded by the admission rate. Tokens that are never admitted expire after
+ * {@code recordstore.waiting-room.token-ttl-minutes}. The queues are held in memory, so
+ * each node runs its own queue; with several nodes, buyers must stay on the node that issued their token, and the
+ * nodes need the same {@code recordstore.waiting-room.secret}.
+ * </p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * waitingRoom.open(42, 50.0);
+ * WaitingRoomTicketDTO ticket = waitingRoom.join(42);
+ * Admission admission = waitingRoom.enter(ticket.getToken(), List.of(42));
+ * </pre>
+ */
+@Component
+public class WaitingRoom {
+
+    /** Request header of {@code POST /orders/new} carrying the queue token. */
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(WaitingRoom.class);
+
+    private static final int SECRET_BYTES = 32;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private final Map<Integer, AdmissionQueue> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Long> usedTickets = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final QueueTokens tokens;
+    private final double defaultRate;
+    private final long tokenTtlSeconds;
+    private final long admissionExpirySeconds;
+    private final LongSupplier nanoTime;
+    private final Clock clock;
+
+    /**
+     * Constructor for the waiting rooms that reads their settings and opens the configured rooms.
+     *
+     * @param secret                 The secret that signs the tokens; if blank, a random one is generated at startup.
+     * @param defaultRate            The tickets admitted per second when a room is opened without a rate.
+     * @param tokenTtlMinutes        The minutes a token stays valid after joining.
+     * @param admissionExpiryMinutes The minutes of admissions, at the rate of the room, an admitted token stays
+     *                               valid for.
+     * @param productIds             The products whose rooms are open at startup.
+     */
+    @Autowired
+    public WaitingRoom(@Value("${recordstore.waiting-room.secret:}") String secret,
+            @Value("${recordstore.waiting-room.admissions-per-second:50}") double defaultRate,
+            @Value("${recordstore.waiting-room.token-ttl-minutes:60}") long tokenTtlMinutes,
+            @Value("${recordstore.waiting-room.admission-expiry-minutes:2}") long admissionExpiryMinutes,
+            @Value("${recordstore.waiting-room.product-ids:}") List<Integer> productIds) {
+        this(secret, defaultRate, tokenTtlMinutes, admissionExpiryMinutes, productIds, System::nanoTime,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for the waiting rooms that also takes the sources of the time, so that tests can move it.
+     *
+     * @param secret                 The secret that signs the tokens; if blank, a random one is generated at startup.
+     * @param defaultRate            The tickets admitted per second when a room is opened without a rate.
+     * @param tokenTtlMinutes        The minutes a token stays valid after joining.
+     * @param admissionExpiryMinutes The minutes of admissions, at the rate of the room, an admitted token stays
+     *                               valid for.
+     * @param productIds             The products whose rooms are open at startup.
+     * @param nanoTime               The monotonic time the queues advance with, like {@link System#nanoTime()}.
+     * @param clock                  The wall clock the tokens expire with.
+     */
+    WaitingRoom(String secret, double defaultRate, long tokenTtlMinutes, long admissionExpiryMinutes,
+            List<Integer> productIds, LongSupplier nanoTime, Clock clock) {
+        if (!(defaultRate > 0) || tokenTtlMinutes <= 0 || admissionExpiryMinutes <= 0) {
+            throw new IllegalArgumentException(
+                    "The admission rate, the token lifetime and the admission expiry must be positive.");
+        }
+        this.tokens = new QueueTokens(secret.isBlank() ? randomSecret() : secret.getBytes(StandardCharsets.UTF_8));
+        this.defaultRate = defaultRate;
+        this.tokenTtlSeconds = tokenTtlMinutes * SECONDS_PER_MINUTE;
+        this.admissionExpirySeconds = admissionExpiryMinutes * SECONDS_PER_MINUTE;
+        this.nanoTime = nanoTime;
+        this.clock = clock;
+        productIds.forEach(productId -> open(productId, null));
+    }
+
+    /**
+     * Opens the waiting room of a product, or changes its rate if it is already open.
+     *
+     * @param productId          The ID of the product.
+     * @param admissionsPerSecond The tickets admitted per second, or {@code null} for the configured default.
+     * @throws IllegalArgumentException If the rate is not positive.
+     */
+    public void open(Integer productId, Double admissionsPerSecond) {
+        double rate = admissionsPerSecond == null ? defaultRate : admissionsPerSecond;
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("The admission rate must be positive.");
+        }
+        rooms.compute(productId, (id, room) -> {
+            if (room == null) {
+                return new AdmissionQueue(random.nextLong() & Long.MAX_VALUE, rate, nanoTime.getAsLong());
+            }
+            room.setRate(rate, nanoTime.getAsLong());
+            return room;
+        });
+        log.info("Waiting room of product {} open, admitting {} checkouts per second", productId, rate);
+    }
+
+    /**
+     * Closes the waiting room of a product; its orders are placed without a token and its tokens become invalid.
+     *
+     * @param productId The ID of the product.
+     */
+    public void close(Integer productId) {
+        rooms.remove(productId);
+    }
+
+    /**
+     * Joins the queue of a product.
+     *
+     * @param productId The ID of the product.
+     * @return The signed token and its position.
+     * @throws IllegalArgumentException If the product has no open waiting room.
+     */
+    public WaitingRoomTicketDTO join(Integer productId) {
+        AdmissionQueue room = room(productId);
+        Claims claims = new Claims(productId, room.generation(), room.join(nanoTime.getAsLong()),
+                clock.instant().getEpochSecond() + tokenTtlSeconds);
+        return ticket(room, claims, tokens.sign(claims));
+    }
+
+    /**
+     * Returns the current position of a token in the queue of a product.
+     *
+     * @param productId The ID of the product.
+     * @param token     The token returned when joining.
+     * @return The token and its position.
+     * @throws IllegalArgumentException If the product has no open waiting room, or the token is not valid for it or
+     *                                  its admission has expired.
+     */
+    public WaitingRoomTicketDTO status(Integer productId, String token) {
+        AdmissionQueue room = room(productId);
+        Claims claims = tokens.verify(token)
+                .filter(candidate -> isValidFor(candidate, productId, room))
+                .orElseThrow(() -> new IllegalArgumentException("The queue token is not valid for product "
+                        + productId + "."));
+        if (room.hasExpired(claims.ticket(), admissionExpirySeconds, nanoTime.getAsLong())) {
+            throw new IllegalArgumentException("The admission of the queue token has expired; join the queue again.");
+        }
+        return ticket(room, claims, token);
+    }
+
+    /**
+     * Checks whether an order may be placed now.
+     * <p>
+     * If any of the products has an open waiting room, the token must belong to one of those rooms, be admitted, not
+     * have expired since its admission and not be used yet; it is then marked as used.
+     * </p>
+     *
+     * @param token      The queue token of the request, or {@code null}.
+     * @param productIds The IDs of the products of the order.
+     * @return The outcome; pass it to {@link #giveBack(Admission)} if the order then fails for a transient reason.
+     */
+    public Admission enter(String token, Collection<Integer> productIds) {
+        if (productIds.stream().noneMatch(rooms::containsKey)) {
+            return Admission.NOT_REQUIRED;
+        }
+        Claims claims = tokens.verify(token).orElse(null);
+        AdmissionQueue room = claims == null ? null : rooms.get(claims.productId());
+        if (room == null || !productIds.contains(claims.productId()) || !isValidFor(claims, claims.productId(), room)) {
+            return Admission.REJECTED;
+        }
+        long position = room.position(claims.ticket(), nanoTime.getAsLong());
+        if (position > 0) {
+            return new Admission(ADMISSION_STATUS.WAITING, retryAfterSeconds(position, room), null);
+        }
+        if (room.hasExpired(claims.ticket(), admissionExpirySeconds, nanoTime.getAsLong())) {
+            return Admission.REJECTED;
+        }
+        String ticketKey = claims.generation() + ":" + claims.ticket();
+        if (usedTickets.putIfAbsent(ticketKey, claims.expiresAt()) != null) {
+            return Admission.REJECTED;
+        }
+        return new Admission(ADMISSION_STATUS.ADMITTED, 0, ticketKey);
+    }
+
+    /**
+     * Frees the ticket of an admission whose order failed for a transient reason (not because it was refused), so the
+     * buyer can try again with the same token while its admission lasts.
+     *
+     * @param admission The outcome of {@link #enter(String, Collection)}.
+     */
+    public void giveBack(Admission admission) {
+        if (admission.ticketKey() != null) {
+            usedTickets.remove(admission.ticketKey());
+        }
+    }
+
+    /**
+     * Forgets the used tickets whose tokens have expired, as those tokens are rejected anyway.
+     */
+    @Scheduled(fixedDelayString = "${recordstore.waiting-room.cleanup-interval-ms:60000}")
+    public void forgetExpiredTickets() {
+        long now = clock.instant().getEpochSecond();
+        usedTickets.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    private AdmissionQueue room(Integer productId) {
+        AdmissionQueue room = rooms.get(productId);
+        if (room == null) {
+            throw new IllegalArgumentException("No waiting room is open for product " + productId + ".");
+        }
+        return room;
+    }
+
+    /**
+     * Checks that verified claims belong to the current opening of the room of a product and have not expired.
+     */
+    private boolean isValidFor(Claims claims, Integer productId, AdmissionQueue room) {
+        return claims.productId() == productId && claims.generation() == room.generation()
+                && claims.expiresAt() >= clock.instant().getEpochSecond();
+    }
+
+    private WaitingRoomTicketDTO ticket(AdmissionQueue room, Claims claims, String token) {
+        long position = room.position(claims.ticket(), nanoTime.getAsLong());
+        return new WaitingRoomTicketDTO(token, position, position == 0, retryAfterSeconds(position, room));
+    }
+
+    /**
+     * Estimates the seconds until a position is admitted, at least one while it waits.
+     */
+    private static long retryAfterSeconds(long position, AdmissionQueue room) {
+        return position == 0 ? 0 : Math.max(1, (long) Math.ceil(position / room.rate()));
+    }
+
+    private byte[] randomSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        random.nextBytes(secret);
+        log.info("No recordstore.waiting-room.secret set: queue tokens are only valid until this node restarts");
+        return secret;
+    }
+}
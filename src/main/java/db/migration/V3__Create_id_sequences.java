@@ -0,0 +1,49 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the sequences that generate the entity IDs, replacing the identity columns.
+ * <p>
+ * Every sequence starts after the highest ID already in its table, which a plain SQL migration cannot compute
+ * ({@code START WITH} only takes a constant), and is incremented by 50, the allocation size of the entities
+ * ({@code com.recordstore.model.Sequences}). The names and the increment are written here rather than read from
+ * the application, so the migration keeps doing the same on every new database. The identity columns are replaced
+ * by sequence defaults in V8.
+ * </p>
+ */
+public class V3__Create_id_sequences extends BaseJavaMigration {
+
+    private static final int INCREMENT = 50;
+
+    /**
+     * Sequence, table and ID column of every generated ID.
+     */
+    private static final String[][] SEQUENCES = {
+            { "product_seq", "products", "id" },
+            { "users_seq", "users", "user_id" },
+            { "orders_seq", "orders", "order_id" },
+            { "order_product_seq", "order_product", "id" },
+            { "wishlist_seq", "wishlist", "id" },
+            { "wishlist_product_seq", "wishlist_product", "id" } };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String[] sequence : SEQUENCES) {
+                long start;
+                try (ResultSet max = statement.executeQuery(
+                        "SELECT COALESCE(MAX(" + sequence[2] + "), 0) + 1 FROM " + sequence[1])) {
+                    max.next();
+                    start = max.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence[0] + " START WITH " + start
+                        + " INCREMENT BY " + INCREMENT);
+            }
+        }
+    }
+}
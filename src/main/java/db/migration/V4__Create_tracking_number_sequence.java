@@ -0,0 +1,46 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the sequence that reserves blocks of tracking number serials
+ * ({@code com.recordstore.service.TrackingNumberGenerator}).
+ * <p>
+ * Tracking numbers used to end with the number of orders of the user, so the sequence starts after the highest
+ * serial found in the existing tracking numbers; the new ones cannot repeat them. It is incremented by 1000, the
+ * block size of the generator.
+ * </p>
+ */
+public class V4__Create_tracking_number_sequence extends BaseJavaMigration {
+
+    private static final int INCREMENT = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long start = 1;
+            try (ResultSet trackingNumbers = statement.executeQuery("SELECT tracking_number FROM orders")) {
+                while (trackingNumbers.next()) {
+                    start = Math.max(start, serial(trackingNumbers.getString(1)) + 1);
+                }
+            }
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS tracking_number_seq START WITH " + start
+                    + " INCREMENT BY " + INCREMENT);
+        }
+    }
+
+    /**
+     * Reads the number after the last dash of a tracking number, or 0 if there is none.
+     */
+    private static long serial(String trackingNumber) {
+        String suffix = trackingNumber.substring(trackingNumber.lastIndexOf('-') + 1);
+        if (suffix.isEmpty() || suffix.length() > 18 || !suffix.chars().allMatch(Character::isDigit)) {
+            return 0;
+        }
+        return Long.parseLong(suffix);
+    }
+}
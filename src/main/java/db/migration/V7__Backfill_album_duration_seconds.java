@@ -0,0 +1,85 @@
+package db.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills {@code album.duration_seconds} for the albums and vinyls written before that column existed.
+ * <p>
+ * The duration text is parsed with the rules the application had when this migration was written
+ * ({@code com.recordstore.auxiliar.Durations}): {@code "mm:ss"} or {@code "h:mm:ss"}, with components after a colon
+ * below 60. The rules are copied here so that a later change to the application cannot change what this migration
+ * does on a new database. Albums whose text cannot be read are left without a number of seconds, so they do not
+ * match any duration range.
+ * Running the backfill once here replaces the scan the application used to run on every startup.
+ * </p>
+ */
+public class V7__Backfill_album_duration_seconds extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement select = context.getConnection().createStatement();
+                PreparedStatement update = context.getConnection().prepareStatement(
+                        "UPDATE album SET duration_seconds = ? WHERE id = ?");
+                ResultSet albums = select.executeQuery(
+                        "SELECT id, duration FROM album WHERE duration_seconds IS NULL AND duration IS NOT NULL")) {
+            int pending = 0;
+            while (albums.next()) {
+                Integer seconds = toSeconds(albums.getString(2));
+                if (seconds == null) {
+                    continue;
+                }
+                update.setInt(1, seconds);
+                update.setInt(2, albums.getInt(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Converts a duration text into a number of seconds.
+     *
+     * @return The number of seconds, or {@code null} if the text is blank or malformed.
+     */
+    private static Integer toSeconds(String duration) {
+        if (duration.isBlank()) {
+            return null;
+        }
+        String[] parts = duration.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            return null;
+        }
+        int seconds = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || !part.chars().allMatch(Character::isDigit)) {
+                return null;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(part);
+            } catch (NumberFormatException e) {
+                return null; // Too long
+            }
+            if (i > 0 && value >= SECONDS_PER_MINUTE) {
+                return null;
+            }
+            seconds = seconds * SECONDS_PER_MINUTE + value;
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,164 @@
+-- Esquema inicial de la base de datos (productos, usuarios, pedidos y listas de deseos)
+-- Las columnas siguen el mapeo de las entidades JPA; Hibernate valida el esquema al arrancar (ddl-auto=validate).
+
+-- Productos (herencia JOINED: una tabla por subclase que comparte el id de products)
+CREATE TABLE products (
+    id               INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(255),
+    price_cents      BIGINT,
+    stock            INTEGER,
+    product_category ENUM('ALBUM', 'A_VINYL', 'AUDIO_EQUIPMENT', 'AE_HEADPHONES', 'AE_SPEAKER', 'PLAYER',
+                          'P_PORTABLE', 'P_TURNTABLE')
+);
+
+CREATE TABLE album (
+    id               INTEGER NOT NULL PRIMARY KEY,
+    artist           VARCHAR(255),
+    release_year     INTEGER,
+    format           ENUM('LP', 'EP', 'CD', 'CASSETTE', 'DVD', 'CD_DVD', 'BOXSET'),
+    genre            ENUM('ROCK', 'POP', 'HIP_HOP', 'JAZZ', 'BLUES', 'COUNTRY', 'ELECTRONICA', 'REGGAE', 'CLASSICAL',
+                          'TROVA', 'SALSA', 'METAL', 'PUNK', 'FUNK', 'SOUL', 'DISCO', 'INDIE', 'FOLK', 'RAP',
+                          'REGGAETON'),
+    duration         VARCHAR(255),
+    duration_seconds INTEGER,
+    CONSTRAINT fk_album_products FOREIGN KEY (id) REFERENCES products (id)
+);
+
+CREATE TABLE vinyl (
+    id    INTEGER NOT NULL PRIMARY KEY,
+    size  TINYINT,
+    speed TINYINT,
+    color VARCHAR(255),
+    CONSTRAINT fk_vinyl_album FOREIGN KEY (id) REFERENCES album (id)
+);
+
+CREATE TABLE player (
+    id               INTEGER NOT NULL PRIMARY KEY,
+    brand            VARCHAR(255),
+    color            VARCHAR(255),
+    warranty         INTEGER,
+    bluetooth        BOOLEAN,
+    usb              BOOLEAN,
+    radio            BOOLEAN,
+    aux              BOOLEAN,
+    rca              BOOLEAN,
+    built_in_speaker BOOLEAN,
+    CONSTRAINT fk_player_products FOREIGN KEY (id) REFERENCES products (id)
+);
+
+CREATE TABLE portable (
+    id            INTEGER NOT NULL PRIMARY KEY,
+    portable_type TINYINT,
+    power_type    TINYINT,
+    battery_life  INTEGER,
+    resistance    ENUM('WATER', 'SHOCK', 'DUST', 'WS', 'WD', 'SD', 'WSD'),
+    CONSTRAINT fk_portable_player FOREIGN KEY (id) REFERENCES player (id)
+);
+
+CREATE TABLE turntable (
+    id          INTEGER NOT NULL PRIMARY KEY,
+    preamp      BOOLEAN,
+    allowed_rpm TINYINT,
+    traction    TINYINT,
+    mechanism   TINYINT,
+    CONSTRAINT fk_turntable_player FOREIGN KEY (id) REFERENCES player (id)
+);
+
+CREATE TABLE audio_equipment (
+    id                  INTEGER NOT NULL PRIMARY KEY,
+    brand               VARCHAR(255),
+    color               VARCHAR(255),
+    battery_life        INTEGER,
+    warranty            INTEGER,
+    microphone_built_in BOOLEAN,
+    wireless            BOOLEAN,
+    bluetooth           BOOLEAN,
+    usb                 BOOLEAN,
+    aux                 BOOLEAN,
+    CONSTRAINT fk_audio_equipment_products FOREIGN KEY (id) REFERENCES products (id)
+);
+
+CREATE TABLE headphone (
+    id              INTEGER NOT NULL PRIMARY KEY,
+    headphones_type ENUM('IN_EAR', 'ON_EAR', 'OVER_EAR'),
+    anc             ENUM('NONE', 'PASSIVE', 'ACTIVE', 'ACTIVE_AND_PASSIVE'),
+    CONSTRAINT fk_headphone_audio_equipment FOREIGN KEY (id) REFERENCES audio_equipment (id)
+);
+
+CREATE TABLE speaker (
+    id         INTEGER NOT NULL PRIMARY KEY,
+    radio      BOOLEAN,
+    power      INTEGER,
+    impedance  INTEGER,
+    min_freq   INTEGER,
+    max_freq   INTEGER,
+    weight     INTEGER,
+    power_type ENUM('DC', 'AC'),
+    resistance ENUM('WATER', 'SHOCK', 'DUST', 'WS', 'WD', 'SD', 'WSD'),
+    CONSTRAINT fk_speaker_audio_equipment FOREIGN KEY (id) REFERENCES audio_equipment (id)
+);
+
+-- Copia plana de los campos de listado (mantenida por CatalogProjectionWriter)
+CREATE TABLE catalog_projection (
+    id               INTEGER NOT NULL PRIMARY KEY,
+    name             VARCHAR(255),
+    price_cents      BIGINT,
+    stock            INTEGER,
+    product_category ENUM('ALBUM', 'A_VINYL', 'AUDIO_EQUIPMENT', 'AE_HEADPHONES', 'AE_SPEAKER', 'PLAYER',
+                          'P_PORTABLE', 'P_TURNTABLE'),
+    artist           VARCHAR(255),
+    release_year     INTEGER,
+    genre            ENUM('ROCK', 'POP', 'HIP_HOP', 'JAZZ', 'BLUES', 'COUNTRY', 'ELECTRONICA', 'REGGAE', 'CLASSICAL',
+                          'TROVA', 'SALSA', 'METAL', 'PUNK', 'FUNK', 'SOUL', 'DISCO', 'INDIE', 'FOLK', 'RAP',
+                          'REGGAETON'),
+    format           ENUM('LP', 'EP', 'CD', 'CASSETTE', 'DVD', 'CD_DVD', 'BOXSET'),
+    brand            VARCHAR(255),
+    color            VARCHAR(255)
+);
+
+-- Usuarios
+CREATE TABLE users (
+    user_id  INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255),
+    phone    VARCHAR(255),
+    mail     VARCHAR(255),
+    password VARCHAR(255),
+    address  VARCHAR(255)
+);
+
+-- Pedidos
+CREATE TABLE orders (
+    order_id           INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tracking_number    VARCHAR(255) NOT NULL,
+    user_id            INTEGER NOT NULL,
+    status             ENUM('PENDING', 'PAID', 'SHIPPED', 'COMPLETED', 'CANCELLED', 'REFUNDED'),
+    total_amount_cents BIGINT,
+    CONSTRAINT uk_orders_tracking_number UNIQUE (tracking_number),
+    CONSTRAINT fk_orders_users FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE order_product (
+    id               INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id         INTEGER NOT NULL,
+    product_id       INTEGER NOT NULL,
+    quantity         INTEGER NOT NULL,
+    unit_price_cents BIGINT,
+    CONSTRAINT fk_order_product_orders FOREIGN KEY (order_id) REFERENCES orders (order_id),
+    CONSTRAINT fk_order_product_products FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+-- Listas de deseos
+CREATE TABLE wishlist (
+    id      INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    CONSTRAINT uk_wishlist_user UNIQUE (user_id),
+    CONSTRAINT fk_wishlist_users FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE wishlist_product (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    wishlist_id INTEGER NOT NULL,
+    product_id  INTEGER NOT NULL,
+    CONSTRAINT fk_wishlist_product_wishlist FOREIGN KEY (wishlist_id) REFERENCES wishlist (id),
+    CONSTRAINT fk_wishlist_product_products FOREIGN KEY (product_id) REFERENCES products (id)
+);
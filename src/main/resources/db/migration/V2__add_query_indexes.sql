@@ -0,0 +1,38 @@
+-- Indices de las consultas frecuentes, uno por cada busqueda de los repositorios.
+-- Los indices compuestos terminan en id para que los listados ordenados y paginados por keyset se lean del indice.
+
+-- Productos: busquedas por categoria, nombre, rango de precio y stock
+CREATE INDEX IF NOT EXISTS idx_products_category ON products (product_category, id);
+CREATE INDEX IF NOT EXISTS idx_products_name ON products (name, id);
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price_cents, id);
+CREATE INDEX IF NOT EXISTS idx_products_stock ON products (stock, id);
+
+-- Albumes: artista, genero, formato, anio de publicacion y rango de duracion
+CREATE INDEX IF NOT EXISTS idx_album_artist ON album (artist);
+CREATE INDEX IF NOT EXISTS idx_album_genre ON album (genre, id);
+CREATE INDEX IF NOT EXISTS idx_album_format ON album (format, id);
+CREATE INDEX IF NOT EXISTS idx_album_release_year ON album (release_year, id);
+CREATE INDEX IF NOT EXISTS idx_album_duration_seconds ON album (duration_seconds);
+
+-- Reproductores y equipos de audio: marca, color y garantia
+CREATE INDEX IF NOT EXISTS idx_player_brand ON player (brand);
+CREATE INDEX IF NOT EXISTS idx_player_color ON player (color);
+CREATE INDEX IF NOT EXISTS idx_player_warranty ON player (warranty);
+CREATE INDEX IF NOT EXISTS idx_audio_equipment_brand ON audio_equipment (brand);
+
+-- Proyeccion del catalogo (mismos indices que declara la entidad CatalogProjection)
+CREATE INDEX IF NOT EXISTS idx_catalog_projection_price ON catalog_projection (price_cents, id);
+CREATE INDEX IF NOT EXISTS idx_catalog_projection_name ON catalog_projection (name, id);
+CREATE INDEX IF NOT EXISTS idx_catalog_projection_category ON catalog_projection (product_category);
+
+-- Usuarios: inicio de sesion y comprobacion de correo repetido
+CREATE INDEX IF NOT EXISTS idx_users_mail ON users (mail);
+
+-- Pedidos: pedidos de un usuario y lineas de un pedido o de un producto
+CREATE INDEX IF NOT EXISTS idx_orders_user ON orders (user_id, order_id);
+CREATE INDEX IF NOT EXISTS idx_order_product_order ON order_product (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_product_product ON order_product (product_id, order_id);
+
+-- Listas de deseos: productos de una lista y listas que contienen un producto
+CREATE INDEX IF NOT EXISTS idx_wishlist_product_wishlist ON wishlist_product (wishlist_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_wishlist_product_product ON wishlist_product (product_id);
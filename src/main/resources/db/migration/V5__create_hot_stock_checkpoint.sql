@@ -0,0 +1,7 @@
+-- Ultimo cambio del diario de stock en memoria (HotStock) que ya esta aplicado a products.stock
+CREATE TABLE IF NOT EXISTS hot_stock_checkpoint (
+    id            INTEGER NOT NULL PRIMARY KEY,
+    last_sequence BIGINT  NOT NULL
+);
+
+MERGE INTO hot_stock_checkpoint (id, last_sequence) KEY (id) VALUES (1, 0);
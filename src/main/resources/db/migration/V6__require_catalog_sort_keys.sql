@@ -0,0 +1,15 @@
+-- Las claves de ordenacion de los listados paginados por keyset (nombre, precio y ano) no pueden ser NULL:
+-- una fila con la clave a NULL se salta al pasar de pagina y su cursor no se puede leer.
+-- Las filas antiguas sin valor reciben uno por defecto antes de anadir la restriccion.
+UPDATE products SET name = CONCAT('Product ', id) WHERE name IS NULL;
+UPDATE products SET price_cents = 0 WHERE price_cents IS NULL;
+UPDATE album SET release_year = 1860 WHERE release_year IS NULL;
+
+ALTER TABLE products ALTER COLUMN name SET NOT NULL;
+ALTER TABLE products ALTER COLUMN price_cents SET NOT NULL;
+ALTER TABLE album ALTER COLUMN release_year SET NOT NULL;
+
+UPDATE catalog_projection SET name = CONCAT('Product ', id) WHERE name IS NULL;
+UPDATE catalog_projection SET price_cents = 0 WHERE price_cents IS NULL;
+ALTER TABLE catalog_projection ALTER COLUMN name SET NOT NULL;
+ALTER TABLE catalog_projection ALTER COLUMN price_cents SET NOT NULL;
@@ -0,0 +1,21 @@
+-- Las entidades toman sus IDs de secuencias (V3) en bloques de Sequences.ALLOCATION_SIZE, pero las columnas seguian
+-- siendo IDENTITY: en H2 2.x un INSERT con ID explicito no avanza la identidad, asi que un INSERT sin ID repetiria
+-- IDs ya asignados. Se quita la identidad y el valor por defecto pasa a ser la misma secuencia: un INSERT sin ID
+-- toma el inicio de un bloque entero, que Hibernate ya no usara.
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE products ALTER COLUMN id SET DEFAULT NEXT VALUE FOR product_seq;
+
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT NEXT VALUE FOR users_seq;
+
+ALTER TABLE orders ALTER COLUMN order_id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN order_id SET DEFAULT NEXT VALUE FOR orders_seq;
+
+ALTER TABLE order_product ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_product ALTER COLUMN id SET DEFAULT NEXT VALUE FOR order_product_seq;
+
+ALTER TABLE wishlist ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE wishlist ALTER COLUMN id SET DEFAULT NEXT VALUE FOR wishlist_seq;
+
+ALTER TABLE wishlist_product ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE wishlist_product ALTER COLUMN id SET DEFAULT NEXT VALUE FOR wishlist_product_seq;
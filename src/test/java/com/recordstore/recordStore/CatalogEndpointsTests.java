@@ -0,0 +1,216 @@
+package com.recordstore.recordStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recordstore.auxiliar.CatalogCursor;
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Product;
+import com.recordstore.model.User;
+import com.recordstore.model.Vinyl;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+
+/**
+ * Catalog listings served through MockMvc against the seeded H2 database: keyset pages walked to the end with
+ * their cursors, the facet filter of the in-memory bitmaps checked against the SQL counts, the ranking of the
+ * trigram search and the {@code ETag} of the listings.
+ * <p>
+ * Products are added with unique names so the checks do not depend on what the seeder creates or on the products
+ * other tests add to the shared database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogEndpointsTests {
+
+    private static final int TIES = 7;
+    private static final int PAGE_SIZE = 5; // Smaller than the ties, so they span a page boundary
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Products tied on both name and price are ordered by ID, so walking every page returns each product exactly
+     * once, whatever the sort key.
+     */
+    @Test
+    void keysetPagesReturnEveryProductOnceDespiteTies() throws Exception {
+        for (int i = 0; i < TIES; i++) {
+            productRepository.save(vinyl("Keyset tie", 12.34, ALBUM_GENRE.JAZZ));
+        }
+        List<Integer> catalog = jdbcTemplate.queryForList("SELECT id FROM catalog_projection", Integer.class);
+
+        for (String sort : List.of("NAME", "PRICE")) {
+            List<Integer> ids = walk("/product/page?sort=" + sort + "&size=" + PAGE_SIZE);
+
+            assertThat(ids).as("products sorted by " + sort).doesNotHaveDuplicates()
+                    .containsExactlyInAnyOrderElementsOf(catalog);
+        }
+    }
+
+    @Test
+    void invalidPageCursorIsRejected() throws Exception {
+        JsonNode byPrice = read(get("/product/page?sort=PRICE&size=1"));
+        String priceCursor = byPrice.get("nextCursor").asText();
+
+        mockMvc.perform(get("/product/page?sort=NAME&cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/page?sort=NAME&cursor=" + priceCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/page?sort=PRICE&cursor=" + priceCursor)).andExpect(status().isOk());
+    }
+
+    /**
+     * Every genre of the vinyls, filtered with the in-memory bitmaps and walked to the last page, matches the count
+     * of the grouped SQL query, including a vinyl added after the index was built.
+     */
+    @Test
+    void facetFilterMatchesTheSqlCounts() throws Exception {
+        productRepository.save(vinyl("Facet check pressing", 18.5, ALBUM_GENRE.ROCK));
+        JsonNode facets = read(get("/product/facets?productCategory=A_VINYL"));
+        JsonNode counts = facets.get("facets").get("genre");
+
+        List<Integer> vinyls = walk("/product/facet-filter?facet=productCategory:A_VINYL&size=" + PAGE_SIZE);
+        assertThat(vinyls).doesNotHaveDuplicates().hasSize(facets.get("total").asInt());
+        for (Iterator<String> genres = counts.fieldNames(); genres.hasNext();) {
+            String genre = genres.next();
+            List<Integer> ids = walk("/product/facet-filter?facet=productCategory:A_VINYL&facet=genre:" + genre
+                    + "&size=" + PAGE_SIZE);
+
+            assertThat(ids).as("vinyls of genre " + genre).doesNotHaveDuplicates()
+                    .hasSize(counts.get(genre).asInt()).isSorted();
+        }
+    }
+
+    @Test
+    void invalidFacetFilterIsRejected() throws Exception {
+        String lastId = CatalogCursor.encodeId(Integer.MAX_VALUE);
+
+        mockMvc.perform(get("/product/facet-filter?facet=genre:ROCK&cursor=2147483647"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/facet-filter?facet=genre:ROCK&cursor=" + lastId))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/product/facet-filter?facet=color:BLACK")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * A misspelled query still finds the product sharing most of its trigrams, ahead of a product that only
+     * shares one word.
+     */
+    @Test
+    void textSearchRanksTheClosestMatchFirst() throws Exception {
+        Product target = productRepository.save(vinyl("Quokka Serenade", 21.0, ALBUM_GENRE.JAZZ));
+        Product decoy = productRepository.save(vinyl("Quokka Lullaby", 21.0, ALBUM_GENRE.JAZZ));
+
+        List<Integer> misspelled = ids(read(get("/product/text-search").param("q", "quoka serenad")));
+        List<Integer> exact = ids(read(get("/product/text-search").param("q", "quokka lullaby")));
+
+        assertThat(misspelled).first().isEqualTo(target.getId());
+        assertThat(misspelled).doesNotContain(decoy.getId());
+        assertThat(exact).first().isEqualTo(decoy.getId());
+    }
+
+    /**
+     * The listing answers {@code 304 Not Modified} to its own tag, and a new tag after a product is saved or its
+     * stock changes with an order.
+     */
+    @Test
+    void listingTagChangesWithEveryMutation() throws Exception {
+        String tag = etag();
+        mockMvc.perform(get("/product/all").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, tag));
+
+        Product product = productRepository.save(vinyl("Conditional get pressing", 15.0, ALBUM_GENRE.ROCK));
+        String afterSave = etag();
+        assertThat(afterSave).isNotEqualTo(tag);
+        mockMvc.perform(get("/product/all").header(HttpHeaders.IF_NONE_MATCH, tag)).andExpect(status().isOk());
+
+        User user = userRepository.findAll().get(0);
+        orderService.placeOrder(user, List.of(new OrderProduct(null, product, 1)));
+        assertThat(etag()).as("tag after a stock change").isNotEqualTo(afterSave);
+    }
+
+    /**
+     * Follows the cursors of a listing from its first page to its last one and returns the IDs in order.
+     */
+    private List<Integer> walk(String firstPage) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        JsonNode page = read(get(firstPage));
+        ids.addAll(ids(page.get("content")));
+        while (page.get("hasNext").asBoolean()) {
+            String cursor = page.get("nextCursor").asText();
+            assertThat(cursors.add(cursor)).as("cursor seen before: " + cursor).isTrue();
+            page = read(get(firstPage + "&cursor=" + cursor));
+            ids.addAll(ids(page.get("content")));
+        }
+        return ids;
+    }
+
+    private String etag() throws Exception {
+        return mockMvc.perform(get("/product/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    /**
+     * Performs a request, checks that it succeeded and parses its JSON body.
+     */
+    private JsonNode read(RequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Integer> ids(JsonNode products) {
+        List<Integer> ids = new ArrayList<>();
+        products.forEach(product -> ids.add(product.get("id").asInt()));
+        return ids;
+    }
+
+    private static Vinyl vinyl(String name, double price, ALBUM_GENRE genre) {
+        return new Vinyl(name, price, 10, "Test Artist", 2024, ALBUM_FORMAT.LP, genre, "40:00",
+                VINYL_SIZE.S_12, VINYL_RPM.RPM_33, "Black");
+    }
+}
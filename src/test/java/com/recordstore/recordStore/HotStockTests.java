@@ -0,0 +1,237 @@
+package com.recordstore.recordStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.STOCK_RESERVATION;
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Product;
+import com.recordstore.model.User;
+import com.recordstore.model.Vinyl;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+import com.recordstore.stock.HotStock;
+
+/**
+ * Flash-sale mode of {@link HotStock}: concurrent checkouts, reservations rolled back and recovery from the journal.
+ * <p>
+ * Checkouts run while the product is repeatedly flagged and unflagged, so they reserve its units in memory, in the
+ * database, or are refused while the flag changes. Whatever the path, every unit is sold at most once: the units of
+ * the placed orders plus the stock left in the database always add up to the initial stock.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotStockTests {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 400;
+    private static final int STOCK = 150;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotStock hotStock;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void switchingModeDuringCheckoutsNeverOversells() throws Exception {
+        Product product = productRepository.save(vinyl("Flash pressing", STOCK));
+        List<User> users = userRepository.findAll();
+        hotStock.enable(product.getId());
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger switches = new AtomicInteger();
+        AtomicInteger lowestStock = new AtomicInteger(STOCK);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 2);
+        try {
+            Future<?> switcher = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    hotStock.disable(product.getId());
+                    lowestStock.accumulateAndGet(stock(product), Math::min);
+                    hotStock.enable(product.getId());
+                    switches.incrementAndGet();
+                }
+                return null;
+            });
+            List<Future<?>> checkouts = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                User user = users.get(i % users.size());
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.placeOrder(user, List.of(new OrderProduct(null, product, 1)));
+                        placed.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet(); // Sold out, or the flag was changing
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> checkout : checkouts) {
+                checkout.get(1, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            switcher.get(1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+            hotStock.disable(product.getId());
+        }
+
+        assertThat(switches.get()).as("mode switches").isPositive();
+        assertThat(placed.get() + rejected.get()).isEqualTo(ORDERS);
+        assertThat(lowestStock.get()).as("lowest committed stock").isGreaterThanOrEqualTo(0);
+        assertThat(placed.get() + stock(product)).as("units sold plus units left").isEqualTo(STOCK);
+    }
+
+    @Test
+    void rolledBackReservationsGiveTheirUnitsBack() throws Exception {
+        Product product = productRepository.save(vinyl("Rolled back pressing", STOCK));
+        hotStock.enable(product.getId());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger committed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> reservations = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                boolean rollBack = i % 2 == 0;
+                reservations.add(executor.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (hotStock.reserve(product.getId(), 1) != STOCK_RESERVATION.RESERVED) {
+                            return; // Sold out
+                        }
+                        if (rollBack) {
+                            status.setRollbackOnly();
+                        } else {
+                            committed.incrementAndGet();
+                        }
+                    });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> reservation : reservations) {
+                reservation.get(1, TimeUnit.MINUTES);
+            }
+
+            assertThat(committed.get() + hotStock.available(product.getId()))
+                    .as("units committed plus units left in memory").isEqualTo(STOCK);
+        } finally {
+            executor.shutdownNow();
+            hotStock.disable(product.getId());
+        }
+
+        assertThat(committed.get()).isPositive();
+        assertThat(stock(product)).as("committed stock").isEqualTo(STOCK - committed.get());
+    }
+
+    @Test
+    void journalLeftByACrashIsAppliedOnce() throws Exception {
+        Product product = productRepository.save(vinyl("Crashed pressing", STOCK));
+        long checkpoint = checkpoint();
+        Path journal = directory.resolve("hot-stock.journal");
+        Files.writeString(journal, String.join("\n",
+                checkpoint + " " + product.getId() + " -50", // Already in the database
+                (checkpoint + 1) + " " + product.getId() + " -2",
+                (checkpoint + 2) + " " + product.getId() + " -3",
+                (checkpoint + 3) + " " + product.getId()), // Cut short by the crash
+                StandardCharsets.US_ASCII);
+
+        try {
+            HotStock restarted = restart(journal);
+            restarted.stop();
+
+            assertThat(stock(product)).as("stock after the restart").isEqualTo(STOCK - 5);
+            assertThat(checkpoint()).isEqualTo(checkpoint + 2);
+            assertThat(Files.size(journal)).as("journal size").isZero();
+
+            HotStock restartedAgain = restart(journal);
+            restartedAgain.stop();
+
+            assertThat(stock(product)).as("stock after a second restart").isEqualTo(STOCK - 5);
+            assertThat(checkpoint()).isEqualTo(checkpoint + 2);
+        } finally {
+            jdbcTemplate.update("UPDATE hot_stock_checkpoint SET last_sequence = ? WHERE id = 1", checkpoint);
+        }
+    }
+
+    /**
+     * Starts another hot stock on a journal, as the application does after a crash.
+     */
+    private HotStock restart(Path journal) {
+        HotStock restarted = new HotStock(jdbcTemplate, transactionManager, productRepository, eventPublisher,
+                List.of(), journal.toString(), 0);
+        restarted.start();
+        return restarted;
+    }
+
+    private long checkpoint() {
+        return jdbcTemplate.queryForObject("SELECT last_sequence FROM hot_stock_checkpoint WHERE id = 1", Long.class);
+    }
+
+    /**
+     * Reads the committed stock of a product, bypassing any persistence context.
+     */
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private static Vinyl vinyl(String name, int stock) {
+        return new Vinyl(name, 29.99, stock, "Test Artist", 2024, ALBUM_FORMAT.LP, ALBUM_GENRE.ROCK, "40:00",
+                VINYL_SIZE.S_12, VINYL_RPM.RPM_33, "Black");
+    }
+}
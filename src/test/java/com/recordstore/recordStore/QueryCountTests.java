@@ -0,0 +1,133 @@
+package com.recordstore.recordStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.recordstore.model.Order;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.User;
+import com.recordstore.repository.OrderRepository;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Query budgets of the endpoints that return entity graphs, checked against the seeded H2 database.
+ * <p>
+ * Each test counts the SQL statements Hibernate prepares while serving one request (the session stays open during
+ * serialization, so lazy loads are counted too). The budgets do not depend on how many rows the seeder creates:
+ * an N+1 select, or any other change that adds a statement, makes the test fail.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Orders with their users and lines in one query, then one batch for the users' orders and one for the
+     * products of their wishlists.
+     */
+    @Test
+    void getAllOrdersStaysWithinBudget() throws Exception {
+        assertStatements(get("/orders"), 3);
+    }
+
+    /**
+     * The order with its user and lines in one query, then one batch each for the user's other orders, the lines
+     * of those orders and the products of the wishlist.
+     */
+    @Test
+    void getOrderByIdStaysWithinBudget() throws Exception {
+        Order order = orderRepository.findAll().get(0);
+        statistics.clear();
+
+        assertStatements(get("/orders/" + order.getOrderId()), 4);
+    }
+
+    /**
+     * Users with their wishlists in one query, then one batch each for their orders, the lines of those orders and
+     * the products of the wishlists.
+     */
+    @Test
+    void getAllUsersStaysWithinBudget() throws Exception {
+        assertStatements(get("/user/all"), 4);
+    }
+
+    /**
+     * The catalog listing reads the flat projection table only.
+     */
+    @Test
+    void getAllProductsStaysWithinBudget() throws Exception {
+        assertStatements(get("/product/all"), 1);
+    }
+
+    /**
+     * Placing an order reads the user, reserves the stock of each product (one update each), reads all the products
+     * (one {@code IN} query), then inserts the order and its lines in one batch; each sequence (IDs and tracking
+     * number serials) adds at most one statement.
+     */
+    @Test
+    void placeOrderStaysWithinBudget() {
+        User user = userRepository.findAll().get(0);
+        List<OrderProduct> lines = productRepository.findByStockGreaterThanEqual(2).stream()
+                .limit(3)
+                .map(product -> new OrderProduct(null, product, 2))
+                .toList();
+        statistics.clear();
+
+        orderService.placeOrder(user, lines);
+
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements").isLessThanOrEqualTo(10);
+    }
+
+    /**
+     * Performs a request and checks that it succeeded within its budget of SQL statements.
+     */
+    private void assertStatements(RequestBuilder request, long budget) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements").isLessThanOrEqualTo(budget);
+    }
+}
@@ -0,0 +1,151 @@
+package com.recordstore.recordStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.recordstore.enums.ALBUM_FORMAT;
+import com.recordstore.enums.ALBUM_GENRE;
+import com.recordstore.enums.VINYL_RPM;
+import com.recordstore.enums.VINYL_SIZE;
+import com.recordstore.model.OrderProduct;
+import com.recordstore.model.Product;
+import com.recordstore.model.User;
+import com.recordstore.model.Vinyl;
+import com.recordstore.repository.OrderRepository;
+import com.recordstore.repository.ProductRepository;
+import com.recordstore.repository.UserRepository;
+import com.recordstore.service.OrderService;
+
+/**
+ * Stock reservation of {@link OrderService#placeOrder(User, List)} under concurrent checkouts.
+ * <p>
+ * Many more orders than units in stock are placed at once from a pool of threads, half of them listing the
+ * products in reverse order. Only as many orders as units may succeed, the others must be rejected (never fail
+ * with a deadlock or a lock timeout), and a watcher reading the committed stock during the run must never see it
+ * below zero.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockReservationTests {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 400;
+    private static final int LIMITED_STOCK = 25;
+    private static final int COMMON_STOCK = 1000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        Product limited = productRepository.save(vinyl("Limited pressing", LIMITED_STOCK));
+        Product common = productRepository.save(vinyl("Regular pressing", COMMON_STOCK));
+        List<User> users = userRepository.findAll();
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger lowestStock = new AtomicInteger(LIMITED_STOCK);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<?> watcher = executor.submit(() -> {
+                while (running.get()) {
+                    lowestStock.accumulateAndGet(stock(limited), Math::min);
+                }
+            });
+            List<Future<?>> checkouts = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                User user = users.get(i % users.size());
+                List<OrderProduct> lines = i % 2 == 0
+                        ? List.of(line(limited, 1), line(common, 1))
+                        : List.of(line(common, 1), line(limited, 1));
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.placeOrder(user, lines);
+                        placed.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> checkout : checkouts) {
+                checkout.get(1, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            watcher.get(1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertThat(placed.get()).isEqualTo(LIMITED_STOCK);
+        assertThat(rejected.get()).isEqualTo(ORDERS - LIMITED_STOCK);
+        assertThat(lowestStock.get()).as("lowest committed stock").isGreaterThanOrEqualTo(0);
+        assertThat(stock(limited)).isZero();
+        assertThat(stock(common)).isEqualTo(COMMON_STOCK - LIMITED_STOCK);
+    }
+
+    @Test
+    void lineWithoutStockRollsBackTheWholeOrder() {
+        Product available = productRepository.save(vinyl("Available pressing", 5));
+        Product soldOut = productRepository.save(vinyl("Sold out pressing", 0));
+        User user = userRepository.findAll().get(0);
+        long orders = orderRepository.count();
+
+        assertThatThrownBy(() -> orderService.placeOrder(user, List.of(line(available, 2), line(soldOut, 1))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(stock(available)).isEqualTo(5);
+        assertThat(stock(soldOut)).isZero();
+        assertThat(orderRepository.count()).isEqualTo(orders);
+    }
+
+    /**
+     * Reads the committed stock of a product, bypassing any persistence context.
+     */
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private static OrderProduct line(Product product, int quantity) {
+        return new OrderProduct(null, product, quantity);
+    }
+
+    private static Vinyl vinyl(String name, int stock) {
+        return new Vinyl(name, 29.99, stock, "Test Artist", 2024, ALBUM_FORMAT.LP, ALBUM_GENRE.ROCK, "40:00",
+                VINYL_SIZE.S_12, VINYL_RPM.RPM_33, "Black");
+    }
+}
@@ -0,0 +1,81 @@
+package com.recordstore.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.recordstore.stock.StockJournal.Entry;
+
+/**
+ * Append-only file of {@link StockJournal}: batches written and read back, lines cut short by a crash, batches
+ * written again after a failed write, and clearing.
+ */
+class StockJournalTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void appendedEntriesAreReadBackInOrder() throws Exception {
+        Path path = directory.resolve("hot-stock.journal");
+        List<Entry> entries = List.of(new Entry(1, 12, -2), new Entry(2, 15, -1), new Entry(3, 12, 2));
+        try (StockJournal journal = StockJournal.open(path)) {
+            journal.append(entries.subList(0, 2));
+            journal.append(entries.subList(2, 3));
+            journal.force();
+        }
+
+        try (StockJournal journal = StockJournal.open(path)) {
+            assertThat(journal.readAll()).containsExactlyElementsOf(entries);
+        }
+    }
+
+    @Test
+    void lineCutShortByACrashIsSkipped() throws Exception {
+        Path path = directory.resolve("hot-stock.journal");
+        Files.writeString(path, "1 12 -2\n2 15 -1\n3 1", StandardCharsets.US_ASCII);
+
+        try (StockJournal journal = StockJournal.open(path)) {
+            assertThat(journal.readAll()).containsExactly(new Entry(1, 12, -2), new Entry(2, 15, -1));
+        }
+    }
+
+    @Test
+    void batchWrittenAgainIsReadOnce() throws Exception {
+        Path path = directory.resolve("hot-stock.journal");
+        Files.writeString(path, "1 12 -2\n2 15 -1\n2 15 -1\n3 12 -4\n", StandardCharsets.US_ASCII);
+
+        try (StockJournal journal = StockJournal.open(path)) {
+            assertThat(journal.readAll()).extracting(Entry::sequence).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void clearRemovesEveryEntry() throws Exception {
+        Path path = directory.resolve("hot-stock.journal");
+        try (StockJournal journal = StockJournal.open(path)) {
+            journal.append(List.of(new Entry(1, 12, -2), new Entry(2, 12, -1)));
+            journal.clear();
+            assertThat(journal.readAll()).isEmpty();
+
+            journal.append(List.of(new Entry(3, 12, -1)));
+            assertThat(journal.readAll()).containsExactly(new Entry(3, 12, -1));
+        }
+    }
+
+    @Test
+    void openCreatesTheMissingDirectory() throws Exception {
+        Path path = directory.resolve("data").resolve("hot-stock.journal");
+
+        try (StockJournal journal = StockJournal.open(path)) {
+            assertThat(journal.readAll()).isEmpty();
+        }
+        assertThat(path).exists();
+    }
+}
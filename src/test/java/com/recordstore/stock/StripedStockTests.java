@@ -0,0 +1,119 @@
+package com.recordstore.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * In-memory stock of {@link StripedStock}: units spread across stripes, reservations that span several stripes,
+ * concurrent reservations and closing the stock.
+ */
+class StripedStockTests {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void unitsAreSpreadAcrossStripes() {
+        StripedStock stock = new StripedStock(10, 3); // Rounded up to 4 stripes
+
+        assertThat(stock.available()).isEqualTo(10);
+    }
+
+    @Test
+    void reservationGathersUnitsFromSeveralStripes() {
+        StripedStock stock = new StripedStock(10, 4);
+
+        assertThat(stock.tryTake(10)).isTrue();
+        assertThat(stock.available()).isZero();
+        assertThat(stock.tryTake(1)).isFalse();
+    }
+
+    @Test
+    void rejectedReservationGivesItsUnitsBack() {
+        StripedStock stock = new StripedStock(5, 4);
+
+        assertThat(stock.tryTake(6)).isFalse();
+        assertThat(stock.available()).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentReservationsTakeExactlyTheStock() throws Exception {
+        long units = 10_000;
+        StripedStock stock = new StripedStock(units, 16);
+        AtomicLong taken = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> takers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int quantity = i % 3 + 1;
+                takers.add(executor.submit(() -> {
+                    start.await();
+                    while (stock.tryTake(quantity)) {
+                        taken.addAndGet(quantity);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> taker : takers) {
+                taker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(taken.get() + stock.available()).as("units taken plus units left").isEqualTo(units);
+        assertThat(taken.get()).isPositive();
+    }
+
+    @Test
+    void closeRefusesNewReservationsAndDrainsTheStock() {
+        StripedStock stock = new StripedStock(8, 4);
+        assertThat(stock.begin()).isTrue();
+        assertThat(stock.tryTake(3)).isTrue();
+        stock.end();
+
+        assertThat(stock.close()).isEqualTo(5);
+        assertThat(stock.available()).isZero();
+        assertThat(stock.begin()).isFalse();
+    }
+
+    @Test
+    void closeWaitsForTheRunningReservations() throws Exception {
+        StripedStock stock = new StripedStock(8, 4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(stock.begin()).isTrue();
+            Future<Long> close = executor.submit(stock::close);
+
+            assertThat(waitFor(close)).as("closed while a reservation is running").isNull();
+            assertThat(stock.tryTake(2)).isTrue();
+            stock.end();
+            assertThat(close.get(10, TimeUnit.SECONDS)).isEqualTo(6);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits a moment for a task, returning {@code null} if it is still running.
+     */
+    private static Long waitFor(Future<Long> task) throws Exception {
+        try {
+            return task.get(200, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+}
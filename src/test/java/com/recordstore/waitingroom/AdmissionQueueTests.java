@@ -0,0 +1,97 @@
+package com.recordstore.waitingroom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Admission frontier of {@link AdmissionQueue}, driven by an explicit time: FIFO order, admission rate, rate changes,
+ * no burst saved up by an idle queue and expiry of the admitted tickets.
+ */
+class AdmissionQueueTests {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_000);
+    private static final double RATE = 10; // One ticket every 100 ms
+
+    @Test
+    void ticketsAreAdmittedInJoinOrderAtTheRate() {
+        AdmissionQueue queue = new AdmissionQueue(1, RATE, START);
+        for (long expected = 0; expected < 5; expected++) {
+            assertThat(queue.join(START)).isEqualTo(expected);
+        }
+
+        assertThat(queue.position(0, START)).isEqualTo(1);
+        assertThat(queue.position(4, START)).isEqualTo(5);
+
+        assertThat(queue.position(0, at(100))).isZero();
+        assertThat(queue.position(1, at(100))).isEqualTo(1);
+
+        assertThat(queue.admitted(at(350))).isEqualTo(3);
+        assertThat(queue.position(3, at(350))).isEqualTo(1);
+        assertThat(queue.position(4, at(350))).isEqualTo(2);
+    }
+
+    @Test
+    void idleQueueDoesNotSaveUpABurst() {
+        AdmissionQueue queue = new AdmissionQueue(1, RATE, START);
+        long afterAMinute = at(60_000);
+        for (int i = 0; i < 20; i++) {
+            queue.join(afterAMinute);
+        }
+
+        assertThat(queue.admitted(afterAMinute)).as("tickets admitted at once after a minute idle").isEqualTo(1);
+        assertThat(queue.admitted(at(60_100))).isEqualTo(2);
+        assertThat(queue.admitted(at(61_000))).isEqualTo(11);
+    }
+
+    @Test
+    void loneBuyerOfADrainedQueueIsAdmittedAtOnce() {
+        AdmissionQueue queue = new AdmissionQueue(1, RATE, START);
+        for (int i = 0; i < 3; i++) {
+            queue.join(START);
+        }
+        assertThat(queue.admitted(at(10_000))).as("the frontier never passes the last ticket").isEqualTo(3);
+
+        long ticket = queue.join(at(10_000));
+
+        assertThat(queue.position(ticket, at(10_000))).isZero();
+        assertThat(queue.position(queue.join(at(10_000)), at(10_000))).as("the next one waits its turn").isEqualTo(1);
+    }
+
+    @Test
+    void ticketsEarnedBeforeARateChangeStayAdmitted() {
+        AdmissionQueue queue = new AdmissionQueue(1, RATE, START);
+        for (int i = 0; i < 10; i++) {
+            queue.join(START);
+        }
+
+        queue.setRate(1, at(200));
+
+        assertThat(queue.admitted(at(200))).isEqualTo(2);
+        assertThat(queue.admitted(at(700))).isEqualTo(2);
+        assertThat(queue.admitted(at(1_200))).isEqualTo(3);
+    }
+
+    @Test
+    void admittedTicketExpiresOnceTheWindowIsAdmitted() {
+        AdmissionQueue queue = new AdmissionQueue(1, RATE, START);
+        for (int i = 0; i < 30; i++) {
+            queue.join(START);
+        }
+        long expirySeconds = 1; // A window of 10 tickets
+
+        assertThat(queue.hasExpired(0, expirySeconds, at(1_000))).isFalse();
+        assertThat(queue.hasExpired(0, expirySeconds, at(1_100))).isTrue();
+        assertThat(queue.hasExpired(1, expirySeconds, at(1_100))).isFalse();
+        assertThat(queue.hasExpired(20, expirySeconds, at(1_100))).as("a ticket still waiting").isFalse();
+    }
+
+    /**
+     * The time some milliseconds after the queue was created.
+     */
+    private static long at(long millis) {
+        return START + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
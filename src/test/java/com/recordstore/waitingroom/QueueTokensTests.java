@@ -0,0 +1,101 @@
+package com.recordstore.waitingroom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.recordstore.waitingroom.QueueTokens.Claims;
+
+/**
+ * Signed queue tokens of {@link QueueTokens}: claims read back, and tokens altered, forged or malformed rejected.
+ */
+class QueueTokensTests {
+
+    private static final byte[] SECRET = "a-secret-shared-by-every-node".getBytes(StandardCharsets.UTF_8);
+    private static final Claims CLAIMS = new Claims(42, 7, 123, 1_800_000_000L);
+
+    private final QueueTokens tokens = new QueueTokens(SECRET);
+
+    @Test
+    void signedClaimsAreReadBack() {
+        assertThat(tokens.verify(tokens.sign(CLAIMS))).contains(CLAIMS);
+    }
+
+    @Test
+    void tokenWithAnAlteredTicketIsRejected() {
+        String token = tokens.sign(CLAIMS);
+
+        String altered = withPayload(token, "42.7.1.1800000000");
+
+        assertThat(tokens.verify(altered)).isEmpty();
+    }
+
+    @Test
+    void tokenWithAnExtendedExpiryIsRejected() {
+        String token = tokens.sign(CLAIMS);
+
+        String altered = withPayload(token, "42.7.123.1900000000");
+
+        assertThat(tokens.verify(altered)).isEmpty();
+    }
+
+    @Test
+    void tokenWithAnAlteredSignatureIsRejected() {
+        String token = tokens.sign(CLAIMS);
+        int signature = token.indexOf('.') + 1;
+        char first = token.charAt(signature);
+
+        String altered = token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThat(tokens.verify(altered)).isEmpty();
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsRejected() {
+        QueueTokens forger = new QueueTokens("another-secret".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(tokens.verify(forger.sign(CLAIMS))).isEmpty();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThat(tokens.verify(null)).isEmpty();
+        assertThat(tokens.verify("")).isEmpty();
+        assertThat(tokens.verify("no-signature")).isEmpty();
+        assertThat(tokens.verify("not base64!.not base64!")).isEmpty();
+        assertThat(tokens.verify(signed("42.7.123"))).as("missing claim").isEmpty();
+        assertThat(tokens.verify(signed("42.7.ticket.1800000000"))).as("claim not a number").isEmpty();
+    }
+
+    /**
+     * Replaces the payload of a token, keeping its signature.
+     */
+    private static String withPayload(String token, String payload) {
+        return encode(payload) + token.substring(token.indexOf('.'));
+    }
+
+    /**
+     * Signs an arbitrary payload with the secret, as a buggy or compromised node would.
+     */
+    private static String signed(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+            return encode(payload) + "." + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
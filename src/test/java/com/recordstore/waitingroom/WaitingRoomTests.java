@@ -0,0 +1,153 @@
+package com.recordstore.waitingroom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.recordstore.enums.ADMISSION_STATUS;
+
+/**
+ * Checkout admission of {@link WaitingRoom#enter}, with the time moved by the test: tokens used once, tokens of
+ * another room, rooms closed and reopened, and tokens and admissions that expire.
+ */
+class WaitingRoomTests {
+
+    private static final int PRODUCT = 42;
+    private static final int OTHER_PRODUCT = 43;
+    private static final double RATE = 10; // One ticket every 100 ms
+    private static final long TICKET_MILLIS = 100;
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    private final MovableClock clock = new MovableClock();
+    private final WaitingRoom waitingRoom = new WaitingRoom("a-secret", RATE, 60, 1, List.of(), nanos::get, clock);
+
+    @Test
+    void productsWithoutAnOpenRoomNeedNoToken() {
+        waitingRoom.open(PRODUCT, null);
+
+        assertThat(waitingRoom.enter(null, List.of(OTHER_PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.NOT_REQUIRED);
+        assertThat(waitingRoom.enter(null, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.REJECTED);
+    }
+
+    @Test
+    void tokenWaitsItsTurnAndThenPlacesOneOrder() {
+        waitingRoom.open(PRODUCT, null);
+        String token = waitingRoom.join(PRODUCT).getToken();
+
+        Admission waiting = waitingRoom.enter(token, List.of(PRODUCT));
+        assertThat(waiting.status()).isEqualTo(ADMISSION_STATUS.WAITING);
+        assertThat(waiting.retryAfterSeconds()).isEqualTo(1);
+
+        advance(TICKET_MILLIS);
+        Admission admitted = waitingRoom.enter(token, List.of(PRODUCT));
+        assertThat(admitted.status()).isEqualTo(ADMISSION_STATUS.ADMITTED);
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).as("second use")
+                .isEqualTo(ADMISSION_STATUS.REJECTED);
+
+        waitingRoom.giveBack(admitted);
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).as("after a transient failure")
+                .isEqualTo(ADMISSION_STATUS.ADMITTED);
+    }
+
+    @Test
+    void tokenOfAnotherRoomIsRejected() {
+        waitingRoom.open(PRODUCT, null);
+        waitingRoom.open(OTHER_PRODUCT, null);
+        String token = waitingRoom.join(OTHER_PRODUCT).getToken();
+        advance(TICKET_MILLIS);
+
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.REJECTED);
+        assertThatThrownBy(() -> waitingRoom.status(PRODUCT, token)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(waitingRoom.enter(token, List.of(OTHER_PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.ADMITTED);
+    }
+
+    @Test
+    void tokensOfAClosedRoomAreNotValidOnceItReopens() {
+        waitingRoom.open(PRODUCT, null);
+        String token = waitingRoom.join(PRODUCT).getToken();
+        advance(TICKET_MILLIS);
+
+        waitingRoom.close(PRODUCT);
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.NOT_REQUIRED);
+
+        waitingRoom.open(PRODUCT, null);
+        advance(TICKET_MILLIS);
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.REJECTED);
+        String newToken = waitingRoom.join(PRODUCT).getToken();
+        advance(TICKET_MILLIS);
+        assertThat(waitingRoom.enter(newToken, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.ADMITTED);
+    }
+
+    @Test
+    void tokenExpiresAfterItsLifetime() {
+        waitingRoom.open(PRODUCT, null);
+        String token = waitingRoom.join(PRODUCT).getToken();
+
+        clock.advance(Duration.ofMinutes(61)); // The queue has not moved: the token is still waiting
+
+        assertThat(waitingRoom.enter(token, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.REJECTED);
+    }
+
+    @Test
+    void admissionExpiresOnceTheRoomAdmitsAMinuteOfTicketsAfterIt() {
+        waitingRoom.open(PRODUCT, null);
+        String first = waitingRoom.join(PRODUCT).getToken();
+        String second = waitingRoom.join(PRODUCT).getToken();
+        for (int i = 0; i < 700; i++) {
+            waitingRoom.join(PRODUCT);
+        }
+        advance(TICKET_MILLIS);
+        assertThat(waitingRoom.status(PRODUCT, first).isAdmitted()).isTrue();
+
+        advance(TimeUnit.MINUTES.toMillis(1)); // 600 more tickets admitted
+
+        assertThat(waitingRoom.enter(first, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.REJECTED);
+        assertThatThrownBy(() -> waitingRoom.status(PRODUCT, first)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(waitingRoom.enter(second, List.of(PRODUCT)).status()).isEqualTo(ADMISSION_STATUS.ADMITTED);
+    }
+
+    /**
+     * Moves both the monotonic time and the wall clock forward.
+     */
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        clock.advance(Duration.ofMillis(millis));
+    }
+
+    /**
+     * Wall clock that only moves when the test moves it.
+     */
+    private static final class MovableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}